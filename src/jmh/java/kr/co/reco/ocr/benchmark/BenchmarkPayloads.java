@@ -0,0 +1,114 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * 벤치마크 입력 생성기.
+ * 번들된 sample_0*.json 4종과, 이를 부풀린 합성 변형(줄 수, kg 토큰 수, 노이즈 길이)을 제공한다.
+ */
+public final class BenchmarkPayloads {
+
+    /** 합성 변형의 기준이 되는 샘플 (계량확인서: 시간 노이즈가 섞인 중량 포함) */
+    private static final String GROWTH_BASE = "sample_03";
+    private static final int GROWTH_FACTOR = 50;
+    private static final String SIZE_PREFIX = "size_";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * 페이로드 이름에 해당하는 OCR 전체 텍스트를 반환한다.
+     * <ul>
+     *     <li>sample_01 ~ sample_04: 원본 샘플</li>
+     *     <li>more_lines: 본문 중간에 의미 없는 줄을 추가</li>
+     *     <li>more_kg: 중량과 무관한 kg 토큰 줄을 추가</li>
+     *     <li>long_noise: 각 줄 앞에 긴 노이즈 문자열을 추가</li>
+     * </ul>
+     */
+    public static String text(String payload) {
+        if (payload.startsWith("sample_")) {
+            return readSample(payload).path("text").asText();
+        }
+
+        String[] lines = text(GROWTH_BASE).split("\n", -1);
+        StringBuilder grown = new StringBuilder();
+        int middle = lines.length / 2;
+
+        for (int i = 0; i < lines.length; i++) {
+            if ("long_noise".equals(payload)) {
+                grown.append("비 고 : 상기 내용은 참고용이며 원본과 다를 수 있음 ".repeat(3));
+            }
+            grown.append(lines[i]).append('\n');
+
+            if (i != middle) continue;
+            for (int n = 0; n < GROWTH_FACTOR; n++) {
+                switch (payload) {
+                    case "more_lines" -> grown.append("경기도 화성시 팔탄면 노하길 ").append(n).append("번길 23 \n");
+                    case "more_kg" -> grown.append("감 량 : ").append(n).append(" kg \n");
+                    case "long_noise" -> { }
+                    default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+                }
+            }
+        }
+        return grown.toString();
+    }
+
+    /**
+     * 페이로드 이름에 해당하는 OCR JSON 파일을 tempDir에 만들고 경로를 반환한다.
+     * 원본 샘플은 그대로 복사하고, words_x10 / words_x50은 pages[].words 배열과 text를
+     * 해당 배수만큼 복제한다. size_{n}mb는 파일이 n MB 이상이 되도록 같은 방식으로 복제한다.
+     */
+    public static Path jsonFile(String payload, Path tempDir) {
+        ObjectNode root = readSample(payload.startsWith("sample_") ? payload : GROWTH_BASE);
+        int factor = switch (payload) {
+            case "words_x10" -> 10;
+            case "words_x50" -> 50;
+            default -> payload.startsWith(SIZE_PREFIX) ? factorForSize(root, payload) : 1;
+        };
+
+        for (JsonNode page : root.path("pages")) {
+            ArrayNode words = (ArrayNode) page.path("words");
+            ArrayNode original = words.deepCopy();
+            for (int i = 1; i < factor; i++) {
+                words.addAll(original.deepCopy());
+            }
+        }
+        root.put("text", root.path("text").asText().repeat(factor));
+
+        Path file = tempDir.resolve(payload + ".json");
+        try {
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    private static int factorForSize(ObjectNode root, String payload) {
+        long targetBytes = Long.parseLong(payload.substring(SIZE_PREFIX.length(), payload.length() - 2)) * 1024 * 1024;
+        try {
+            long baseBytes = OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(root).length;
+            return (int) ((targetBytes + baseBytes - 1) / baseBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectNode readSample(String name) {
+        try (InputStream in = BenchmarkPayloads.class.getResourceAsStream("/sample/" + name + ".json")) {
+            if (in == null) throw new IllegalArgumentException("Unknown payload: " + name);
+            return (ObjectNode) OBJECT_MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.ChunkedOcrReader;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 업로드 본문 읽기 방식별 시간과 할당량(-prof gc의 gc.alloc.rate.norm) 비교.
+ * <ul>
+ *     <li>chunked: 8KB 조각을 {@link ChunkedOcrReader}에 넣기 (/upload 엔드포인트가 쓰는 방식)</li>
+ *     <li>stream: 본문 InputStream을 blocking 스트리밍 파서로 읽기 (/batch 등)</li>
+ *     <li>bufferedTree: 본문 전체를 byte[]로 모은 뒤 readTree로 읽기 (비교 기준)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkedOcrReaderBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"sample_04", "size_10mb", "size_50mb"})
+    private String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RawTextExtractor extractor;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path tempDir = Files.createTempDirectory("chunked-bench");
+        Path file = BenchmarkPayloads.jsonFile(payload, tempDir);
+        body = Files.readAllBytes(file);
+        BenchmarkFiles.deleteRecursively(tempDir);
+        extractor = new RawTextExtractor(objectMapper, new ParsingMetrics(new SimpleMeterRegistry()),
+            new LayoutExtractor(), RawTextExtractor.MODE_TEXT, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public OcrResult chunked() {
+        ChunkedOcrReader reader = extractor.chunkedReader(payload);
+        // 요청 하나가 읽기 버퍼 하나를 재사용하는 것과 같이 조각을 같은 배열에서 넘긴다.
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            reader.feed(body, offset, Math.min(CHUNK_SIZE, body.length - offset));
+        }
+        return extractor.complete(reader);
+    }
+
+    @Benchmark
+    public OcrResult stream() {
+        return extractor.extract(new ByteArrayInputStream(body), payload);
+    }
+
+    @Benchmark
+    public void bufferedTree(Blackhole blackhole) throws IOException {
+        byte[] buffered = new ByteArrayInputStream(body).readAllBytes();
+        JsonNode root = objectMapper.readTree(buffered);
+        blackhole.consume(root.path("text").asText());
+        blackhole.consume(root.path("confidence").asDouble());
+    }
+}
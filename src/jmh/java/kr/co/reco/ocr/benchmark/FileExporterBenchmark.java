@@ -0,0 +1,64 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.infrastructure.exporter.FileExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * FileExporter.export 벤치마크. 티켓 ID를 1,024개 슬롯에서 순환시켜 디렉토리 크기를 일정하게 유지한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileExporterBenchmark {
+
+    private static final int ID_SLOTS = 1024;
+
+    private FileExporter fileExporter;
+    private WeightTicket[] tickets;
+    private Path outputDir;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        outputDir = Files.createTempDirectory("ocr-export-bench");
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        fileExporter = new FileExporter(objectMapper, outputDir.toString());
+
+        tickets = new WeightTicket[ID_SLOTS];
+        for (int i = 0; i < ID_SLOTS; i++) {
+            tickets[i] = WeightTicket.builder()
+                .id((long) i)
+                .carNumber("80구8713")
+                .grossWeight(13460.0).tareWeight(7560.0).netWeight(5900.0)
+                .scaledAt(LocalDateTime.of(2026, 2, 2, 2, 14, 23))
+                .confidence(0.93)
+                .createdAt(LocalDateTime.now())
+                .build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(outputDir);
+    }
+
+    @Benchmark
+    public void export() {
+        fileExporter.export(tickets[next++ & (ID_SLOTS - 1)]);
+    }
+}
@@ -0,0 +1,89 @@
+package kr.co.reco.ocr.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import kr.co.reco.ocr.infrastructure.ocr.LabelDictionary;
+import kr.co.reco.ocr.infrastructure.ocr.LabelDictionary.Label;
+import kr.co.reco.ocr.infrastructure.ocr.RegexExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 라벨 표기 수에 따른 비용 비교. 기본 표기 7개 뒤에 가상의 한글 표기를 variants개만큼 더 넣는다.
+ * <ul>
+ *     <li>automaton: {@link LabelDictionary} 자동자로 라벨 찾기 ({@link RegexExtractor}가 쓰는 방식)</li>
+ *     <li>regexAlternation: 기존 CAR_PATTERN처럼 글자마다 {@code \s*}를 넣은 표기들의 정규식 alternation으로 라벨만 찾기</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LabelDictionaryBenchmark {
+
+    private static final Label[] LABELS = Label.values();
+
+    @Param({"sample_02", "more_lines"})
+    private String payload;
+
+    @Param({"0", "16", "256", "4096"})
+    private int variants;
+
+    private LabelDictionary labels;
+    private Pattern alternation;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        Map<String, Label> dictionary = new LinkedHashMap<>(Map.of(
+            "차량번호", Label.CAR_NUMBER, "차번호", Label.CAR_NUMBER, "차량No", Label.CAR_NUMBER,
+            "총중량", Label.GROSS, "공차중량", Label.TARE, "차중량", Label.TARE, "실중량", Label.NET));
+        Random random = new Random(42);
+        while (dictionary.size() < 7 + variants) {
+            StringBuilder variant = new StringBuilder();
+            int length = 3 + random.nextInt(4);
+            for (int i = 0; i < length; i++) {
+                variant.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+            }
+            dictionary.putIfAbsent(variant.toString(), LABELS[dictionary.size() % LABELS.length]);
+        }
+
+        labels = new LabelDictionary(dictionary);
+        alternation = Pattern.compile(dictionary.keySet().stream()
+            .map(variant -> variant.chars()
+                .mapToObj(c -> Pattern.quote(String.valueOf((char) c)))
+                .collect(Collectors.joining("\\s*")))
+            .collect(Collectors.joining("|", "(?i)(?:", ")")));
+        text = BenchmarkPayloads.text(payload);
+    }
+
+    @Benchmark
+    public int automaton() {
+        int[] found = new int[1];
+        labels.scan(text, 0, text.length(), (label, start, end) -> {
+            found[0]++;
+            return true;
+        });
+        return found[0];
+    }
+
+    @Benchmark
+    public int regexAlternation() {
+        Matcher matcher = alternation.matcher(text);
+        int found = 0;
+        while (matcher.find()) {
+            found++;
+        }
+        return found;
+    }
+}
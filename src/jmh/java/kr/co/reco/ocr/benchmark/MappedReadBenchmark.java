@@ -0,0 +1,62 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 파일 크기별 읽기 방식 비교 (text 모드).
+ * <ul>
+ *     <li>stream: 파일 스트림 + Jackson 기본 읽기 버퍼</li>
+ *     <li>mmap: 메모리 매핑한 버퍼를 파서 입력으로 쓰기 (app.ocr.mmap-threshold-bytes 이상인 파일)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappedReadBenchmark {
+
+    @Param({"sample_04", "size_1mb", "size_10mb", "size_50mb"})
+    private String payload;
+
+    @Param({"stream", "mmap"})
+    private String reader;
+
+    private RawTextExtractor extractor;
+    private Path tempDir;
+    private String filePath;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("mmap-bench");
+        filePath = BenchmarkPayloads.jsonFile(payload, tempDir).toString();
+        extractor = new RawTextExtractor(new ObjectMapper(), new ParsingMetrics(new SimpleMeterRegistry()),
+            new LayoutExtractor(), RawTextExtractor.MODE_TEXT, "mmap".equals(reader) ? 0 : Long.MAX_VALUE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(tempDir);
+    }
+
+    @Benchmark
+    public OcrResult extract() {
+        return extractor.extract(filePath);
+    }
+}
@@ -0,0 +1,65 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.ParsingService;
+import kr.co.reco.ocr.application.ParsingServiceImpl;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.RegexExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * ParsingServiceImpl.parse 벤치마크. 저장소는 전달받은 엔티티를 그대로 돌려주는 스텁으로 대체해 DB 비용을 제외한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParsingServiceBenchmark {
+
+    @Param({"sample_01", "sample_02", "sample_03", "sample_04", "more_lines", "more_kg", "long_noise"})
+    private String payload;
+
+    private ParsingService parsingService;
+    private OcrResult ocrResult;
+
+    @Setup
+    public void setUp() {
+        TicketTemplateRegistry templateRegistry = new TicketTemplateRegistry(new ObjectMapper(),
+            new DefaultResourceLoader(), "classpath:ticket-templates.json", 0, 3);
+        parsingService = new ParsingServiceImpl(nonPersistentRepository(), new RegexExtractor(), templateRegistry,
+            new ParsingMetrics(new SimpleMeterRegistry()));
+        ocrResult = OcrResult.builder()
+            .fullText(BenchmarkPayloads.text(payload))
+            .confidence(0.93)
+            .build();
+    }
+
+    @Benchmark
+    public WeightTicket parse() {
+        return parsingService.parse(ocrResult);
+    }
+
+    private static WeightTicketRepository nonPersistentRepository() {
+        return (WeightTicketRepository) Proxy.newProxyInstance(
+            WeightTicketRepository.class.getClassLoader(),
+            new Class<?>[]{WeightTicketRepository.class},
+            (proxy, method, args) -> {
+                if ("save".equals(method.getName())) return args[0];
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -0,0 +1,67 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RawTextExtractorBenchmark {
+
+    @Param({"sample_01", "sample_02", "sample_03", "sample_04", "words_x10", "words_x50"})
+    private String payload;
+
+    @Param({"text", "layout"})
+    private String mode;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RawTextExtractor extractor;
+    private Path tempDir;
+    private String filePath;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("ocr-bench");
+        filePath = BenchmarkPayloads.jsonFile(payload, tempDir).toString();
+        extractor = new RawTextExtractor(objectMapper, new ParsingMetrics(new SimpleMeterRegistry()),
+            new LayoutExtractor(), mode, Long.MAX_VALUE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(tempDir);
+    }
+
+    @Benchmark
+    public OcrResult extract() {
+        return extractor.extract(filePath);
+    }
+
+    /** 스트리밍 전환 이전의 readTree(DOM) 방식. extract()와의 비교 기준 */
+    @Benchmark
+    public void readTreeBaseline(Blackhole blackhole) throws IOException {
+        JsonNode root = objectMapper.readTree(new File(filePath));
+        blackhole.consume(root.path("text").asText());
+        blackhole.consume(root.path("confidence").asDouble());
+    }
+}
@@ -0,0 +1,52 @@
+package kr.co.reco.ocr.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.infrastructure.ocr.ExtractedFields;
+import kr.co.reco.ocr.infrastructure.ocr.RegexExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegexExtractorBenchmark {
+
+    @Param({"sample_01", "sample_02", "sample_03", "sample_04", "more_lines", "more_kg", "long_noise"})
+    private String payload;
+
+    private final RegexExtractor regexExtractor = new RegexExtractor();
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkPayloads.text(payload);
+    }
+
+    @Benchmark
+    public ExtractedFields extract() {
+        return regexExtractor.extract(text);
+    }
+
+    @Benchmark
+    public String extractCarNumber() {
+        return regexExtractor.extractCarNumber(text);
+    }
+
+    @Benchmark
+    public List<Double> extractWeights() {
+        return regexExtractor.extractWeights(text);
+    }
+
+    @Benchmark
+    public LocalDateTime extractScaledAt() {
+        return regexExtractor.extractScaledAt(text);
+    }
+}
@@ -0,0 +1,69 @@
+package kr.co.reco.ocr.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplate;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * 양식 분류 비용이 등록된 양식 수와 무관한지 확인한다. 기본 양식 4개 뒤에 가상의 업체 양식을 templates개만큼 더 등록한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketTemplateRegistryBenchmark {
+
+    @Param({"sample_01", "sample_04"})
+    private String payload;
+
+    @Param({"0", "100", "10000"})
+    private int templates;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TicketTemplateRegistry registry;
+    private Path tempDir;
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("template-bench");
+        List<TicketTemplate> all = new ArrayList<>(new TicketTemplateRegistry(objectMapper,
+            new DefaultResourceLoader(), "classpath:ticket-templates.json", 0, 3).getTemplates());
+        for (int i = 0; i < templates; i++) {
+            all.add(new TicketTemplate("vendor-" + i, List.of("업체" + i + "계량표", "TEL-" + i), 1, List.of(),
+                Map.of()));
+        }
+        Path config = Files.writeString(tempDir.resolve("ticket-templates.json"),
+            objectMapper.writeValueAsString(Map.of("templates", all)));
+
+        registry = new TicketTemplateRegistry(objectMapper, new DefaultResourceLoader(),
+            config.toUri().toString(), 0, 3);
+        text = BenchmarkPayloads.text(payload);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(tempDir);
+    }
+
+    @Benchmark
+    public TicketTemplate classify() {
+        return registry.classify(text);
+    }
+}
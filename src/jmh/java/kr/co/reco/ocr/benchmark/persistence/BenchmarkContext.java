@@ -0,0 +1,37 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import kr.co.reco.ocr.OcrParserApplication;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * 영속성 벤치마크용 애플리케이션 컨텍스트. 웹 서버 없이 띄우고, 벤치마크마다 별도의 in-memory H2를 사용한다.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        // jmh 단일 jar에서는 META-INF/spring.factories가 하나만 남아 application.yml이 자동으로 로드되지 않는다.
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+
+        return new SpringApplicationBuilder(OcrParserApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(yaml.getObject())
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN")
+            // 같은 이유로 actuator 자동 설정이 빠지므로 메트릭 레지스트리를 직접 등록한다.
+            .initializers(context -> context.getBeanFactory()
+                .registerSingleton("meterRegistry", new SimpleMeterRegistry()))
+            .run();
+    }
+}
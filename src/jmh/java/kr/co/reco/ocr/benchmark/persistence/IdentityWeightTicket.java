@@ -0,0 +1,46 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 시퀀스 전환 이전의 IDENTITY 전략을 재현한 비교용 엔티티. 컬럼 구성은 WeightTicket과 같다.
+ */
+@Entity
+public class IdentityWeightTicket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String carNumber;
+
+    private Double grossWeight;
+    private Double tareWeight;
+    private Double netWeight;
+    private LocalDateTime scaledAt;
+    private Double confidence;
+    private boolean needsReview;
+    private String reviewNote;
+    private LocalDateTime createdAt;
+
+    protected IdentityWeightTicket() {
+    }
+
+    public IdentityWeightTicket(String carNumber, Double grossWeight, Double tareWeight, Double netWeight,
+        LocalDateTime scaledAt, Double confidence) {
+        this.carNumber = carNumber;
+        this.grossWeight = grossWeight;
+        this.tareWeight = tareWeight;
+        this.netWeight = netWeight;
+        this.scaledAt = scaledAt;
+        this.confidence = confidence;
+        this.reviewNote = "";
+        this.createdAt = LocalDateTime.now();
+    }
+}
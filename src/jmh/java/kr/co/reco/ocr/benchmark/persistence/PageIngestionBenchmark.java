@@ -0,0 +1,119 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.BatchIngestionService;
+import kr.co.reco.ocr.application.WeightTicketService;
+import kr.co.reco.ocr.application.dto.BatchIngestionResult;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 여러 계량표가 페이지로 묶인 문서 하나의 처리 시간 비교. 샘플 4종의 페이지를 번갈아 pages개 묶는다.
+ * <ul>
+ *     <li>pagesEndpoint: {@link BatchIngestionService#ingestPages} 한 번 (페이지 병렬 파싱 + 청크 저장)</li>
+ *     <li>perPage: 페이지마다 단일 문서로 나눠 단건 저장({@link WeightTicketService#parseAndSave})을 반복</li>
+ * </ul>
+ * 콘텐츠 해시 중복 판정을 피하도록 호출마다 페이지 텍스트에 일련번호를 붙인다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PageIngestionBenchmark {
+
+    private static final String[] SAMPLES = {"sample_01", "sample_02", "sample_03", "sample_04"};
+
+    @Param({"1", "10", "50"})
+    private int pages;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ConfigurableApplicationContext context;
+    private BatchIngestionService batchIngestionService;
+    private WeightTicketService weightTicketService;
+    private RawTextExtractor extractor;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private final List<ObjectNode> samplePages = new ArrayList<>();
+
+    private long invocation;
+    private byte[] document;
+    private List<byte[]> singlePageDocuments;
+
+    @Setup(Level.Trial)
+    public void startContext() throws IOException {
+        context = BenchmarkContext.start("page-bench");
+        batchIngestionService = context.getBean(BatchIngestionService.class);
+        weightTicketService = context.getBean(WeightTicketService.class);
+        extractor = context.getBean(RawTextExtractor.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        for (String sample : SAMPLES) {
+            try (InputStream in = PageIngestionBenchmark.class.getResourceAsStream("/sample/" + sample + ".json")) {
+                samplePages.add((ObjectNode) objectMapper.readTree(in).path("pages").get(0));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void buildDocuments() throws IOException {
+        invocation++;
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode pageArray = root.putArray("pages");
+        singlePageDocuments = new ArrayList<>(pages);
+        for (int i = 0; i < pages; i++) {
+            ObjectNode page = samplePages.get(i % SAMPLES.length).deepCopy();
+            page.put("text", page.path("text").asText() + "\n#" + invocation + "-" + i);
+            pageArray.add(page);
+
+            ObjectNode single = objectMapper.createObjectNode();
+            single.set("confidence", page.get("confidence"));
+            single.set("text", page.get("text"));
+            singlePageDocuments.add(objectMapper.writeValueAsBytes(single));
+        }
+        document = objectMapper.writeValueAsBytes(root);
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() {
+        transactionTemplate.executeWithoutResult(status ->
+            entityManager.createQuery("delete from WeightTicket").executeUpdate());
+    }
+
+    @Benchmark
+    public BatchIngestionResult pagesEndpoint() {
+        return batchIngestionService.ingestPages(new ByteArrayInputStream(document), "bench");
+    }
+
+    @Benchmark
+    public void perPage(Blackhole blackhole) {
+        for (byte[] single : singlePageDocuments) {
+            blackhole.consume(weightTicketService.parseAndSave(
+                extractor.extract(new ByteArrayInputStream(single), "bench")));
+        }
+    }
+}
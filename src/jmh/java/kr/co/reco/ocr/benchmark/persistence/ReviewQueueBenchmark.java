@@ -0,0 +1,121 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import static kr.co.reco.ocr.domain.QWeightTicket.weightTicket;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.ReviewQueueService;
+import kr.co.reco.ocr.application.dto.ReviewClaim;
+import kr.co.reco.ocr.domain.ReviewTask;
+import kr.co.reco.ocr.domain.ReviewTaskQueryRepository;
+import kr.co.reco.ocr.domain.ReviewTaskRepository;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 10만 건 중 1%(1000건)가 검토 대상인 H2에서 검토할 티켓 20건을 꺼내는 비용 비교.
+ * <ul>
+ *     <li>ticketScan: 티켓 테이블에서 needsReview = true를 생성 순으로 조회 (티켓 전체를 읽는다)</li>
+ *     <li>queueClaim: ReviewQueueService.claim (대기열 테이블만 읽고, 할당까지 기록한다)</li>
+ * </ul>
+ * backlog는 검토 대상의 분포. spread: 전체에 고르게 (100건마다 1건), tail: 최근 1000건 (이전 티켓은 검토가 끝난 상태).
+ * claim은 임대 시간 0으로 만들어 매 호출이 같은 앞쪽 20건을 다시 할당받는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReviewQueueBenchmark {
+
+    private static final int TICKETS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int FLAGGED = 1_000;
+    private static final int CLAIM_SIZE = 20;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"spread", "tail"})
+    private String backlog;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private ReviewQueueService reviewQueueService;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("review-queue-bench");
+        queryFactory = context.getBean(JPAQueryFactory.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        for (int from = 0; from < TICKETS; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            readWrite.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < chunkStart + CHUNK_SIZE; i++) {
+                    WeightTicket ticket = WeightTicket.builder()
+                        .carNumber("80구" + (1000 + i % 9000))
+                        .grossWeight(13460.0).tareWeight(7560.0).netWeight(5900.0)
+                        .scaledAt(BASE.plusSeconds(i * 30L))
+                        .needsReview(flagged(i))
+                        .build();
+                    entityManager.persist(ticket);
+                    if (ticket.isNeedsReview()) {
+                        entityManager.persist(ReviewTask.of(ticket));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        // 같은 항목을 반복해서 할당받도록 임대 시간 0. 프록시가 아니므로 트랜잭션은 호출 쪽에서 연다.
+        reviewQueueService = new ReviewQueueService(context.getBean(ReviewTaskRepository.class),
+            context.getBean(ReviewTaskQueryRepository.class), context.getBean(WeightTicketRepository.class),
+            context.getBean(WeightTicketQueryRepository.class), context, 0, CLAIM_SIZE, CLAIM_SIZE);
+    }
+
+    private boolean flagged(int i) {
+        return "tail".equals(backlog) ? i >= TICKETS - FLAGGED : i % (TICKETS / FLAGGED) == 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<WeightTicket> ticketScan() {
+        return readOnly.execute(status -> queryFactory
+            .selectFrom(weightTicket)
+            .where(weightTicket.needsReview.isTrue())
+            .orderBy(weightTicket.createdAt.asc(), weightTicket.id.asc())
+            .limit(CLAIM_SIZE)
+            .fetch());
+    }
+
+    @Benchmark
+    public ReviewClaim queueClaim() {
+        return readWrite.execute(status -> reviewQueueService.claim("bench", CLAIM_SIZE));
+    }
+}
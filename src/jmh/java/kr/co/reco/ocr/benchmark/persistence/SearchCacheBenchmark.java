@@ -0,0 +1,92 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.WeightTicketService;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 10만 건이 저장된 H2에서 대시보드의 반복 조회 (차량번호 앞자리 + 하루 범위, 첫 페이지 20건) 비용 비교.
+ * <ul>
+ *     <li>database: 읽기 전용 트랜잭션에서 매번 searchPage</li>
+ *     <li>cached: WeightTicketService.searchTickets (조회 결과 캐시 적중)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchCacheBenchmark {
+
+    private static final int TICKETS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private ConfigurableApplicationContext context;
+    private WeightTicketQueryRepository queryRepository;
+    private WeightTicketService weightTicketService;
+    private TransactionTemplate readOnly;
+    private final WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("search-cache-bench");
+        queryRepository = context.getBean(WeightTicketQueryRepository.class);
+        weightTicketService = context.getBean(WeightTicketService.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        for (int from = 0; from < TICKETS; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            readWrite.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < chunkStart + CHUNK_SIZE; i++) {
+                    entityManager.persist(WeightTicket.create("80구" + (1000 + i % 9000),
+                        13460.0, 7560.0, 5900.0, BASE.plusSeconds(i * 30L), 0.93));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        condition.setCarNumber("80구1");
+        condition.setStart(BASE.plusDays(10));
+        condition.setEnd(BASE.plusDays(11).minusSeconds(1));
+        condition.setSize(PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<WeightTicketResponse> database() {
+        return readOnly.execute(status -> queryRepository.searchPage(condition, null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public CursorPage<WeightTicketResponse> cached() {
+        return weightTicketService.searchTickets(condition);
+    }
+}
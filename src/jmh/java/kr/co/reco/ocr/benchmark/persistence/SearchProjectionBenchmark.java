@@ -0,0 +1,99 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import static kr.co.reco.ocr.domain.QWeightTicket.weightTicket;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 10만 건이 저장된 H2에서 조회 API 한 번에 해당하는 비용 비교.
+ * <ul>
+ *     <li>entity: 읽기/쓰기 트랜잭션에서 WeightTicket 엔티티로 조회 (영속성 컨텍스트 등록 + 스냅샷)</li>
+ *     <li>projection: 읽기 전용 트랜잭션에서 WeightTicketResponse 생성자 프로젝션으로 조회</li>
+ * </ul>
+ * rows는 한 번에 읽는 행 수 (한 페이지 / 전체). 힙 비용은 GC 프로파일러의 gc.alloc.rate.norm으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchProjectionBenchmark {
+
+    private static final int TICKETS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Param({"100", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private WeightTicketQueryRepository queryRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private final WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("search-bench");
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        queryRepository = context.getBean(WeightTicketQueryRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int from = 0; from < TICKETS; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            readWrite.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < chunkStart + CHUNK_SIZE; i++) {
+                    entityManager.persist(WeightTicket.create("80구" + (1000 + i % 9000),
+                        13460.0, 7560.0, 5900.0, base.plusMinutes(i * 5L), 0.93));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<WeightTicket> entity() {
+        return readWrite.execute(status -> queryFactory
+            .selectFrom(weightTicket)
+            .orderBy(weightTicket.scaledAt.desc().nullsLast(), weightTicket.id.desc())
+            .limit(rows)
+            .fetch());
+    }
+
+    @Benchmark
+    public CursorPage<WeightTicketResponse> projection() {
+        return readOnly.execute(status -> queryRepository.searchPage(condition, null, rows));
+    }
+}
@@ -0,0 +1,114 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.TicketColumnStore;
+import kr.co.reco.ocr.application.dto.AggregateGroup;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 10만 건(약 35일, 차량 9000대)에서 차량별 실중량 합계 한 번의 비용 비교.
+ * <ul>
+ *     <li>entity: 지금 대시보드가 하는 방식. search()로 기간 내 엔티티를 모두 읽어 애플리케이션에서 더한다.</li>
+ *     <li>sqlGroupBy: WeightTicketQueryRepository.aggregate로 DB에서 GROUP BY</li>
+ *     <li>columnStore: 인메모리 컬럼 저장소의 aggregateByCar</li>
+ * </ul>
+ * range는 조회 기간 (하루 / 전체).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketAggregationBenchmark {
+
+    private static final int TICKETS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"day", "all"})
+    private String range;
+
+    private ConfigurableApplicationContext context;
+    private WeightTicketQueryRepository queryRepository;
+    private TicketColumnStore columnStore;
+    private TransactionTemplate readOnly;
+    private final WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkContext.start("aggregation-bench");
+        queryRepository = context.getBean(WeightTicketQueryRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        for (int from = 0; from < TICKETS; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            readWrite.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < chunkStart + CHUNK_SIZE; i++) {
+                    entityManager.persist(WeightTicket.create("80구" + (1000 + i % 9000),
+                        13460.0, 7560.0, 5900.0, BASE.plusSeconds(i * 30L), 0.93));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        // 저장 이벤트 없이 넣었으므로 기동 시와 같은 방법으로 다시 적재한다.
+        columnStore = new TicketColumnStore(queryRepository, transactionManager, 500);
+        columnStore.load();
+
+        if ("day".equals(range)) {
+            condition.setStart(BASE.plusDays(10));
+            condition.setEnd(BASE.plusDays(11).minusSeconds(1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Double> entity() {
+        return readOnly.execute(status -> {
+            Map<String, Double> netByCar = new HashMap<>();
+            for (WeightTicket ticket : queryRepository.search(condition)) {
+                netByCar.merge(ticket.getCarNumber(), ticket.getNetWeight(), Double::sum);
+            }
+            return netByCar;
+        });
+    }
+
+    @Benchmark
+    public List<TicketAggregate> sqlGroupBy() {
+        return readOnly.execute(status -> queryRepository.aggregate(condition, AggregateGroup.CAR));
+    }
+
+    @Benchmark
+    public List<TicketAggregate> columnStore() {
+        return columnStore.aggregateByCar(condition);
+    }
+}
@@ -0,0 +1,93 @@
+package kr.co.reco.ocr.benchmark.persistence;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.domain.WeightTicket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * H2에 티켓 10,000건을 저장하는 처리량(inserts/s) 비교.
+ * <ul>
+ *     <li>identity: 기존 IDENTITY 전략. INSERT마다 즉시 실행되어 JDBC 배치가 적용되지 않는다.</li>
+ *     <li>pooled_sequence: WeightTicket의 pooled 시퀀스 + hibernate.jdbc.batch_size</li>
+ * </ul>
+ * 트랜잭션 하나에 {@value #CHUNK_SIZE}건씩 저장하며 청크마다 영속성 컨텍스트를 비운다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TicketInsertBenchmark {
+
+    private static final int TICKETS = 10_000;
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"identity", "pooled_sequence"})
+    private String idStrategy;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start("insert-bench");
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from WeightTicket").executeUpdate();
+            entityManager.createQuery("delete from IdentityWeightTicket").executeUpdate();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS)
+    public void insertTickets() {
+        boolean identity = "identity".equals(idStrategy);
+        for (int from = 0; from < TICKETS; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < chunkStart + CHUNK_SIZE; i++) {
+                    entityManager.persist(identity ? newIdentityTicket(i) : newTicket(i));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private static WeightTicket newTicket(int i) {
+        return WeightTicket.create("80구" + (1000 + i % 9000), 13460.0, 7560.0, 5900.0,
+            LocalDateTime.of(2026, 2, 2, 2, 14, 23), 0.93);
+    }
+
+    private static IdentityWeightTicket newIdentityTicket(int i) {
+        return new IdentityWeightTicket("80구" + (1000 + i % 9000), 13460.0, 7560.0, 5900.0,
+            LocalDateTime.of(2026, 2, 2, 2, 14, 23), 0.93);
+    }
+}
@@ -0,0 +1,127 @@
+package kr.co.reco.ocr.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 부하 테스트. 실행 중인 애플리케이션에 POST /batch(NDJSON, 문서 1건)를 동시에 concurrency개씩 보내고
+ * 처리량과 지연 시간 분위수를 출력한다. 문서마다 텍스트를 조금씩 바꿔 중복 제거 캐시를 타지 않게 한다.
+ * 인자: baseUrl concurrency requests [OCR JSON 파일]. 파일을 주지 않으면 클래스패스의 sample/sample_02.json을 쓴다.
+ * <pre>
+ * ./gradlew bootRun                                                  # 플랫폼 스레드 (기본)
+ * ./gradlew bootRun -PjavaVersion=21 --args='--spring.threads.virtual.enabled=true'
+ * ./gradlew loadTest -PloadTestArgs="http://localhost:8080 1000 10000"
+ * </pre>
+ */
+public class UploadLoadTest {
+
+    private static final String BATCH_PATH = "/api/v1/weight-tickets/batch";
+    private static final String SAMPLE_RESOURCE = "/sample/sample_02.json";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int warmup = Math.min(requests / 10, 1000);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode sample = (ObjectNode) readSample(objectMapper, args.length > 3 ? Path.of(args[3]) : null);
+        String text = sample.path("text").asText();
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        URI uri = URI.create(baseUrl + BATCH_PATH);
+        // 실행마다 다른 접두어를 붙여 이전 실행에서 저장된 문서와도 겹치지 않게 한다.
+        String runId = Long.toString(System.nanoTime(), 36);
+
+        run(client, uri, objectMapper, sample, text, runId + "-w", concurrency, warmup);
+        Result result = run(client, uri, objectMapper, sample, text, runId, concurrency, requests);
+        result.print(concurrency);
+    }
+
+    // 작업 디렉터리와 관계없이 읽도록 기본 샘플은 클래스패스에서 찾는다.
+    private static JsonNode readSample(ObjectMapper objectMapper, Path file) throws IOException {
+        if (file != null) {
+            return objectMapper.readTree(file.toFile());
+        }
+        try (InputStream in = UploadLoadTest.class.getResourceAsStream(SAMPLE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Sample not found on classpath: " + SAMPLE_RESOURCE);
+            }
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, ObjectMapper objectMapper, ObjectNode sample,
+        String text, String runId, int concurrency, int requests) throws Exception {
+
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            String body = document(objectMapper, sample, text, runId, i);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+            inFlight.acquire();
+            int index = i;
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    latencies[index] = System.nanoTime() - sentAt;
+                    if (error != null || response.statusCode() != 200 || !response.body().contains("\"failed\":0")) {
+                        failures.incrementAndGet();
+                    }
+                    inFlight.release();
+                    done.countDown();
+                });
+        }
+        done.await();
+        return new Result(latencies, failures.get(), System.nanoTime() - start);
+    }
+
+    private static String document(ObjectMapper objectMapper, ObjectNode sample, String text, String runId, int i)
+        throws IOException {
+        ObjectNode document = sample.deepCopy();
+        document.put("text", text + "\n" + runId + "-" + i);
+        return objectMapper.writeValueAsString(document) + "\n";
+    }
+
+    private record Result(long[] latencies, int failures, long elapsedNanos) {
+
+        void print(int concurrency) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("concurrency=%d requests=%d failures=%d elapsed=%.2fs%n",
+                concurrency, sorted.length, failures, seconds);
+            System.out.printf("throughput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
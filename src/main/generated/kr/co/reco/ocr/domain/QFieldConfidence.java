@@ -0,0 +1,45 @@
+package kr.co.reco.ocr.domain;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.PathMetadata;
+import javax.annotation.processing.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QFieldConfidence is a Querydsl query type for FieldConfidence
+ */
+@Generated("com.querydsl.codegen.DefaultEmbeddableSerializer")
+public class QFieldConfidence extends BeanPath<FieldConfidence> {
+
+    private static final long serialVersionUID = -1570633090L;
+
+    public static final QFieldConfidence fieldConfidence = new QFieldConfidence("fieldConfidence");
+
+    public final NumberPath<Double> carNumberConfidence = createNumber("carNumberConfidence", Double.class);
+
+    public final NumberPath<Double> grossWeightConfidence = createNumber("grossWeightConfidence", Double.class);
+
+    public final NumberPath<Double> netWeightConfidence = createNumber("netWeightConfidence", Double.class);
+
+    public final NumberPath<Double> scaledAtConfidence = createNumber("scaledAtConfidence", Double.class);
+
+    public final NumberPath<Double> tareWeightConfidence = createNumber("tareWeightConfidence", Double.class);
+
+    public QFieldConfidence(String variable) {
+        super(FieldConfidence.class, forVariable(variable));
+    }
+
+    public QFieldConfidence(Path<? extends FieldConfidence> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QFieldConfidence(PathMetadata metadata) {
+        super(FieldConfidence.class, metadata);
+    }
+
+}
+
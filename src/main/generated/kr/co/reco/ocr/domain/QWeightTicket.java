@@ -7,6 +7,7 @@ import com.querydsl.core.types.dsl.*;
 import com.querydsl.core.types.PathMetadata;
 import javax.annotation.processing.Generated;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.PathInits;
 
 
 /**
@@ -17,14 +18,24 @@ public class QWeightTicket extends EntityPathBase<WeightTicket> {
 
     private static final long serialVersionUID = -1885532534L;
 
+    private static final PathInits INITS = PathInits.DIRECT2;
+
     public static final QWeightTicket weightTicket = new QWeightTicket("weightTicket");
 
     public final StringPath carNumber = createString("carNumber");
 
+    public final StringPath carNumberNormalized = createString("carNumberNormalized");
+
+    public final StringPath carNumberTail = createString("carNumberTail");
+
     public final NumberPath<Double> confidence = createNumber("confidence", Double.class);
 
+    public final StringPath contentHash = createString("contentHash");
+
     public final DateTimePath<java.time.LocalDateTime> createdAt = createDateTime("createdAt", java.time.LocalDateTime.class);
 
+    public final QFieldConfidence fieldConfidence;
+
     public final NumberPath<Double> grossWeight = createNumber("grossWeight", Double.class);
 
     public final NumberPath<Long> id = createNumber("id", Long.class);
@@ -40,15 +51,24 @@ public class QWeightTicket extends EntityPathBase<WeightTicket> {
     public final NumberPath<Double> tareWeight = createNumber("tareWeight", Double.class);
 
     public QWeightTicket(String variable) {
-        super(WeightTicket.class, forVariable(variable));
+        this(WeightTicket.class, forVariable(variable), INITS);
     }
 
     public QWeightTicket(Path<? extends WeightTicket> path) {
-        super(path.getType(), path.getMetadata());
+        this(path.getType(), path.getMetadata(), PathInits.getFor(path.getMetadata(), INITS));
     }
 
     public QWeightTicket(PathMetadata metadata) {
-        super(WeightTicket.class, metadata);
+        this(metadata, PathInits.getFor(metadata, INITS));
+    }
+
+    public QWeightTicket(PathMetadata metadata, PathInits inits) {
+        this(WeightTicket.class, metadata, inits);
+    }
+
+    public QWeightTicket(Class<? extends WeightTicket> type, PathMetadata metadata, PathInits inits) {
+        super(type, metadata, inits);
+        this.fieldConfidence = inits.isInitialized("fieldConfidence") ? new QFieldConfidence(forProperty("fieldConfidence")) : null;
     }
 
 }
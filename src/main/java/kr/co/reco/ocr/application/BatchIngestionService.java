@@ -0,0 +1,239 @@
+package kr.co.reco.ocr.application;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import kr.co.reco.ocr.application.dto.BatchIngestionResult;
+import kr.co.reco.ocr.application.dto.BatchItemResult;
+import kr.co.reco.ocr.application.dto.BatchPayload;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 여러 OCR JSON(또는 여러 페이지로 묶인 OCR JSON 하나)을 한 번에 받아 병렬로 파싱하고, 청크 단위 트랜잭션으로 저장한다.
+ * 파싱 실패나 저장 실패는 해당 항목의 결과로만 기록되며 배치 전체를 롤백하지 않는다.
+ * 이미 저장된 문서나 같은 요청 안에서 반복된 문서는 다시 저장하지 않고 duplicate로 표시한다.
+ */
+@Slf4j
+@Service
+public class BatchIngestionService {
+
+    private final RawTextExtractor extractor;
+    private final ParsingService parsingService;
+    private final TicketDeduplicator ticketDeduplicator;
+    private final ParsingMetrics parsingMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor ingestionExecutor;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BatchIngestionService(RawTextExtractor extractor,
+        ParsingService parsingService,
+        TicketDeduplicator ticketDeduplicator,
+        ParsingMetrics parsingMetrics,
+        ApplicationEventPublisher eventPublisher,
+        TransactionTemplate transactionTemplate,
+        @Qualifier("ingestionExecutor") Executor ingestionExecutor,
+        @Value("${app.ingestion.batch.chunk-size:50}") int chunkSize,
+        @Value("${app.ingestion.batch.max-items:1000}") int maxItems) {
+        this.extractor = extractor;
+        this.parsingService = parsingService;
+        this.ticketDeduplicator = ticketDeduplicator;
+        this.parsingMetrics = parsingMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.ingestionExecutor = ingestionExecutor;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public BatchIngestionResult ingest(List<BatchPayload> payloads) {
+        if (payloads == null || payloads.isEmpty()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+        if (payloads.size() > maxItems) {
+            throw new CustomException(ErrorCode.BATCH_TOO_LARGE);
+        }
+
+        List<String> sources = payloads.stream().map(BatchPayload::source).toList();
+        List<CompletableFuture<ParsedItem>> futures = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            int index = i;
+            BatchPayload payload = payloads.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> parse(index, payload), ingestionExecutor));
+        }
+        return persistParsed(sources, futures);
+    }
+
+    /**
+     * 여러 계량표를 페이지로 묶은 OCR JSON 하나를 받아 페이지마다 티켓을 만든다.
+     * 문서는 한 번 순차로 읽고, 페이지별 파싱은 일괄 파싱 풀에서 병렬로 실행하며, 저장은 ingest와 같은 청크 트랜잭션을 쓴다.
+     * 항목 결과의 source는 page-{번호}(1부터)이며, 텍스트가 빈 페이지는 해당 항목만 실패로 기록한다.
+     */
+    public BatchIngestionResult ingestPages(InputStream content, String source) {
+        List<OcrResult> pages = extractor.extractPages(content, source);
+        if (pages.size() > maxItems) {
+            throw new CustomException(ErrorCode.BATCH_TOO_LARGE);
+        }
+
+        List<String> sources = new ArrayList<>(pages.size());
+        List<CompletableFuture<ParsedItem>> futures = new ArrayList<>(pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            int index = i;
+            String pageSource = "page-" + (i + 1);
+            OcrResult page = pages.get(i);
+            sources.add(pageSource);
+            futures.add(CompletableFuture.supplyAsync(() -> parsePage(index, pageSource, page), ingestionExecutor));
+        }
+        return persistParsed(sources, futures);
+    }
+
+    // 파싱 결과를 입력 순서대로 모아 중복을 걸러내고 청크 단위로 저장한다.
+    private BatchIngestionResult persistParsed(List<String> sources, List<CompletableFuture<ParsedItem>> futures) {
+        BatchItemResult[] results = new BatchItemResult[futures.size()];
+        List<ParsedItem> parsedItems = new ArrayList<>(futures.size());
+        Map<String, Integer> firstIndexByHash = new HashMap<>();
+        Map<Integer, Integer> sameAsEarlier = new LinkedHashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            ParsedItem item;
+            try {
+                item = futures.get(i).join();
+            } catch (CompletionException e) {
+                ErrorCode errorCode = toErrorCode(e.getCause());
+                parsingMetrics.recordError(errorCode);
+                results[i] = BatchItemResult.failure(i, sources.get(i), errorCode);
+                continue;
+            }
+
+            if (item.existing() != null) {
+                results[i] = BatchItemResult.duplicate(i, item.source(), item.existing());
+                continue;
+            }
+            Integer first = firstIndexByHash.putIfAbsent(item.contentHash(), i);
+            if (first != null) {
+                sameAsEarlier.put(i, first);
+                continue;
+            }
+            parsedItems.add(item);
+        }
+
+        for (int from = 0; from < parsedItems.size(); from += chunkSize) {
+            List<ParsedItem> chunk = parsedItems.subList(from, Math.min(from + chunkSize, parsedItems.size()));
+            persistChunk(chunk, results);
+        }
+        sameAsEarlier.forEach((index, first) ->
+            results[index] = BatchItemResult.duplicateOf(index, sources.get(index), results[first]));
+
+        return BatchIngestionResult.of(Arrays.asList(results));
+    }
+
+    // 이미 저장된 문서면 파싱하지 않고 기존 티켓을 담아 반환한다.
+    private ParsedItem parse(int index, BatchPayload payload) {
+        OcrResult ocrResult;
+        try (InputStream content = payload.content().call()) {
+            ocrResult = extractor.extract(content, payload.source());
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Batch payload read failed: {}", payload.source(), e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        return toParsedItem(index, payload.source(), ocrResult);
+    }
+
+    private ParsedItem parsePage(int index, String source, OcrResult page) {
+        if (page.getFullText() == null || page.getFullText().isBlank()) {
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        }
+        return toParsedItem(index, source, page);
+    }
+
+    private ParsedItem toParsedItem(int index, String source, OcrResult ocrResult) {
+        String contentHash = OcrContentHash.of(ocrResult);
+        Optional<WeightTicket> existing = ticketDeduplicator.findExisting(contentHash);
+        if (existing.isPresent()) {
+            return new ParsedItem(index, source, ocrResult, contentHash, null, existing.get());
+        }
+        return new ParsedItem(index, source, ocrResult, contentHash,
+            parsingService.createTicket(ocrResult, contentHash), null);
+    }
+
+    private void persistChunk(List<ParsedItem> chunk, BatchItemResult[] results) {
+        try {
+            List<WeightTicket> saved = transactionTemplate.execute(status -> saveAndPublish(
+                chunk.stream().map(ParsedItem::ticket).toList()));
+            for (int i = 0; i < chunk.size(); i++) {
+                ParsedItem item = chunk.get(i);
+                results[item.index()] = BatchItemResult.success(item.index(), item.source(), saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            // 청크 단위 저장이 실패하면 원인 항목만 실패 처리되도록 항목별 트랜잭션으로 재시도한다.
+            log.warn("Batch chunk save failed, retrying {} items individually: {}", chunk.size(), e.getMessage());
+            chunk.forEach(item -> persistOne(item, results));
+        }
+    }
+
+    private void persistOne(ParsedItem item, BatchItemResult[] results) {
+        try {
+            // 롤백된 청크의 엔티티는 ID가 채워져 있을 수 있으므로 OCR 결과에서 새로 만든다.
+            WeightTicket ticket = parsingService.createTicket(item.ocrResult(), item.contentHash());
+            WeightTicket saved = transactionTemplate.execute(status -> saveAndPublish(List.of(ticket)).get(0));
+            results[item.index()] = BatchItemResult.success(item.index(), item.source(), saved);
+        } catch (RuntimeException e) {
+            // 중복 확인 뒤 다른 요청이 같은 문서를 먼저 커밋한 경우 (content_hash unique 제약 위반)
+            Optional<WeightTicket> existing = e instanceof DataIntegrityViolationException
+                ? ticketDeduplicator.findExisting(item.contentHash()) : Optional.empty();
+            if (existing.isPresent()) {
+                results[item.index()] = BatchItemResult.duplicate(item.index(), item.source(), existing.get());
+                return;
+            }
+            log.error("Batch item save failed: {}", item.source(), e);
+            ErrorCode errorCode = e instanceof CustomException ce ? ce.getErrorCode() : ErrorCode.TICKET_SAVE_FAILED;
+            parsingMetrics.recordError(errorCode);
+            results[item.index()] = BatchItemResult.failure(item.index(), item.source(), errorCode);
+        }
+    }
+
+    private List<WeightTicket> saveAndPublish(List<WeightTicket> tickets) {
+        List<WeightTicket> saved = parsingService.saveAll(tickets);
+        eventPublisher.publishEvent(new WeightTicketSavedEvent(saved));
+        return saved;
+    }
+
+    private ErrorCode toErrorCode(Throwable cause) {
+        if (cause instanceof CustomException customException) {
+            return customException.getErrorCode();
+        }
+        log.error("Batch payload parse failed", cause);
+        return ErrorCode.INTERNAL_SERVER_ERROR;
+    }
+
+    private record ParsedItem(int index, String source, OcrResult ocrResult, String contentHash,
+                              WeightTicket ticket, WeightTicket existing) {}
+}
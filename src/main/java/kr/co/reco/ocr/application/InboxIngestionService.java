@@ -0,0 +1,297 @@
+package kr.co.reco.ocr.application;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.application.dto.BatchItemResult;
+import kr.co.reco.ocr.application.dto.BatchPayload;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * 계량 PC가 공유 폴더(inbox)에 떨어뜨린 OCR JSON을 감시해 자동으로 파싱/저장한다. (app.inbox.enabled=true)
+ * <ul>
+ *     <li>{@link WatchService}로 새 파일을 알림받고, 마지막 수정 후 settle-ms가 지난 파일만 processing/으로 원자적 이동(claim)한다.
+ *     이동(rename)에 성공한 경우에만 처리하므로, 쓰는 중이거나 이미 가져간 파일을 중복 처리하지 않는다.</li>
+ *     <li>claim한 파일은 batch-size개씩 {@link BatchIngestionService}에 넘겨 제한된 파싱 풀과 청크 트랜잭션으로 저장하고,
+ *     결과에 따라 done/ 또는 failed/로 옮긴다. 실패 파일 옆에는 오류 코드를 담은 .error 파일을 남긴다.</li>
+ *     <li>재시작 시 processing/에 남은 파일(처리 중 종료)을 먼저 다시 처리한다. 이미 저장된 문서는 콘텐츠 해시로
+ *     중복 판정되어 다시 저장되지 않고 done/으로 옮겨진다. 감시 중단 동안 쌓인 inbox 파일도 함께 처리한다.
+ *     processing/은 인스턴스 하나가 쓴다고 가정하므로, 여러 인스턴스는 각자 다른 inbox를 감시해야 한다.</li>
+ *     <li>done/, failed/로 옮기지 못한 파일은 processing/에 남는다. 감시 스레드가 쉬는 동안 processing/에 있는 파일은
+ *     모두 이렇게 남은 파일이므로, resume-interval-ms마다 다시 처리한다.</li>
+ *     <li>알림이 넘쳐(OVERFLOW) 유실되면 inbox를 다시 목록 조회한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.inbox.enabled", havingValue = "true")
+public class InboxIngestionService {
+
+    static final String PROCESSING = "processing";
+    static final String DONE = "done";
+    static final String FAILED = "failed";
+    private static final String ERROR_SUFFIX = ".error";
+
+    private final BatchIngestionService batchIngestionService;
+    private final ParsingMetrics parsingMetrics;
+    private final Path inbox;
+    private final Path processing;
+    private final Path done;
+    private final Path failed;
+    private final int batchSize;
+    private final long settleMillis;
+    private final long pollIntervalMillis;
+    private final long resumeIntervalMillis;
+
+    // 알림을 받았지만 아직 claim하지 않은 inbox 파일 (감시 스레드만 접근)
+    private final Set<Path> pending = new LinkedHashSet<>();
+
+    private long lastResumedAt;
+    private volatile boolean running;
+    private WatchService watchService;
+    private Thread watcher;
+
+    public InboxIngestionService(BatchIngestionService batchIngestionService,
+        ParsingMetrics parsingMetrics,
+        @Value("${app.inbox.path:inbox/}") String inboxPath,
+        @Value("${app.inbox.batch-size:200}") int batchSize,
+        @Value("${app.inbox.settle-ms:500}") long settleMillis,
+        @Value("${app.inbox.poll-interval-ms:200}") long pollIntervalMillis,
+        @Value("${app.inbox.resume-interval-ms:60000}") long resumeIntervalMillis) {
+        this.batchIngestionService = batchIngestionService;
+        this.parsingMetrics = parsingMetrics;
+        this.inbox = Path.of(inboxPath).toAbsolutePath().normalize();
+        this.processing = inbox.resolve(PROCESSING);
+        this.done = inbox.resolve(DONE);
+        this.failed = inbox.resolve(FAILED);
+        this.batchSize = Math.min(batchSize, batchIngestionService.getMaxItems());
+        this.settleMillis = settleMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.resumeIntervalMillis = resumeIntervalMillis;
+    }
+
+    // 내보내기 대기열 등 다른 빈이 모두 준비된 뒤에 감시를 시작한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Files.createDirectories(processing);
+        Files.createDirectories(done);
+        Files.createDirectories(failed);
+        watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        running = true;
+        watcher = new Thread(this::watchLoop, "inbox-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Inbox watching started: {}", inbox);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null) {
+            // 처리 중인 일괄 작업은 끝까지 기다린다. 중간에 종료되어도 processing/에서 재시작 시 이어 처리된다.
+            watcher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            resume();
+            listInbox();
+        } catch (IOException e) {
+            log.error("Inbox resume failed: {}", inbox, e);
+        }
+        while (running) {
+            try {
+                WatchKey key = watchService.poll(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    collect(key);
+                }
+                drainPending();
+                if (System.currentTimeMillis() - lastResumedAt >= resumeIntervalMillis) {
+                    resume();
+                }
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            } catch (RuntimeException | IOException e) {
+                // 이동하지 못한 파일은 inbox나 processing/에 남아 다음 주기 또는 재시작 시 다시 처리된다.
+                log.error("Inbox processing failed: {}", inbox, e);
+            }
+        }
+    }
+
+    // 처리 도중 종료되었거나 옮기지 못해 processing/에 남은 파일을 다시 처리한다.
+    private void resume() throws IOException {
+        lastResumedAt = System.currentTimeMillis();
+        List<Path> claimed = list(processing);
+        if (!claimed.isEmpty()) {
+            log.info("Resuming {} inbox files left in {}", claimed.size(), processing);
+        }
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            ingest(claimed.subList(from, Math.min(from + batchSize, claimed.size())));
+        }
+    }
+
+    private void listInbox() throws IOException {
+        pending.addAll(list(inbox));
+    }
+
+    private void collect(WatchKey key) throws IOException {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (event.context() instanceof Path name && isCandidate(name)) {
+                pending.add(inbox.resolve(name));
+            }
+        }
+        key.reset();
+        if (overflow) {
+            log.warn("Inbox watch events overflowed, rescanning {}", inbox);
+            listInbox();
+        }
+    }
+
+    private void drainPending() throws IOException {
+        while (running && !pending.isEmpty()) {
+            List<Path> claimed = claimSettled();
+            if (claimed.isEmpty()) {
+                return;
+            }
+            ingest(claimed);
+        }
+    }
+
+    // 쓰기가 끝난(settle-ms 동안 수정되지 않은) 파일을 batch-size개까지 processing/으로 옮긴다.
+    private List<Path> claimSettled() throws IOException {
+        long settledBefore = System.currentTimeMillis() - settleMillis;
+        List<Path> claimed = new ArrayList<>(batchSize);
+        Iterator<Path> iterator = pending.iterator();
+        while (iterator.hasNext() && claimed.size() < batchSize) {
+            Path file = iterator.next();
+            FileTime modified;
+            try {
+                modified = Files.getLastModifiedTime(file);
+            } catch (NoSuchFileException e) {
+                iterator.remove();
+                continue;
+            }
+            if (modified.toMillis() > settledBefore) {
+                continue;
+            }
+            Path target = processing.resolve(file.getFileName());
+            if (Files.exists(target)) {
+                // 같은 이름의 파일이 아직 처리 중이면 다음 주기에 다시 시도한다.
+                continue;
+            }
+            iterator.remove();
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                claimed.add(target);
+            } catch (NoSuchFileException e) {
+                // 다른 감시자가 먼저 가져갔다.
+            }
+        }
+        return claimed;
+    }
+
+    private void ingest(List<Path> claimed) {
+        // 메모리 매핑으로 읽지 않는다: 읽은 뒤 바로 옮기는데, Windows에서는 매핑이 남아 있는 파일의 이름을 바꿀 수 없다.
+        List<BatchPayload> payloads = claimed.stream()
+            .map(file -> new BatchPayload(file.getFileName().toString(), () -> Files.newInputStream(file)))
+            .toList();
+
+        List<BatchItemResult> results = null;
+        try {
+            results = batchIngestionService.ingest(payloads).getItems();
+        } catch (RuntimeException e) {
+            log.error("Inbox batch ingestion failed: {} files", claimed.size(), e);
+        }
+
+        // 한 파일을 옮기지 못해도 나머지 파일은 옮긴다.
+        for (int i = 0; i < claimed.size(); i++) {
+            Path file = claimed.get(i);
+            try {
+                if (results == null) {
+                    moveToFailed(file, ErrorCode.INTERNAL_SERVER_ERROR.name(),
+                        ErrorCode.INTERNAL_SERVER_ERROR.getMessage());
+                } else if (results.get(i).isSuccess()) {
+                    moveUnique(file, done);
+                    parsingMetrics.recordInboxFile(true);
+                } else {
+                    moveToFailed(file, results.get(i).getCode(), results.get(i).getMessage());
+                }
+            } catch (IOException e) {
+                // processing/에 남은 파일은 resume-interval-ms 뒤에 다시 처리된다. 저장된 문서는 중복으로 판정된다.
+                log.error("Inbox file move failed, left in {}: {}", processing, file.getFileName(), e);
+            }
+        }
+    }
+
+    private void moveToFailed(Path file, String code, String message) throws IOException {
+        Path moved = moveUnique(file, failed);
+        Files.writeString(moved.resolveSibling(moved.getFileName() + ERROR_SUFFIX),
+            code + ": " + message + System.lineSeparator(), StandardCharsets.UTF_8);
+        parsingMetrics.recordInboxFile(false);
+    }
+
+    // 같은 이름이 이미 있으면 이름 뒤에 번호를 붙인다 (같은 파일명으로 여러 번 들어온 경우).
+    // done/, failed/에는 감시 스레드만 옮겨 넣으므로 존재 확인 후 이동해도 경합이 없다.
+    private Path moveUnique(Path file, Path directory) throws IOException {
+        String name = file.getFileName().toString();
+        Path target = directory.resolve(name);
+        for (int attempt = 1; Files.exists(target); attempt++) {
+            target = directory.resolve(name + "." + attempt);
+        }
+        return Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Path> list(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && isCandidate(file.getFileName())) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    // 숨김 파일과 쓰는 중임을 나타내는 임시 파일(.tmp, .part)은 건너뛴다.
+    private boolean isCandidate(Path name) {
+        String fileName = name.toString();
+        return !fileName.startsWith(".") && !fileName.endsWith(".tmp") && !fileName.endsWith(".part");
+    }
+}
@@ -0,0 +1,40 @@
+package kr.co.reco.ocr.application;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+
+/**
+ * OCR 결과의 콘텐츠 해시 (전체 텍스트 + 신뢰도의 SHA-256, 16진수 64자).
+ * DB unique 컬럼의 키로 쓰이므로 충돌이 사실상 없는 해시를 사용한다.
+ */
+public final class OcrContentHash {
+
+    private OcrContentHash() {
+    }
+
+    public static String of(OcrResult ocrResult) {
+        if (ocrResult == null || ocrResult.getFullText() == null) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+
+        MessageDigest digest = sha256();
+        digest.update(ocrResult.getFullText().getBytes(StandardCharsets.UTF_8));
+        double confidence = ocrResult.getConfidence() == null ? Double.NaN : ocrResult.getConfidence();
+        digest.update(ByteBuffer.allocate(Double.BYTES).putDouble(confidence).array());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
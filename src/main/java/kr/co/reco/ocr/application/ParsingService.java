@@ -1,8 +1,18 @@
 package kr.co.reco.ocr.application;
 
+import java.util.List;
 import kr.co.reco.ocr.application.dto.OcrResult;
 import kr.co.reco.ocr.domain.WeightTicket;
 
 public interface ParsingService {
     WeightTicket parse(OcrResult ocrResult);
+
+    // 저장하지 않고 티켓만 생성 (일괄 저장 등 영속화를 호출자가 관리하는 경우)
+    WeightTicket createTicket(OcrResult ocrResult);
+
+    // 중복 검사에서 이미 계산한 콘텐츠 해시를 재사용
+    WeightTicket createTicket(OcrResult ocrResult, String contentHash);
+
+    // JDBC 배치 INSERT로 한 번에 저장하고 즉시 flush해 제약 조건 위반을 호출 시점에 드러낸다
+    List<WeightTicket> saveAll(List<WeightTicket> tickets);
 }
@@ -1,13 +1,21 @@
 package kr.co.reco.ocr.application;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.domain.FieldConfidence;
 import kr.co.reco.ocr.domain.WeightTicket;
 import kr.co.reco.ocr.domain.WeightTicketRepository;
 import kr.co.reco.ocr.global.error.CustomException;
 import kr.co.reco.ocr.global.error.ErrorCode;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics.Stage;
+import kr.co.reco.ocr.infrastructure.ocr.ExtractedFields;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutFields;
 import kr.co.reco.ocr.infrastructure.ocr.RegexExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplate;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplate.WeightRole;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplateRegistry;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplateRegistry.CompiledTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,37 +27,101 @@ public class ParsingServiceImpl implements ParsingService {
 
     private final WeightTicketRepository weightTicketRepository;
     private final RegexExtractor regexExtractor;
+    private final TicketTemplateRegistry templateRegistry;
+    private final ParsingMetrics parsingMetrics;
 
     @Override
     public WeightTicket parse(OcrResult ocrResult) {
+        WeightTicket ticket = createTicket(ocrResult);
+        long start = System.nanoTime();
+        WeightTicket saved = weightTicketRepository.save(ticket);
+        parsingMetrics.recordStage(Stage.SAVE, start);
+        parsingMetrics.recordTicket(saved);
+        return saved;
+    }
+
+    @Override
+    public WeightTicket createTicket(OcrResult ocrResult) {
+        return createTicket(ocrResult, OcrContentHash.of(ocrResult));
+    }
+
+    @Override
+    public WeightTicket createTicket(OcrResult ocrResult, String contentHash) {
 
         if (ocrResult == null || ocrResult.getFullText() == null) {
             throw new CustomException(ErrorCode.INVALID_INPUT);
         }
 
-        String text = ocrResult.getFullText();
+        long start = System.nanoTime();
+        // 양식을 먼저 골라, 그 양식의 라벨 표기까지 포함한 사전으로 추출한다.
+        CompiledTemplate template = templateRegistry.resolve(ocrResult.getFullText());
+        ExtractedFields fields = regexExtractor.extract(ocrResult.getFullText(), template.labels());
+        parsingMetrics.recordStage(Stage.EXTRACT, start);
 
-        List<Double> weights = regexExtractor.extractWeights(text);
-        if (weights.size() < 2) {
-            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        // layout 모드: 라벨로 찾은 값을 우선하고, 찾지 못한 필드는 텍스트 추출 결과를 쓴다.
+        LayoutFields layout = ocrResult.getLayoutFields();
+        String carNumber = layout != null && layout.carNumber() != null ? layout.carNumber() : fields.carNumber();
+
+        WeightValues weightValues;
+        boolean layoutWeights = layout != null && layout.weightCount() >= 2;
+        if (layoutWeights) {
+            weightValues = resolveWeightValues(layout);
+        } else if (fields.labeledWeightCount() >= 2) {
+            // 텍스트에서 라벨로 역할이 확인된 중량이 두 개 이상이면 나타난 순서 대신 라벨을 따른다.
+            weightValues = completeWeightValues(fields.grossWeight(), fields.tareWeight(), fields.netWeight());
+        } else {
+            List<Double> weights = fields.weights();
+            if (weights.size() < 2) {
+                throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+            }
+            weightValues = resolveWeightValues(weights, template.template());
         }
 
-        String carNumber = regexExtractor.extractCarNumber(text);
-        LocalDateTime scaledAt = regexExtractor.extractScaledAt(text);
-        WeightValues weightValues = resolveWeightValues(weights);
-        WeightTicket ticket = WeightTicket.create(
+        return WeightTicket.create(
             carNumber,
             weightValues.grossWeight(),
             weightValues.tareWeight(),
             weightValues.netWeight(),
-            scaledAt,
-            ocrResult.getConfidence()
+            fields.scaledAt(),
+            ocrResult.getConfidence(),
+            contentHash,
+            layout == null ? null : fieldConfidence(layout, layoutWeights)
         );
+    }
+
+    // 라벨로 찾은 필드만 단어 신뢰도를 갖는다. 계산으로 채운 중량은 계산에 쓴 두 중량 중 낮은 신뢰도를 따른다.
+    private FieldConfidence fieldConfidence(LayoutFields layout, boolean layoutWeights) {
+        FieldConfidence found = layout.confidence();
+        FieldConfidence.FieldConfidenceBuilder builder = FieldConfidence.builder()
+            .carNumberConfidence(layout.carNumber() != null ? found.getCarNumberConfidence() : null)
+            .scaledAtConfidence(found.getScaledAtConfidence());
+        if (layoutWeights) {
+            Double gross = found.getGrossWeightConfidence();
+            Double tare = found.getTareWeightConfidence();
+            Double net = found.getNetWeightConfidence();
+            builder.grossWeightConfidence(layout.grossWeight() != null ? gross : FieldConfidence.min(tare, net))
+                .tareWeightConfidence(layout.tareWeight() != null ? tare : FieldConfidence.min(gross, net))
+                .netWeightConfidence(layout.netWeight() != null ? net : FieldConfidence.min(gross, tare));
+        }
+        return builder.build();
+    }
 
-        return weightTicketRepository.save(ticket);
+    @Override
+    public List<WeightTicket> saveAll(List<WeightTicket> tickets) {
+        // 티켓/검토 사유 카운트는 저장에 성공한 건만 센다 (청크 재시도 시 중복 집계 방지).
+        long start = System.nanoTime();
+        List<WeightTicket> saved = weightTicketRepository.saveAllAndFlush(tickets);
+        parsingMetrics.recordStage(Stage.SAVE, start);
+        saved.forEach(parsingMetrics::recordTicket);
+        return saved;
     }
 
-    private WeightValues resolveWeightValues(List<Double> weights) {
+    private WeightValues resolveWeightValues(List<Double> weights, TicketTemplate template) {
+        WeightValues byTemplate = template.hasWeightOrder() ? resolveByWeightOrder(weights, template) : null;
+        if (byTemplate != null) {
+            return byTemplate;
+        }
+
         double gross = 0.0;
         double tare = 0.0;
         double net = 0.0;
@@ -66,5 +138,33 @@ public class ParsingServiceImpl implements ParsingService {
         return new WeightValues(gross, tare, net);
     }
 
+    // 양식의 중량 순서대로 역할을 붙인다. 두 개 이상 채우지 못하면 null을 반환해 기본 규칙을 쓰게 한다.
+    private WeightValues resolveByWeightOrder(List<Double> weights, TicketTemplate template) {
+        Double gross = null;
+        Double tare = null;
+        Double net = null;
+        int count = Math.min(weights.size(), template.weightOrder().size());
+        for (int i = 0; i < count; i++) {
+            WeightRole role = template.weightOrder().get(i);
+            if (role == WeightRole.GROSS && gross == null) gross = weights.get(i);
+            else if (role == WeightRole.TARE && tare == null) tare = weights.get(i);
+            else if (role == WeightRole.NET && net == null) net = weights.get(i);
+        }
+        int assigned = (gross != null ? 1 : 0) + (tare != null ? 1 : 0) + (net != null ? 1 : 0);
+        return assigned >= 2 ? completeWeightValues(gross, tare, net) : null;
+    }
+
+    // 라벨로 찾은 중량 중 빠진 하나는 총중량 - 공차중량 = 실중량으로 채운다.
+    private WeightValues resolveWeightValues(LayoutFields layout) {
+        return completeWeightValues(layout.grossWeight(), layout.tareWeight(), layout.netWeight());
+    }
+
+    private WeightValues completeWeightValues(Double gross, Double tare, Double net) {
+        if (gross == null) gross = tare + net;
+        else if (tare == null) tare = gross - net;
+        else if (net == null) net = gross - tare;
+        return new WeightValues(gross, tare, net);
+    }
+
     private record WeightValues(double grossWeight, double tareWeight, double netWeight) {}
 }
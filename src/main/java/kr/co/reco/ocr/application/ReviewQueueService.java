@@ -0,0 +1,183 @@
+package kr.co.reco.ocr.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import kr.co.reco.ocr.application.dto.ReviewClaim;
+import kr.co.reco.ocr.domain.ReviewTask;
+import kr.co.reco.ocr.domain.ReviewTaskQueryRepository;
+import kr.co.reco.ocr.domain.ReviewTaskRepository;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import kr.co.reco.ocr.domain.WeightTicketReviewResolvedEvent;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * 검토 대기열. 검토자는 대기열 앞에서 티켓 몇 건을 임대(lease) 방식으로 할당받고, 검토를 마치면 완료 처리한다.
+ * <ul>
+ *     <li>할당: 할당 가능한 항목을 읽은 뒤 조건부 UPDATE로 가져온다. 동시에 할당받는 검토자끼리는 같은 항목을 받지 않으며,
+ *         다른 검토자가 먼저 가져간 만큼은 다음 항목으로 채운다.</li>
+ *     <li>임대가 만료되면(검토자가 사라진 경우 등) 다른 검토자가 다시 할당받을 수 있다.</li>
+ *     <li>완료: 대기열에서 제거하고 티켓의 needsReview를 해제한다. 다른 검토자가 임대 중이면 거절한다.</li>
+ *     <li>시작 시 대기열 없이 저장된 검토 대상 티켓(대기열 도입 이전 데이터)을 대기열에 채운다.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ReviewQueueService {
+
+    // 다른 검토자에게 밀려 덜 채워진 경우 다시 시도하는 횟수
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final ReviewTaskRepository reviewTaskRepository;
+    private final ReviewTaskQueryRepository reviewTaskQueryRepository;
+    private final WeightTicketRepository weightTicketRepository;
+    private final WeightTicketQueryRepository weightTicketQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lease;
+    private final int defaultClaimSize;
+    private final int maxClaimSize;
+
+    public ReviewQueueService(ReviewTaskRepository reviewTaskRepository,
+        ReviewTaskQueryRepository reviewTaskQueryRepository,
+        WeightTicketRepository weightTicketRepository,
+        WeightTicketQueryRepository weightTicketQueryRepository,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${app.review.lease-ms:300000}") long leaseMillis,
+        @Value("${app.review.default-claim-size:10}") int defaultClaimSize,
+        @Value("${app.review.max-claim-size:50}") int maxClaimSize) {
+        this.reviewTaskRepository = reviewTaskRepository;
+        this.reviewTaskQueryRepository = reviewTaskQueryRepository;
+        this.weightTicketRepository = weightTicketRepository;
+        this.weightTicketQueryRepository = weightTicketQueryRepository;
+        this.eventPublisher = eventPublisher;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.defaultClaimSize = defaultClaimSize;
+        this.maxClaimSize = maxClaimSize;
+    }
+
+    /**
+     * 검토가 필요한 티켓을 저장하는 트랜잭션 안에서 대기열에 넣는다. 티켓과 대기열 항목은 함께 커밋/롤백된다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSaved(WeightTicketSavedEvent event) {
+        List<ReviewTask> tasks = event.tickets().stream()
+            .filter(WeightTicket::isNeedsReview)
+            .map(ReviewTask::of)
+            .toList();
+        if (!tasks.isEmpty()) {
+            reviewTaskRepository.saveAll(tasks);
+        }
+    }
+
+    /**
+     * needsReview인데 대기열에 없는 티켓을 대기열에 넣고, 넣은 건수를 반환한다.
+     * 이미 대기 중인 티켓은 건너뛰므로 재시작마다 실행해도 결과가 같다.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        int inserted = reviewTaskQueryRepository.backfill();
+        if (inserted > 0) {
+            log.info("Backfilled {} review tasks", inserted);
+        }
+        return inserted;
+    }
+
+    /**
+     * 대기열 앞(오래된 순)에서 최대 size건을 reviewer에게 할당한다. 할당 가능한 항목이 없으면 빈 목록을 반환한다.
+     */
+    @Transactional
+    public ReviewClaim claim(String reviewer, Integer size) {
+        requireReviewer(reviewer);
+        int limit = resolveClaimSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claimedUntil = now.plus(lease);
+        String claimToken = UUID.randomUUID().toString();
+
+        List<Long> attempted = new ArrayList<>();
+        long claimed = 0;
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS && claimed < limit; attempt++) {
+            List<Long> candidates = reviewTaskQueryRepository.findClaimableIds(now, (int) (limit - claimed));
+            if (candidates.isEmpty()) break;
+            attempted.addAll(candidates);
+            claimed += reviewTaskQueryRepository.claim(candidates, reviewer, claimToken, claimedUntil, now);
+        }
+
+        List<ReviewTask> tasks = claimed == 0 ? List.of()
+            : reviewTaskQueryRepository.findClaimed(attempted, claimToken);
+        return ReviewClaim.builder()
+            .reviewer(reviewer)
+            .claimedUntil(claimedUntil)
+            .tickets(ticketsOf(tasks))
+            .build();
+    }
+
+    /**
+     * 검토 완료. 대기열에서 제거하고 needsReview를 해제한 티켓을 반환한다.
+     * 대기 중이 아니면 REVIEW_TASK_NOT_FOUND, 다른 검토자가 임대 중이면 REVIEW_TASK_CLAIMED.
+     */
+    @Transactional
+    public WeightTicket resolve(Long ticketId, String reviewer) {
+        requireReviewer(reviewer);
+        if (reviewTaskQueryRepository.deleteResolvable(ticketId, reviewer, LocalDateTime.now()) == 0) {
+            throw new CustomException(reviewTaskRepository.findByTicketId(ticketId).isPresent()
+                ? ErrorCode.REVIEW_TASK_CLAIMED : ErrorCode.REVIEW_TASK_NOT_FOUND);
+        }
+        WeightTicket ticket = weightTicketRepository.findById(ticketId)
+            .orElseThrow(() -> new CustomException(ErrorCode.TICKET_NOT_FOUND));
+        ticket.resolveReview();
+        eventPublisher.publishEvent(WeightTicketReviewResolvedEvent.of(ticket));
+        return ticket;
+    }
+
+    // 대기열 순서대로 티켓을 돌려준다. 티켓이 이미 삭제된 항목은 대기열에서도 지운다.
+    private List<WeightTicket> ticketsOf(List<ReviewTask> tasks) {
+        if (tasks.isEmpty()) return List.of();
+        List<WeightTicket> loaded = weightTicketQueryRepository.findAllInOrder(
+            tasks.stream().map(ReviewTask::getTicketId).toList());
+
+        List<WeightTicket> tickets = new ArrayList<>(tasks.size());
+        List<Long> orphans = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            WeightTicket ticket = loaded.get(i);
+            if (ticket == null) {
+                orphans.add(tasks.get(i).getId());
+            } else {
+                tickets.add(ticket);
+            }
+        }
+        if (!orphans.isEmpty()) {
+            log.warn("Removing {} review tasks whose tickets no longer exist", orphans.size());
+            reviewTaskQueryRepository.deleteByIds(orphans);
+        }
+        return tickets;
+    }
+
+    private static void requireReviewer(String reviewer) {
+        if (!StringUtils.hasText(reviewer)) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    private int resolveClaimSize(Integer size) {
+        if (size == null) return defaultClaimSize;
+        if (size < 1) throw new CustomException(ErrorCode.INVALID_INPUT);
+        return Math.min(size, maxClaimSize);
+    }
+}
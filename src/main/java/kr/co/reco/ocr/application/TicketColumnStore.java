@@ -0,0 +1,332 @@
+package kr.co.reco.ocr.application;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import kr.co.reco.ocr.domain.WeightTicketReviewResolvedEvent;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * 대시보드 집계(차량별/일자별 건수, 중량 합계, 평균, 검토 비율)를 위한 인메모리 컬럼 저장소.
+ * <ul>
+ *     <li>티켓을 엔티티로 읽지 않고 컬럼별 원시 배열(계량 일시 epoch 초, 총/공차/실중량 double, 검토 여부)로 보관한다.
+ *         차량번호와 계량 일자는 사전 인코딩한 int 코드로 저장하고, 집계는 배열을 한 번 순회하며 코드 위치에 더한다.</li>
+ *     <li>기동 시 DB의 티켓을 한 번 적재하고, 이후에는 커밋된 저장 이벤트(AFTER_COMMIT)로만 추가한다.</li>
+ *     <li>추가는 한 번에 한 스레드만 하고, 조회는 잠금 없이 마지막으로 공개된 스냅샷의 size까지만 읽는다.
+ *         배열이 가득 차면 복사본으로 교체하므로 이전 스냅샷은 계속 유효하다.</li>
+ * </ul>
+ * 티켓의 변경은 검토 완료(needsReview 해제)만 반영한다. 이를 위해 검토 대상 행만 티켓 ID -> 행 위치로 기억한다.
+ * 행당 약 41바이트를 힙에 사용한다.
+ */
+@Slf4j
+@Component
+public class TicketColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NO_SCALED_AT = Long.MIN_VALUE;
+    private static final int NO_DAY = -1;
+
+    private final WeightTicketQueryRepository queryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int loadFetchSize;
+
+    // 아래 필드는 appendLock을 잡은 스레드만 변경한다.
+    private final Object appendLock = new Object();
+    private final Map<String, Integer> carCodes = new HashMap<>();
+    private final Map<Long, Integer> dayCodes = new HashMap<>();
+    private final Map<Long, Integer> reviewRows = new HashMap<>();   // 검토 대상 티켓 ID -> 행
+    private long[] scaledAt = new long[INITIAL_CAPACITY];
+    private double[] gross = new double[INITIAL_CAPACITY];
+    private double[] tare = new double[INITIAL_CAPACITY];
+    private double[] net = new double[INITIAL_CAPACITY];
+    private int[] cars = new int[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private boolean[] needsReview = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private CarDictionary carDictionary = new CarDictionary(INITIAL_CAPACITY);
+    private long[] epochDays = new long[INITIAL_CAPACITY];
+
+    private volatile Snapshot snapshot = publishSnapshot();
+
+    public TicketColumnStore(WeightTicketQueryRepository queryRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.search.stream-fetch-size:500}") int loadFetchSize) {
+        this.queryRepository = queryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.loadFetchSize = loadFetchSize;
+    }
+
+    /**
+     * 웹 서버와 inbox 감시가 시작되기 전에 적재하므로, 적재 중에 저장 이벤트가 끼어들어 같은 티켓이 두 번 들어가지 않는다.
+     */
+    @PostConstruct
+    public void load() {
+        synchronized (appendLock) {
+            readOnlyTransaction.executeWithoutResult(status -> queryRepository.forEach(
+                new WeightTicketSearchRequest(), loadFetchSize,
+                row -> append(row.id(), row.carNumber(), row.scaledAt(), row.grossWeight(), row.tareWeight(),
+                    row.netWeight(), row.needsReview())));
+            snapshot = publishSnapshot();
+        }
+        log.info("Ticket column store loaded: {} rows", size);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSaved(WeightTicketSavedEvent event) {
+        synchronized (appendLock) {
+            for (WeightTicket ticket : event.tickets()) {
+                append(ticket.getId(), ticket.getCarNumber(), ticket.getScaledAt(), ticket.getGrossWeight(),
+                    ticket.getTareWeight(), ticket.getNetWeight(), ticket.isNeedsReview());
+            }
+            snapshot = publishSnapshot();
+        }
+    }
+
+    /**
+     * 검토 완료된 행의 검토 여부를 제자리에서 해제하고 스냅샷을 다시 공개해 이후 조회에 보이게 한다.
+     * 이미 집계 중인 조회는 그 행의 이전 값 또는 새 값 중 하나를 읽는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReviewResolved(WeightTicketReviewResolvedEvent event) {
+        synchronized (appendLock) {
+            for (WeightTicket ticket : event.tickets()) {
+                Integer row = reviewRows.remove(ticket.getId());
+                if (row != null) {
+                    needsReview[row] = false;
+                }
+            }
+            snapshot = publishSnapshot();
+        }
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * 차량번호별 집계. 조회 API와 같은 조건(차량번호, 검토 여부, 계량 기간)을 적용하며 키 순으로 정렬한다.
+     */
+    public List<TicketAggregate> aggregateByCar(WeightTicketSearchRequest condition) {
+        Snapshot view = snapshot;
+        return aggregate(view, condition, view.cars(), view.carDictionary().count(),
+            code -> view.carDictionary().names()[code]);
+    }
+
+    /**
+     * 계량 일자별 집계. 계량 일시가 없는 티켓은 제외한다.
+     */
+    public List<TicketAggregate> aggregateByDay(WeightTicketSearchRequest condition) {
+        Snapshot view = snapshot;
+        return aggregate(view, condition, view.days(), view.dayCount(),
+            code -> LocalDate.ofEpochDay(view.epochDays()[code]).toString());
+    }
+
+    private List<TicketAggregate> aggregate(Snapshot view, WeightTicketSearchRequest condition, int[] groups,
+        int groupCount, IntFunction<String> keyOf) {
+        // 기간 조건이 하나라도 있으면 계량 일시가 없는 티켓은 제외한다. (SQL의 between/goe/loe와 같음)
+        boolean ranged = condition.getStart() != null || condition.getEnd() != null;
+        long from = condition.getStart() == null ? (ranged ? NO_SCALED_AT + 1 : NO_SCALED_AT)
+            : epochSecond(condition.getStart());
+        long to = condition.getEnd() == null ? Long.MAX_VALUE : epochSecond(condition.getEnd());
+        boolean[] carFilter = view.carDictionary().matching(condition.getCarNumber());
+        boolean reviewFiltered = condition.getNeedsReview() != null;
+        boolean reviewWanted = reviewFiltered && condition.getNeedsReview();
+
+        long[] counts = new long[groupCount];
+        long[] netCounts = new long[groupCount];
+        long[] reviewCounts = new long[groupCount];
+        double[] grossSums = new double[groupCount];
+        double[] tareSums = new double[groupCount];
+        double[] netSums = new double[groupCount];
+
+        long[] scaledAtColumn = view.scaledAt();
+        double[] grossColumn = view.gross();
+        double[] tareColumn = view.tare();
+        double[] netColumn = view.net();
+        int[] carColumn = view.cars();
+        boolean[] reviewColumn = view.needsReview();
+        for (int i = 0, n = view.size(); i < n; i++) {
+            long time = scaledAtColumn[i];
+            if (time < from || time > to) continue;
+            if (carFilter != null && !carFilter[carColumn[i]]) continue;
+            if (reviewFiltered && reviewColumn[i] != reviewWanted) continue;
+            int group = groups[i];
+            if (group == NO_DAY) continue;
+
+            counts[group]++;
+            if (reviewColumn[i]) reviewCounts[group]++;
+            grossSums[group] += orZero(grossColumn[i]);
+            tareSums[group] += orZero(tareColumn[i]);
+            double netWeight = netColumn[i];
+            if (!Double.isNaN(netWeight)) {
+                netSums[group] += netWeight;
+                netCounts[group]++;
+            }
+        }
+
+        List<TicketAggregate> aggregates = new ArrayList<>();
+        for (int group = 0; group < groupCount; group++) {
+            if (counts[group] == 0) continue;
+            aggregates.add(TicketAggregate.builder()
+                .key(keyOf.apply(group))
+                .count(counts[group])
+                .grossSum(grossSums[group])
+                .tareSum(tareSums[group])
+                .netSum(netSums[group])
+                .netAvg(netCounts[group] == 0 ? null : netSums[group] / netCounts[group])
+                .reviewCount(reviewCounts[group])
+                .reviewRatio((double) reviewCounts[group] / counts[group])
+                .build());
+        }
+        aggregates.sort(Comparator.comparing(TicketAggregate::getKey, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return aggregates;
+    }
+
+    private void append(Long id, String carNumber, LocalDateTime scaledAtValue, Double grossWeight, Double tareWeight,
+        Double netWeight, boolean review) {
+        if (size == scaledAt.length) {
+            grow();
+        }
+        scaledAt[size] = scaledAtValue == null ? NO_SCALED_AT : epochSecond(scaledAtValue);
+        gross[size] = orNaN(grossWeight);
+        tare[size] = orNaN(tareWeight);
+        net[size] = orNaN(netWeight);
+        cars[size] = carCode(carNumber);
+        days[size] = scaledAtValue == null ? NO_DAY : dayCode(scaledAtValue.toLocalDate().toEpochDay());
+        needsReview[size] = review;
+        if (review) {
+            reviewRows.put(id, size);
+        }
+        size++;
+    }
+
+    private int carCode(String carNumber) {
+        Integer code = carCodes.get(carNumber);
+        if (code == null) {
+            code = carCodes.size();
+            carCodes.put(carNumber, code);
+            carDictionary = carDictionary.add(code, carNumber);
+        }
+        return code;
+    }
+
+    private int dayCode(long epochDay) {
+        Integer code = dayCodes.get(epochDay);
+        if (code == null) {
+            code = dayCodes.size();
+            dayCodes.put(epochDay, code);
+            if (code == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, code * 2);
+            }
+            epochDays[code] = epochDay;
+        }
+        return code;
+    }
+
+    private void grow() {
+        int capacity = scaledAt.length * 2;
+        scaledAt = Arrays.copyOf(scaledAt, capacity);
+        gross = Arrays.copyOf(gross, capacity);
+        tare = Arrays.copyOf(tare, capacity);
+        net = Arrays.copyOf(net, capacity);
+        cars = Arrays.copyOf(cars, capacity);
+        days = Arrays.copyOf(days, capacity);
+        needsReview = Arrays.copyOf(needsReview, capacity);
+    }
+
+    private Snapshot publishSnapshot() {
+        return new Snapshot(scaledAt, gross, tare, net, cars, days, needsReview, size,
+            carDictionary, epochDays, dayCodes.size());
+    }
+
+    // LocalDateTime을 시간대 변환 없이 그대로 초 단위로 옮긴다. 일자 경계도 계량 일시의 달력 일자와 같다.
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static double orZero(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    /**
+     * 조회 스레드가 보는 시점의 컬럼. 배열은 size(사전은 count) 이후 위치만 계속 채워지므로 공유해도 된다.
+     * 예외는 검토 완료로 false가 되는 needsReview 값뿐이다.
+     */
+    private record Snapshot(long[] scaledAt, double[] gross, double[] tare, double[] net, int[] cars, int[] days,
+        boolean[] needsReview, int size, CarDictionary carDictionary, long[] epochDays, int dayCount) {
+    }
+
+    /**
+     * 코드 -> 차량번호 사전. 차량번호 검색 조건을 행마다 평가하지 않도록 정규화/뒷자리 값을 미리 계산해 둔다.
+     * add()는 새 항목을 반영한 사전을 반환하며, 이전 사전의 count 범위는 바뀌지 않는다.
+     */
+    private record CarDictionary(String[] names, String[] normalized, String[] tails, int count) {
+
+        CarDictionary(int capacity) {
+            this(new String[capacity], new String[capacity], new String[capacity], 0);
+        }
+
+        CarDictionary add(int code, String carNumber) {
+            String[] nextNames = names;
+            String[] nextNormalized = normalized;
+            String[] nextTails = tails;
+            if (code == names.length) {
+                nextNames = Arrays.copyOf(names, code * 2);
+                nextNormalized = Arrays.copyOf(normalized, code * 2);
+                nextTails = Arrays.copyOf(tails, code * 2);
+            }
+            String normalizedCarNumber = WeightTicket.normalizeCarNumber(carNumber);
+            nextNames[code] = carNumber;
+            nextNormalized[code] = normalizedCarNumber;
+            nextTails[code] = WeightTicket.carNumberTail(normalizedCarNumber);
+            return new CarDictionary(nextNames, nextNormalized, nextTails, code + 1);
+        }
+
+        /**
+         * WeightTicketQueryRepository의 차량번호 조건과 같은 규칙(숫자 4자리는 뒷자리 일치, 그 외에는 정규화 앞자리 일치)으로
+         * 일치하는 코드를 표시한다. 조건이 없으면 null.
+         */
+        boolean[] matching(String carNumber) {
+            if (!StringUtils.hasText(carNumber)) return null;
+
+            String query = WeightTicket.normalizeCarNumber(carNumber);
+            boolean tailQuery = query.length() == WeightTicket.TAIL_LENGTH && query.chars().allMatch(Character::isDigit);
+            boolean[] matches = new boolean[count];
+            for (int code = 0; code < count; code++) {
+                if (query.isEmpty()) {
+                    matches[code] = carNumber.trim().equals(names[code]);
+                } else if (tailQuery) {
+                    matches[code] = query.equals(tails[code]);
+                } else {
+                    matches[code] = normalized[code] != null && normalized[code].startsWith(query);
+                }
+            }
+            return matches;
+        }
+    }
+}
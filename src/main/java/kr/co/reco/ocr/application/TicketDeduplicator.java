@@ -0,0 +1,82 @@
+package kr.co.reco.ocr.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import kr.co.reco.ocr.application.dto.DedupStats;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 같은 OCR 결과의 재업로드를 파싱/저장 없이 기존 티켓으로 돌려준다.
+ * 콘텐츠 해시 -> 티켓 ID를 크기 제한 메모리 캐시(Caffeine)에서 먼저 찾고, 없으면 content_hash unique 인덱스로 조회한다.
+ * 캐시는 커밋된 티켓만 담으며, 이후 삭제된 티켓을 가리키는 항목은 조회 시 버린다.
+ */
+@Component
+public class TicketDeduplicator {
+
+    private final WeightTicketRepository weightTicketRepository;
+    private final Cache<String, Long> ticketIdsByHash;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TicketDeduplicator(WeightTicketRepository weightTicketRepository,
+        @Value("${app.dedup.cache-size:10000}") long cacheSize) {
+        this.weightTicketRepository = weightTicketRepository;
+        this.ticketIdsByHash = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<WeightTicket> findExisting(String contentHash) {
+        Long cachedId = ticketIdsByHash.getIfPresent(contentHash);
+        if (cachedId != null) {
+            Optional<WeightTicket> cached = weightTicketRepository.findById(cachedId);
+            if (cached.isPresent()) {
+                cacheHits.increment();
+                return cached;
+            }
+            ticketIdsByHash.invalidate(contentHash);
+        }
+
+        Optional<WeightTicket> stored = weightTicketRepository.findByContentHash(contentHash);
+        if (stored.isPresent()) {
+            storeHits.increment();
+            ticketIdsByHash.put(contentHash, stored.get().getId());
+        } else {
+            misses.increment();
+        }
+        return stored;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSaved(WeightTicketSavedEvent event) {
+        for (WeightTicket ticket : event.tickets()) {
+            if (ticket.getContentHash() != null) {
+                ticketIdsByHash.put(ticket.getContentHash(), ticket.getId());
+            }
+        }
+    }
+
+    public DedupStats stats() {
+        long hits = cacheHits.sum() + storeHits.sum();
+        long total = hits + misses.sum();
+        return DedupStats.builder()
+            .cacheHits(cacheHits.sum())
+            .storeHits(storeHits.sum())
+            .misses(misses.sum())
+            .hitRate(total == 0 ? 0.0 : (double) hits / total)
+            .cacheSize(ticketIdsByHash.estimatedSize())
+            .evictions(ticketIdsByHash.stats().evictionCount())
+            .build();
+    }
+}
@@ -0,0 +1,158 @@
+package kr.co.reco.ocr.application;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.TicketCursor;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketReviewResolvedEvent;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * 목록 조회 페이지 캐시. 정규화한 조회 조건(차량번호, 검토 여부, 기간, 커서, 크기)을 키로 결과 페이지를 보관한다.
+ * <ul>
+ *     <li>같은 키의 동시 조회는 먼저 온 요청 하나만 DB를 조회하고 나머지는 그 결과를 기다린다.</li>
+ *     <li>티켓이 커밋되면 그 티켓이 조건에 맞고 커서 뒤에 정렬되는(즉 결과가 바뀌는) 페이지만 무효화한다.
+ *         검토 완료된 티켓은 검토 여부 조건과 관계없이 (검토 대상 목록에서 빠지고 다른 목록에서는 내용이 바뀌므로) 무효화한다.
+ *         조회 중인 항목도 맵에 먼저 들어가 있으므로 함께 제거되어, 커밋 전에 읽은 결과가 남지 않는다.</li>
+ *     <li>max-entries개를 넘으면 오래 쓰지 않은 항목부터, ttl이 지나면 무효화 여부와 관계없이 제거한다.</li>
+ * </ul>
+ * 메트릭: cache.gets/puts/evictions (cache=ticketSearch)
+ */
+@Component
+public class TicketSearchCache {
+
+    private final AsyncCache<Key, CursorPage<WeightTicketResponse>> pages;
+
+    public TicketSearchCache(MeterRegistry meterRegistry,
+        @Value("${app.search.cache.max-entries:1000}") long maxEntries,
+        @Value("${app.search.cache.ttl-ms:60000}") long ttlMillis) {
+        this.pages = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofMillis(ttlMillis))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "ticketSearch");
+    }
+
+    /**
+     * 캐시된 페이지를 반환하고, 없으면 호출 스레드에서 loader로 조회해 저장한다.
+     */
+    public CursorPage<WeightTicketResponse> get(WeightTicketSearchRequest condition, TicketCursor cursor, int size,
+        Supplier<CursorPage<WeightTicketResponse>> loader) {
+        CompletableFuture<CursorPage<WeightTicketResponse>> loading = new CompletableFuture<>();
+        CompletableFuture<CursorPage<WeightTicketResponse>> page = pages.get(Key.of(condition, cursor, size),
+            (key, executor) -> loading);
+        if (page == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (RuntimeException e) {
+                // 실패한 조회는 캐시에서 자동으로 제거된다.
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSaved(WeightTicketSavedEvent event) {
+        List<WeightTicket> tickets = event.tickets();
+        pages.asMap().keySet().removeIf(key -> tickets.stream().anyMatch(key::affectedBy));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReviewResolved(WeightTicketReviewResolvedEvent event) {
+        List<WeightTicket> tickets = event.tickets();
+        pages.asMap().keySet().removeIf(key -> tickets.stream().anyMatch(key::containsPosition));
+    }
+
+    public long size() {
+        return pages.synchronous().estimatedSize();
+    }
+
+    /**
+     * 캐시 키. 차량번호는 조회 조건과 같은 규칙으로 정규화한다: 공백이면 null, 숫자/한글이 없으면 trim한 원문(정확히 일치),
+     * 그 외에는 숫자/한글만 남긴 값("80구 8713"과 "80구8713"은 같은 키).
+     */
+    record Key(String carNumber, Boolean needsReview, LocalDateTime start, LocalDateTime end, TicketCursor cursor,
+        int size) {
+
+        static Key of(WeightTicketSearchRequest condition, TicketCursor cursor, int size) {
+            return new Key(normalizeCarQuery(condition.getCarNumber()), condition.getNeedsReview(),
+                condition.getStart(), condition.getEnd(), cursor, size);
+        }
+
+        private static String normalizeCarQuery(String carNumber) {
+            if (!StringUtils.hasText(carNumber)) return null;
+            String normalized = WeightTicket.normalizeCarNumber(carNumber);
+            return normalized.isEmpty() ? carNumber.trim() : normalized;
+        }
+
+        /**
+         * 새 티켓이 이 페이지의 결과(내용 또는 hasNext)를 바꾸는지. 조건에 맞고 커서 뒤에 정렬되는 경우다.
+         */
+        boolean affectedBy(WeightTicket ticket) {
+            return (needsReview == null || needsReview == ticket.isNeedsReview()) && containsPosition(ticket);
+        }
+
+        /**
+         * 검토 여부를 빼고 보았을 때 티켓이 이 페이지 또는 그 앞쪽 결과에 들어갈 수 있는지. 검토 여부가 바뀐 티켓에 쓴다.
+         */
+        boolean containsPosition(WeightTicket ticket) {
+            return matchesCarNumber(ticket.getCarNumber())
+                && inRange(ticket.getScaledAt())
+                && sortsAfterCursor(ticket);
+        }
+
+        // WeightTicketQueryRepository의 차량번호 조건과 같다: 숫자 4자리는 뒷자리 일치, 그 외에는 앞자리 일치
+        private boolean matchesCarNumber(String ticketCarNumber) {
+            if (carNumber == null) return true;
+            String normalized = WeightTicket.normalizeCarNumber(ticketCarNumber);
+            if (WeightTicket.normalizeCarNumber(carNumber).isEmpty()) {
+                return carNumber.equals(ticketCarNumber);
+            }
+            if (carNumber.length() == WeightTicket.TAIL_LENGTH && carNumber.chars().allMatch(Character::isDigit)) {
+                return carNumber.equals(WeightTicket.carNumberTail(normalized));
+            }
+            return normalized != null && normalized.startsWith(carNumber);
+        }
+
+        private boolean inRange(LocalDateTime scaledAt) {
+            if (start == null && end == null) return true;
+            if (scaledAt == null) return false;
+            return (start == null || !scaledAt.isBefore(start)) && (end == null || !scaledAt.isAfter(end));
+        }
+
+        // (scaledAt desc nulls last, id desc) 순서에서 커서보다 뒤인지
+        private boolean sortsAfterCursor(WeightTicket ticket) {
+            if (cursor == null) return true;
+            LocalDateTime scaledAt = ticket.getScaledAt();
+            if (cursor.scaledAt() == null) {
+                return scaledAt == null && ticket.getId() < cursor.id();
+            }
+            return scaledAt == null
+                || scaledAt.isBefore(cursor.scaledAt())
+                || (scaledAt.isEqual(cursor.scaledAt()) && ticket.getId() < cursor.id());
+        }
+    }
+}
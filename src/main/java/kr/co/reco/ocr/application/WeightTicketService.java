@@ -1,32 +1,141 @@
 package kr.co.reco.ocr.application;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import kr.co.reco.ocr.application.dto.AggregateGroup;
+import kr.co.reco.ocr.application.dto.CursorPage;
 import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.TicketCursor;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
 import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
 import kr.co.reco.ocr.domain.WeightTicket;
 import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
-import kr.co.reco.ocr.infrastructure.exporter.FileExporter;
-import lombok.RequiredArgsConstructor;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@RequiredArgsConstructor
 public class WeightTicketService {
 
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     private final WeightTicketQueryRepository queryRepository;
     private final ParsingService parsingService;
-    private final FileExporter fileExporter;
+    private final TicketDeduplicator ticketDeduplicator;
+    private final TicketSearchCache searchCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int streamFetchSize;
+
+    public WeightTicketService(WeightTicketQueryRepository queryRepository,
+        ParsingService parsingService,
+        TicketDeduplicator ticketDeduplicator,
+        TicketSearchCache searchCache,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        @Value("${app.search.default-page-size:20}") int defaultPageSize,
+        @Value("${app.search.max-page-size:100}") int maxPageSize,
+        @Value("${app.search.stream-fetch-size:500}") int streamFetchSize) {
+        this.queryRepository = queryRepository;
+        this.parsingService = parsingService;
+        this.ticketDeduplicator = ticketDeduplicator;
+        this.searchCache = searchCache;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 스트림 중간에 응답 OutputStream이 닫히지 않도록 한다.
+        this.ndjsonWriter = objectMapper.writerFor(WeightTicketResponse.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
+    }
 
-    @Transactional
+    /**
+     * 이미 저장된 문서(같은 콘텐츠 해시)면 파싱과 저장 없이 기존 티켓을 반환한다.
+     * 같은 문서가 동시에 올라와 다른 요청이 먼저 커밋하면 content_hash unique 제약 위반으로 커밋이 실패하므로,
+     * 트랜잭션 밖에서 다시 조회해 먼저 저장된 티켓을 반환한다.
+     */
     public WeightTicket parseAndSave(OcrResult ocrResult) {
-        WeightTicket savedTicket = parsingService.parse(ocrResult);
-        fileExporter.export(savedTicket);
+        String contentHash = OcrContentHash.of(ocrResult);
+        try {
+            return transaction.execute(status -> saveUnlessDuplicate(ocrResult, contentHash));
+        } catch (DataIntegrityViolationException e) {
+            return ticketDeduplicator.findExisting(contentHash).orElseThrow(() -> e);
+        }
+    }
+
+    private WeightTicket saveUnlessDuplicate(OcrResult ocrResult, String contentHash) {
+        Optional<WeightTicket> existing = ticketDeduplicator.findExisting(contentHash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        WeightTicket savedTicket = parsingService.saveAll(
+            List.of(parsingService.createTicket(ocrResult, contentHash))).get(0);
+        // 파일 내보내기는 커밋 이후 TicketExportQueue가 비동기로 처리한다.
+        eventPublisher.publishEvent(WeightTicketSavedEvent.of(savedTicket));
         return savedTicket;
     }
 
-    public List<WeightTicket> searchTickets(WeightTicketSearchRequest condition) {
-        return queryRepository.search(condition);
+    /**
+     * 같은 조건의 반복 조회는 TicketSearchCache에서 반환한다. 캐시에 있으면 트랜잭션(커넥션)도 시작하지 않는다.
+     */
+    public CursorPage<WeightTicketResponse> searchTickets(WeightTicketSearchRequest condition) {
+        TicketCursor cursor = condition.getCursor() == null ? null : TicketCursor.decode(condition.getCursor());
+        int size = resolvePageSize(condition.getSize());
+        return searchCache.get(condition, cursor, size,
+            () -> readOnlyTransaction.execute(status -> queryRepository.searchPage(condition, cursor, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketAggregate> aggregateTickets(WeightTicketSearchRequest condition, AggregateGroup group) {
+        return queryRepository.aggregate(condition, group);
+    }
+
+    /**
+     * 조건에 맞는 티켓 전체를 NDJSON(한 줄에 티켓 하나)으로 out에 쓴다. 결과를 메모리에 모으지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public void streamTickets(WeightTicketSearchRequest condition, OutputStream out) {
+        int[] written = {0};
+        queryRepository.forEach(condition, streamFetchSize, ticket -> {
+            try {
+                ndjsonWriter.writeValue(out, ticket);
+                out.write('\n');
+                if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) return defaultPageSize;
+        if (size < 1) throw new CustomException(ErrorCode.INVALID_INPUT);
+        return Math.min(size, maxPageSize);
     }
 
 }
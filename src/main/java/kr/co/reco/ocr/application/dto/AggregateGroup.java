@@ -0,0 +1,30 @@
+package kr.co.reco.ocr.application.dto;
+
+import java.util.Arrays;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import lombok.Getter;
+
+/**
+ * 집계 API의 그룹 기준. path는 URL 경로 값이다. (예: /aggregates/days)
+ */
+@Getter
+public enum AggregateGroup {
+
+    CAR("cars"),
+    DAY("days"),
+    HOUR("hours");
+
+    private final String path;
+
+    AggregateGroup(String path) {
+        this.path = path;
+    }
+
+    public static AggregateGroup fromPath(String path) {
+        return Arrays.stream(values())
+            .filter(group -> group.path.equals(path))
+            .findFirst()
+            .orElseThrow(() -> new CustomException(ErrorCode.INVALID_INPUT));
+    }
+}
@@ -0,0 +1,24 @@
+package kr.co.reco.ocr.application.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BatchIngestionResult {
+    private final int total;
+    private final int succeeded;
+    private final int failed;
+    private final List<BatchItemResult> items;
+
+    public static BatchIngestionResult of(List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccess).count();
+        return BatchIngestionResult.builder()
+            .total(items.size())
+            .succeeded(succeeded)
+            .failed(items.size() - succeeded)
+            .items(items)
+            .build();
+    }
+}
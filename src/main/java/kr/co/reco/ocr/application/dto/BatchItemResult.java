@@ -0,0 +1,68 @@
+package kr.co.reco.ocr.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private final int index;
+    private final String source;
+    private final boolean success;
+
+    private final Long ticketId;
+    private final Boolean needsReview;
+    private final Boolean duplicate;    // 이미 저장된 문서이거나 같은 요청 안의 앞 항목과 같은 문서면 true
+
+    private final String code;
+    private final String message;
+
+    public static BatchItemResult success(int index, String source, WeightTicket ticket) {
+        return BatchItemResult.builder()
+            .index(index)
+            .source(source)
+            .success(true)
+            .ticketId(ticket.getId())
+            .needsReview(ticket.isNeedsReview())
+            .build();
+    }
+
+    public static BatchItemResult duplicate(int index, String source, WeightTicket existing) {
+        return BatchItemResult.builder()
+            .index(index)
+            .source(source)
+            .success(true)
+            .ticketId(existing.getId())
+            .needsReview(existing.isNeedsReview())
+            .duplicate(true)
+            .build();
+    }
+
+    // 같은 요청 안에서 먼저 나온 동일 문서의 처리 결과를 따른다
+    public static BatchItemResult duplicateOf(int index, String source, BatchItemResult original) {
+        return BatchItemResult.builder()
+            .index(index)
+            .source(source)
+            .success(original.isSuccess())
+            .ticketId(original.getTicketId())
+            .needsReview(original.getNeedsReview())
+            .duplicate(true)
+            .code(original.getCode())
+            .message(original.getMessage())
+            .build();
+    }
+
+    public static BatchItemResult failure(int index, String source, ErrorCode errorCode) {
+        return BatchItemResult.builder()
+            .index(index)
+            .source(source)
+            .success(false)
+            .code(errorCode.name())
+            .message(errorCode.getMessage())
+            .build();
+    }
+}
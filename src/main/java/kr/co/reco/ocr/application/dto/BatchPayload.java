@@ -0,0 +1,10 @@
+package kr.co.reco.ocr.application.dto;
+
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+
+/**
+ * 일괄 처리 요청의 개별 OCR JSON. 본문은 파싱 작업 스레드에서 열 수 있도록 지연 공급한다.
+ */
+public record BatchPayload(String source, Callable<InputStream> content) {
+}
@@ -0,0 +1,20 @@
+package kr.co.reco.ocr.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 커서(keyset) 기반 페이지. 다음 페이지는 nextCursor를 cursor 파라미터로 넘겨 조회한다.
+ */
+@Getter
+@Builder
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCursor;
+}
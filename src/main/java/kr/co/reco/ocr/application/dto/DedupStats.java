@@ -0,0 +1,15 @@
+package kr.co.reco.ocr.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class DedupStats {
+    private final long cacheHits;   // 메모리 캐시에서 찾은 중복
+    private final long storeHits;   // 캐시에 없어 DB(content_hash)에서 찾은 중복
+    private final long misses;      // 새 문서 (파싱 후 저장)
+    private final double hitRate;
+    private final long cacheSize;
+    private final long evictions;
+}
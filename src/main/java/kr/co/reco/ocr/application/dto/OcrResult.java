@@ -1,5 +1,6 @@
 package kr.co.reco.ocr.application.dto;
 
+import kr.co.reco.ocr.infrastructure.ocr.LayoutFields;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -8,5 +9,7 @@ import lombok.Getter;
 public class OcrResult {
     private final String fullText;
     private final Double confidence;
+    // extraction-mode=layout일 때만 채워진다.
+    private final LayoutFields layoutFields;
 
 }
@@ -0,0 +1,15 @@
+package kr.co.reco.ocr.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import kr.co.reco.ocr.domain.WeightTicket;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReviewClaim {
+    private final String reviewer;
+    private final LocalDateTime claimedUntil;  // 이 시각까지 검토를 마치지 않으면 다른 검토자에게 다시 할당될 수 있다
+    private final List<WeightTicket> tickets;  // 대기열 순서 (오래된 순)
+}
@@ -0,0 +1,17 @@
+package kr.co.reco.ocr.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class TicketAggregate {
+    private final String key;        // 그룹 키: 차량번호, 계량 일자 (yyyy-MM-dd) 또는 계량 시각 (yyyy-MM-ddTHH:00)
+    private final long count;        // 티켓 수
+    private final double grossSum;   // 총중량 합계 (값이 없는 티켓은 제외)
+    private final double tareSum;    // 공차중량 합계
+    private final double netSum;     // 실중량 합계
+    private final Double netAvg;     // 실중량이 있는 티켓의 평균, 없으면 null
+    private final long reviewCount;  // 검토 필요 티켓 수
+    private final double reviewRatio; // reviewCount / count
+}
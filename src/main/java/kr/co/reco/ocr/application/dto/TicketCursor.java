@@ -0,0 +1,33 @@
+package kr.co.reco.ocr.application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+
+/**
+ * 정렬 키 (scaledAt desc nulls last, id desc)의 마지막 위치. 클라이언트에는 불투명한 Base64 문자열로 전달한다.
+ */
+public record TicketCursor(LocalDateTime scaledAt, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = (scaledAt == null ? "" : scaledAt.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String scaledAt = raw.substring(0, separator);
+            return new TicketCursor(
+                scaledAt.isEmpty() ? null : LocalDateTime.parse(scaledAt),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+    }
+}
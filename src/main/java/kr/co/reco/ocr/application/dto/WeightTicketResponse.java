@@ -0,0 +1,23 @@
+package kr.co.reco.ocr.application.dto;
+
+import java.time.LocalDateTime;
+import kr.co.reco.ocr.domain.FieldConfidence;
+
+/**
+ * 조회 API 응답. 엔티티 대신 필요한 컬럼만 생성자 프로젝션으로 읽어, 영속성 컨텍스트 등록과 스냅샷 비용이 없다.
+ * 필드 구성과 순서는 WeightTicket의 JSON 표현과 같다.
+ */
+public record WeightTicketResponse(
+    Long id,
+    String carNumber,
+    Double grossWeight,
+    Double tareWeight,
+    Double netWeight,
+    LocalDateTime scaledAt,
+    Double confidence,
+    boolean needsReview,
+    String reviewNote,
+    LocalDateTime createdAt,
+    FieldConfidence fieldConfidence
+) {
+}
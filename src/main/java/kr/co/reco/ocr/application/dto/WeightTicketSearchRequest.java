@@ -17,4 +17,7 @@ public class WeightTicketSearchRequest {
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime end;
 
+    private String cursor;  // 이전 페이지의 nextCursor
+    private Integer size;   // 페이지 크기, app.search.max-page-size를 넘으면 잘라낸다
+
 }
@@ -0,0 +1,53 @@
+package kr.co.reco.ocr.domain;
+
+import jakarta.persistence.Embeddable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 필드별 OCR 신뢰도. 필드 값을 만든 단어들의 신뢰도 중 최솟값이며, 단어 근거가 없는 필드는 null이다.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class FieldConfidence {
+
+    private Double carNumberConfidence;
+    private Double grossWeightConfidence;
+    private Double tareWeightConfidence;
+    private Double netWeightConfidence;
+    private Double scaledAtConfidence;
+
+    /**
+     * threshold 미만인 필드를 "총중량 0.30, 계량일시 0.41" 형식으로 나열한다. 없으면 null.
+     */
+    public String describeBelow(double threshold) {
+        List<String> lowFields = new ArrayList<>(5);
+        addIfBelow(lowFields, "차량번호", carNumberConfidence, threshold);
+        addIfBelow(lowFields, "총중량", grossWeightConfidence, threshold);
+        addIfBelow(lowFields, "공차중량", tareWeightConfidence, threshold);
+        addIfBelow(lowFields, "실중량", netWeightConfidence, threshold);
+        addIfBelow(lowFields, "계량일시", scaledAtConfidence, threshold);
+        return lowFields.isEmpty() ? null : String.join(", ", lowFields);
+    }
+
+    private static void addIfBelow(List<String> lowFields, String name, Double confidence, double threshold) {
+        if (confidence != null && confidence < threshold) {
+            lowFields.add(String.format(Locale.ROOT, "%s %.2f", name, confidence));
+        }
+    }
+
+    public static Double min(Double a, Double b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return Math.min(a, b);
+    }
+}
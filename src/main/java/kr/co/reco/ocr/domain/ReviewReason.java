@@ -0,0 +1,24 @@
+package kr.co.reco.ocr.domain;
+
+import lombok.Getter;
+
+/**
+ * 검토 필요(needsReview) 사유. description은 reviewNote에 기록되는 문구다.
+ */
+@Getter
+public enum ReviewReason {
+
+    MISSING_CAR_NUMBER("차량번호 누락"),
+    MISSING_SCALED_AT("계량일시 누락"),
+    MISSING_WEIGHT("중량 정보 부족"),
+    LOW_CONFIDENCE("낮은 신뢰도"),
+    LOW_FIELD_CONFIDENCE("낮은 필드 신뢰도"),
+    FUTURE_SCALED_AT("계량시간 이상(미래 시간)"),
+    INVERTED_WEIGHT("중량 수치 이상(총중량 <= 실중량)");
+
+    private final String description;
+
+    ReviewReason(String description) {
+        this.description = description;
+    }
+}
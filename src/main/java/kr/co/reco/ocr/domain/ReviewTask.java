@@ -0,0 +1,54 @@
+package kr.co.reco.ocr.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 검토 대기열 항목. 검토가 필요한 티켓이 저장될 때 같은 트랜잭션에서 만들어지고, 검토 완료 시 삭제된다.
+ * 대기 중인 티켓만 담는 별도 테이블이므로, 티켓 이력이 커져도 대기열 조회/할당은 대기 건수만큼만 읽는다.
+ * (H2는 부분 인덱스(WHERE needs_review)를 지원하지 않아 테이블로 대신한다.)
+ */
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_review_task_created_at_id", columnList = "createdAt, id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReviewTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_task_seq_generator")
+    @SequenceGenerator(name = "review_task_seq_generator", sequenceName = "review_task_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long ticketId;
+
+    // 대기열 순서. 티켓이 저장된 시각이다.
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private String claimedBy;            // 할당받은 검토자
+    @Column(length = 36)
+    private String claimToken;           // 할당 요청마다 새로 만드는 값. 이번 요청으로 할당된 항목을 찾는 데 쓴다.
+    private LocalDateTime claimedUntil;  // 할당 만료 시각. 지나면 다른 검토자가 다시 할당받을 수 있다.
+
+    private ReviewTask(Long ticketId, LocalDateTime createdAt) {
+        this.ticketId = ticketId;
+        this.createdAt = createdAt;
+    }
+
+    public static ReviewTask of(WeightTicket ticket) {
+        return new ReviewTask(ticket.getId(), ticket.getCreatedAt());
+    }
+}
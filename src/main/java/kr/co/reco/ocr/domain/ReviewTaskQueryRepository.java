@@ -0,0 +1,94 @@
+package kr.co.reco.ocr.domain;
+
+import static kr.co.reco.ocr.domain.QReviewTask.reviewTask;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 검토 대기열 할당. SELECT ... FOR UPDATE SKIP LOCKED 대신, 후보를 읽은 뒤 "아직 할당 가능한 경우에만" 조건부 UPDATE로
+ * 할당한다. 다른 검토자가 먼저 가져간 항목은 UPDATE 조건에서 빠지므로 기다리거나 중복 할당하지 않고 건너뛴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewTaskQueryRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
+
+    // 대기열 앞(오래된 순)에서 할당 가능한 항목 ID를 limit개까지
+    public List<Long> findClaimableIds(LocalDateTime now, int limit) {
+        return queryFactory
+            .select(reviewTask.id)
+            .from(reviewTask)
+            .where(claimable(now))
+            .orderBy(reviewTask.createdAt.asc(), reviewTask.id.asc())
+            .limit(limit)
+            .fetch();
+    }
+
+    /**
+     * ids 중 아직 할당 가능한 항목만 reviewer에게 할당하고, 할당한 건수를 반환한다.
+     */
+    public long claim(List<Long> ids, String reviewer, String claimToken, LocalDateTime claimedUntil,
+        LocalDateTime now) {
+        return queryFactory
+            .update(reviewTask)
+            .set(reviewTask.claimedBy, reviewer)
+            .set(reviewTask.claimToken, claimToken)
+            .set(reviewTask.claimedUntil, claimedUntil)
+            .where(reviewTask.id.in(ids), claimable(now))
+            .execute();
+    }
+
+    // 후보 중 이번 할당 요청(claimToken)으로 가져온 항목. 후보 ID로 찾으므로 대기열 전체를 읽지 않는다.
+    public List<ReviewTask> findClaimed(List<Long> candidateIds, String claimToken) {
+        return queryFactory
+            .selectFrom(reviewTask)
+            .where(reviewTask.id.in(candidateIds), reviewTask.claimToken.eq(claimToken))
+            .orderBy(reviewTask.createdAt.asc(), reviewTask.id.asc())
+            .fetch();
+    }
+
+    /**
+     * 다른 검토자가 할당 중이 아니면 대기열에서 제거한다. 제거한 건수(0 또는 1)를 반환한다.
+     */
+    public long deleteResolvable(Long ticketId, String reviewer, LocalDateTime now) {
+        return queryFactory
+            .delete(reviewTask)
+            .where(reviewTask.ticketId.eq(ticketId), claimable(now).or(reviewTask.claimedBy.eq(reviewer)))
+            .execute();
+    }
+
+    /**
+     * 검토가 필요하지만 대기열에 없는 티켓을 대기열에 넣고, 넣은 건수를 반환한다. 대기 중인 티켓은 건너뛴다.
+     * 대기열 순서는 티켓 저장 시각이며, 저장 시각이 없는 티켓은 지금 시각으로 넣는다.
+     */
+    public int backfill() {
+        return entityManager.createQuery("""
+                insert into ReviewTask (ticketId, createdAt)
+                select t.id, coalesce(t.createdAt, current_timestamp)
+                from WeightTicket t
+                where t.needsReview = true
+                  and not exists (select 1 from ReviewTask r where r.ticketId = t.id)
+                """)
+            .executeUpdate();
+    }
+
+    public long deleteByIds(List<Long> ids) {
+        return queryFactory
+            .delete(reviewTask)
+            .where(reviewTask.id.in(ids))
+            .execute();
+    }
+
+    // 할당된 적이 없거나 할당이 만료된 항목
+    private BooleanExpression claimable(LocalDateTime now) {
+        return reviewTask.claimedUntil.isNull().or(reviewTask.claimedUntil.lt(now));
+    }
+}
@@ -0,0 +1,11 @@
+package kr.co.reco.ocr.domain;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
+
+    Optional<ReviewTask> findByTicketId(Long ticketId);
+}
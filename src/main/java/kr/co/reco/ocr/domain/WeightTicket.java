@@ -1,22 +1,44 @@
 package kr.co.reco.ocr.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// 2차 캐시: ID 조회(findById)를 DB 없이 처리한다. 크기/만료 시간은 application.conf의 weightTicket 영역 설정을 따른다.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = WeightTicket.CACHE_REGION)
+@Table(indexes = {
+    @Index(name = "idx_weight_ticket_scaled_at_id", columnList = "scaledAt DESC, id DESC"),
+    @Index(name = "idx_weight_ticket_needs_review", columnList = "needsReview, scaledAt DESC"),
+    @Index(name = "idx_weight_ticket_car_number", columnList = "carNumber"),
+    @Index(name = "idx_weight_ticket_car_number_normalized", columnList = "carNumberNormalized"),
+    @Index(name = "idx_weight_ticket_car_number_tail", columnList = "carNumberTail")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -24,13 +46,25 @@ import lombok.NoArgsConstructor;
 @JsonPropertyOrder({ "id", "carNumber", "grossWeight", "tareWeight", "netWeight", "scaledAt", "confidence", "needsReview", "createdAt" })
 public class WeightTicket {
 
+    public static final int TAIL_LENGTH = 4;
+    public static final String CACHE_REGION = "weightTicket";
+    private static final double CONFIDENCE_THRESHOLD = 0.6;
+
+    // IDENTITY는 INSERT 즉시 실행이 필요해 JDBC 배치가 불가능하므로, pooled 옵티마이저 시퀀스로 ID를 미리 할당한다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weight_ticket_seq_generator")
+    @SequenceGenerator(name = "weight_ticket_seq_generator", sequenceName = "weight_ticket_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String carNumber;
 
+    // 검색용 파생 컬럼. LIKE '%x%' 대신 인덱스를 탈 수 있는 앞자리 일치/뒷 4자리 일치 조회에 사용한다.
+    @JsonIgnore
+    private String carNumberNormalized; // 숫자와 한글만 남긴 차량번호 (예: "80구 8713" -> "80구8713")
+    @JsonIgnore
+    private String carNumberTail;       // 마지막 숫자 4자리 (예: "8713"), 4자리 미만이면 null
+
     private Double grossWeight;  // 총중량
     private Double tareWeight;   // 공차중량 (차중량)
     private Double netWeight;    // 실중량
@@ -38,12 +72,24 @@ public class WeightTicket {
     private LocalDateTime scaledAt; // 계량 일시
 
     private Double confidence;      // OCR 전체 신뢰도
+    @Embedded
+    private FieldConfidence fieldConfidence; // 필드별 신뢰도 (layout 추출 모드에서만 채워짐, 그 외에는 null)
     private boolean needsReview;    // 임계값 미만일 경우 true
     private String reviewNote;
 
+    // 원본 OCR 결과(전체 텍스트 + 신뢰도)의 SHA-256. 같은 문서의 재업로드를 찾는 데 사용한다.
+    @JsonIgnore
+    @Column(unique = true, length = 64)
+    private String contentHash;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    // 검토 사유 (메트릭 집계용). create()로 만든 시점에만 채워지며 저장하지 않는다.
+    @Transient
+    @JsonIgnore
+    private Set<ReviewReason> reviewReasons;
+
     private WeightTicket(String carNumber, Double grossWeight, Double tareWeight, Double netWeight,
         LocalDateTime scaledAt, Double confidence, boolean needsReview, String reviewNote) {
         this.carNumber = carNumber;
@@ -58,44 +104,103 @@ public class WeightTicket {
 
     public static WeightTicket create(String carNumber, Double grossWeight, Double tareWeight,
         Double netWeight, LocalDateTime scaledAt, Double confidence) {
+        return create(carNumber, grossWeight, tareWeight, netWeight, scaledAt, confidence, null);
+    }
 
-        ReviewStatus status = validate(carNumber, scaledAt, grossWeight, netWeight, confidence);
+    public static WeightTicket create(String carNumber, Double grossWeight, Double tareWeight,
+        Double netWeight, LocalDateTime scaledAt, Double confidence, String contentHash) {
+        return create(carNumber, grossWeight, tareWeight, netWeight, scaledAt, confidence, contentHash, null);
+    }
 
-        return new WeightTicket(
+    public static WeightTicket create(String carNumber, Double grossWeight, Double tareWeight,
+        Double netWeight, LocalDateTime scaledAt, Double confidence, String contentHash,
+        FieldConfidence fieldConfidence) {
+
+        ReviewStatus status = validate(carNumber, scaledAt, grossWeight, netWeight, confidence, fieldConfidence);
+
+        WeightTicket ticket = new WeightTicket(
             carNumber, grossWeight, tareWeight, netWeight,
             scaledAt, confidence, status.needsReview(), status.reviewNote()
         );
+        ticket.contentHash = contentHash;
+        ticket.fieldConfidence = fieldConfidence;
+        ticket.reviewReasons = status.reasons();
+        return ticket;
     }
 
     private static ReviewStatus validate(String carNumber, LocalDateTime scaledAt, Double grossWeight,
-        Double netWeight, Double confidence) {
-        List<String> reasons = new ArrayList<>();
+        Double netWeight, Double confidence, FieldConfidence fieldConfidence) {
+        Set<ReviewReason> reasons = EnumSet.noneOf(ReviewReason.class);
         LocalDateTime now = LocalDateTime.now();
 
-        if (carNumber == null || "UNKNOWN".equals(carNumber)) reasons.add("차량번호 누락");
-        if (scaledAt == null) reasons.add("계량일시 누락");
-        if (grossWeight == null || grossWeight == 0.0) reasons.add("중량 정보 부족");
-        if (confidence != null && confidence < 0.6) {
-            reasons.add(String.format("낮은 신뢰도(%.2f)", confidence));
+        if (carNumber == null || "UNKNOWN".equals(carNumber)) reasons.add(ReviewReason.MISSING_CAR_NUMBER);
+        if (scaledAt == null) reasons.add(ReviewReason.MISSING_SCALED_AT);
+        if (grossWeight == null || grossWeight == 0.0) reasons.add(ReviewReason.MISSING_WEIGHT);
+        if (confidence != null && confidence < CONFIDENCE_THRESHOLD) reasons.add(ReviewReason.LOW_CONFIDENCE);
+        // 전체 신뢰도가 높아도 값을 만든 단어 하나의 신뢰도가 낮으면 검토 대상이다.
+        // 필드별 신뢰도는 layout 추출 모드에서만 만들어지며, text 모드와 /upload(조각 단위 읽기)에서는 null이라 건너뛴다.
+        String lowFields = fieldConfidence == null ? null : fieldConfidence.describeBelow(CONFIDENCE_THRESHOLD);
+        if (lowFields != null) reasons.add(ReviewReason.LOW_FIELD_CONFIDENCE);
+        if (scaledAt != null && scaledAt.isAfter(now)) reasons.add(ReviewReason.FUTURE_SCALED_AT);
+        if (isWeightInvalid(grossWeight, netWeight)) reasons.add(ReviewReason.INVERTED_WEIGHT);
+
+        List<String> notes = new ArrayList<>(reasons.size());
+        for (ReviewReason reason : reasons) {
+            notes.add(switch (reason) {
+                case LOW_CONFIDENCE -> String.format("%s(%.2f)", reason.getDescription(), confidence);
+                case LOW_FIELD_CONFIDENCE -> String.format("%s(%s)", reason.getDescription(), lowFields);
+                default -> reason.getDescription();
+            });
         }
-        if (scaledAt != null && scaledAt.isAfter(now)) {
-            reasons.add("계량시간 이상(미래 시간)");
-        }
-        if (isWeightInvalid(grossWeight, netWeight)) {
-            reasons.add("중량 수치 이상(총중량 <= 실중량)");
-        }
-
-        return new ReviewStatus(!reasons.isEmpty(), String.join(", ", reasons));
+        return new ReviewStatus(!reasons.isEmpty(), String.join(", ", notes), reasons);
     }
 
     private static boolean isWeightInvalid(Double gross, Double net) {
         return gross != null && net != null && gross > 0 && net > 0 && gross <= net;
     }
 
+    // 검토 완료: 검토 대상에서 빼되, 검토 사유(reviewNote)는 이력으로 남긴다.
+    public void resolveReview() {
+        this.needsReview = false;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
+        deriveCarNumberKeys();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        deriveCarNumberKeys();
+    }
+
+    private void deriveCarNumberKeys() {
+        this.carNumberNormalized = normalizeCarNumber(carNumber);
+        this.carNumberTail = carNumberTail(carNumberNormalized);
+    }
+
+    public static String normalizeCarNumber(String carNumber) {
+        if (carNumber == null) return null;
+        StringBuilder normalized = new StringBuilder(carNumber.length());
+        for (int i = 0; i < carNumber.length(); i++) {
+            char c = carNumber.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= '가' && c <= '힣')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    public static String carNumberTail(String normalized) {
+        if (normalized == null) return null;
+        int end = normalized.length();
+        int start = end;
+        while (start > 0 && end - start < TAIL_LENGTH && Character.isDigit(normalized.charAt(start - 1))) {
+            start--;
+        }
+        return end - start == TAIL_LENGTH ? normalized.substring(start) : null;
     }
 
-    private record ReviewStatus(boolean needsReview, String reviewNote) {}
+    private record ReviewStatus(boolean needsReview, String reviewNote, Set<ReviewReason> reasons) {}
 }
@@ -2,12 +2,32 @@ package kr.co.reco.ocr.domain;
 
 import static kr.co.reco.ocr.domain.QWeightTicket.weightTicket;
 
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import kr.co.reco.ocr.application.dto.AggregateGroup;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.TicketCursor;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
 import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -15,13 +35,124 @@ import org.springframework.util.StringUtils;
 @RequiredArgsConstructor
 public class WeightTicketQueryRepository {
 
+    // 조회 API 응답 컬럼. 엔티티 전체를 하이드레이션하지 않는다.
+    private static final ConstructorExpression<WeightTicketResponse> RESPONSE = Projections.constructor(
+        WeightTicketResponse.class,
+        weightTicket.id, weightTicket.carNumber,
+        weightTicket.grossWeight, weightTicket.tareWeight, weightTicket.netWeight,
+        weightTicket.scaledAt, weightTicket.confidence,
+        weightTicket.needsReview, weightTicket.reviewNote, weightTicket.createdAt,
+        weightTicket.fieldConfidence);
+
+    // 집계 컬럼: 건수, 중량 합계, 실중량 평균, 검토 필요 건수
+    private static final NumberExpression<Long> COUNT = weightTicket.count();
+    private static final NumberExpression<Double> GROSS_SUM = weightTicket.grossWeight.sum();
+    private static final NumberExpression<Double> TARE_SUM = weightTicket.tareWeight.sum();
+    private static final NumberExpression<Double> NET_SUM = weightTicket.netWeight.sum();
+    private static final NumberExpression<Double> NET_AVG = weightTicket.netWeight.avg();
+    private static final NumberExpression<Long> REVIEW_COUNT = new CaseBuilder()
+        .when(weightTicket.needsReview.isTrue()).then(1L)
+        .otherwise(0L)
+        .sum();
+    private static final Expression<?>[] AGGREGATES = { COUNT, GROSS_SUM, TARE_SUM, NET_SUM, NET_AVG, REVIEW_COUNT };
+
+    private static final NumberExpression<Integer> YEAR = weightTicket.scaledAt.year();
+    private static final NumberExpression<Integer> MONTH = weightTicket.scaledAt.month();
+    private static final NumberExpression<Integer> DAY = weightTicket.scaledAt.dayOfMonth();
+    private static final NumberExpression<Integer> HOUR = weightTicket.scaledAt.hour();
+
     private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
+
+    /**
+     * (scaledAt desc nulls last, id desc) 순서의 keyset 페이지. OFFSET 없이 커서 이후 size + 1건만 읽어
+     * 다음 페이지 존재 여부를 판단한다.
+     * 계량일시가 있는 커서 뒤는 (scaledAt <= 커서) 범위로 인덱스를 탐색해 읽고, 그것으로 페이지가 차지 않을 때만
+     * 계량일시가 없는 행(nulls last)을 이어서 읽는다. 한 조건에 IS NULL을 OR로 섞으면 범위 탐색을 못 하고
+     * 인덱스를 처음부터 훑는다.
+     */
+    public CursorPage<WeightTicketResponse> searchPage(WeightTicketSearchRequest condition, TicketCursor cursor,
+        int size) {
+        List<WeightTicketResponse> rows = fetchPage(condition, after(cursor), size + 1L);
+        if (cursor != null && cursor.scaledAt() != null && rows.size() <= size) {
+            rows = new ArrayList<>(rows);
+            rows.addAll(fetchPage(condition, weightTicket.scaledAt.isNull(), size + 1L - rows.size()));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<WeightTicketResponse> content = hasNext ? rows.subList(0, size) : rows;
+        WeightTicketResponse last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+        return CursorPage.<WeightTicketResponse>builder()
+            .content(content)
+            .size(content.size())
+            .hasNext(hasNext)
+            .nextCursor(hasNext ? new TicketCursor(last.scaledAt(), last.id()).encode() : null)
+            .build();
+    }
+
+    /**
+     * 조건에 맞는 티켓을 한 건씩 consumer에 넘긴다. 결과 전체를 List로 만들지 않고 JDBC 커서(fetch size 단위)로 읽으며,
+     * 엔티티가 아닌 DTO로 읽어 영속성 컨텍스트에 쌓이지 않으므로 결과 크기와 관계없이 메모리 사용량이 일정하다.
+     * 트랜잭션 안에서 호출해야 한다.
+     */
+    public void forEach(WeightTicketSearchRequest condition, int fetchSize, Consumer<WeightTicketResponse> consumer) {
+        try (Stream<WeightTicketResponse> tickets = queryFactory
+            .select(RESPONSE)
+            .from(weightTicket)
+            .where(
+                matchesCarNumber(condition.getCarNumber()),
+                isNeedsReview(condition.getNeedsReview()),
+                betweenScaledAt(condition.getStart(), condition.getEnd())
+            )
+            .orderBy(weightTicket.scaledAt.desc().nullsLast(), weightTicket.id.desc())
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .stream()) {
+            tickets.forEach(consumer);
+        }
+    }
+
+    /**
+     * 조회와 같은 조건으로 차량번호/계량 일자/계량 시각별 합계를 DB에서 GROUP BY로 계산한다. 그룹 수만큼의 행만 읽는다.
+     * 일자/시각 기준이면 계량 일시가 없는 티켓은 제외한다.
+     */
+    public List<TicketAggregate> aggregate(WeightTicketSearchRequest condition, AggregateGroup group) {
+        Expression<?>[] keys = switch (group) {
+            case CAR -> new Expression<?>[] { weightTicket.carNumber };
+            case DAY -> new Expression<?>[] { YEAR, MONTH, DAY };
+            case HOUR -> new Expression<?>[] { YEAR, MONTH, DAY, HOUR };
+        };
+        OrderSpecifier<?>[] order = switch (group) {
+            case CAR -> new OrderSpecifier<?>[] { weightTicket.carNumber.asc() };
+            case DAY -> new OrderSpecifier<?>[] { YEAR.asc(), MONTH.asc(), DAY.asc() };
+            case HOUR -> new OrderSpecifier<?>[] { YEAR.asc(), MONTH.asc(), DAY.asc(), HOUR.asc() };
+        };
+
+        Expression<?>[] columns = Stream.concat(Arrays.stream(keys), Arrays.stream(AGGREGATES))
+            .toArray(Expression<?>[]::new);
+
+        List<Tuple> rows = queryFactory
+            .select(columns)
+            .from(weightTicket)
+            .where(
+                matchesCarNumber(condition.getCarNumber()),
+                isNeedsReview(condition.getNeedsReview()),
+                betweenScaledAt(condition.getStart(), condition.getEnd()),
+                group == AggregateGroup.CAR ? null : weightTicket.scaledAt.isNotNull()
+            )
+            .groupBy(keys)
+            .orderBy(order)
+            .fetch();
+
+        return rows.stream().map(row -> toAggregate(row, group)).toList();
+    }
 
     public List<WeightTicket> search(WeightTicketSearchRequest condition) {
         return queryFactory
             .selectFrom(weightTicket)
             .where(
-                containsCarNumber(condition.getCarNumber()),
+                matchesCarNumber(condition.getCarNumber()),
                 isNeedsReview(condition.getNeedsReview()),
                 betweenScaledAt(condition.getStart(), condition.getEnd())
             )
@@ -29,14 +160,90 @@ public class WeightTicketQueryRepository {
             .fetch();
     }
 
-    private BooleanExpression containsCarNumber(String carNumber) {
-        return StringUtils.hasText(carNumber) ? weightTicket.carNumber.contains(carNumber) : null;
+    /**
+     * ID 순서대로 티켓을 읽는다. 없는 ID 위치는 null이다.
+     * findAllById(JPQL IN 조회)와 달리 2차 캐시에 있는 티켓은 DB를 읽지 않고, 없는 것만 한 번에 조회한다.
+     */
+    public List<WeightTicket> findAllInOrder(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(WeightTicket.class)
+            .multiLoad(ids);
+    }
+
+    private static TicketAggregate toAggregate(Tuple row, AggregateGroup group) {
+        String key = switch (group) {
+            case CAR -> row.get(weightTicket.carNumber);
+            case DAY -> LocalDate.of(row.get(YEAR), row.get(MONTH), row.get(DAY)).toString();
+            case HOUR -> LocalDate.of(row.get(YEAR), row.get(MONTH), row.get(DAY)).atTime(row.get(HOUR), 0).toString();
+        };
+        long count = row.get(COUNT);
+        long reviewCount = row.get(REVIEW_COUNT);
+        return TicketAggregate.builder()
+            .key(key)
+            .count(count)
+            .grossSum(orZero(row.get(GROSS_SUM)))
+            .tareSum(orZero(row.get(TARE_SUM)))
+            .netSum(orZero(row.get(NET_SUM)))
+            .netAvg(row.get(NET_AVG))
+            .reviewCount(reviewCount)
+            .reviewRatio((double) reviewCount / count)
+            .build();
+    }
+
+    // 그룹의 모든 값이 null이면 SUM은 null이다.
+    private static double orZero(Double sum) {
+        return sum == null ? 0.0 : sum;
+    }
+
+    private List<WeightTicketResponse> fetchPage(WeightTicketSearchRequest condition, BooleanExpression position,
+        long limit) {
+        return queryFactory
+            .select(RESPONSE)
+            .from(weightTicket)
+            .where(
+                matchesCarNumber(condition.getCarNumber()),
+                isNeedsReview(condition.getNeedsReview()),
+                betweenScaledAt(condition.getStart(), condition.getEnd()),
+                position
+            )
+            .orderBy(weightTicket.scaledAt.desc().nullsLast(), weightTicket.id.desc())
+            .limit(limit)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .fetch();
+    }
+
+    /**
+     * 차량번호 검색. 숫자 4자리는 뒷자리 컬럼 일치, 그 외에는 정규화된 차량번호의 앞자리 일치(LIKE 'x%')로 조회해
+     * 두 경우 모두 인덱스를 사용한다. 공백이나 기호는 무시한다.
+     */
+    private BooleanExpression matchesCarNumber(String carNumber) {
+        if (!StringUtils.hasText(carNumber)) return null;
+
+        String normalized = WeightTicket.normalizeCarNumber(carNumber);
+        if (normalized.isEmpty()) {
+            return weightTicket.carNumber.eq(carNumber.trim());
+        }
+        if (normalized.length() == WeightTicket.TAIL_LENGTH && normalized.chars().allMatch(Character::isDigit)) {
+            return weightTicket.carNumberTail.eq(normalized);
+        }
+        return weightTicket.carNumberNormalized.startsWith(normalized);
     }
 
     private BooleanExpression isNeedsReview(Boolean needsReview) {
         return needsReview != null ? weightTicket.needsReview.eq(needsReview) : null;
     }
 
+    // 커서보다 뒤에 오는 계량일시가 있는 행: scaledAt이 더 이르거나, 같으면 id가 더 작은 행.
+    // scaledAt <= 커서를 따로 두어 인덱스 범위 탐색이 되게 한다. 계량일시가 없는 행은 searchPage가 이어서 읽는다.
+    private BooleanExpression after(TicketCursor cursor) {
+        if (cursor == null) return null;
+        if (cursor.scaledAt() == null) {
+            return weightTicket.scaledAt.isNull().and(weightTicket.id.lt(cursor.id()));
+        }
+        return weightTicket.scaledAt.loe(cursor.scaledAt())
+            .and(weightTicket.scaledAt.lt(cursor.scaledAt()).or(weightTicket.id.lt(cursor.id())));
+    }
+
     private BooleanExpression betweenScaledAt(LocalDateTime start, LocalDateTime end) {
         if (start == null && end == null) return null;
         if (start != null && end == null) return weightTicket.scaledAt.goe(start);
@@ -44,6 +251,4 @@ public class WeightTicketQueryRepository {
 
         return weightTicket.scaledAt.between(start, end);
     }
-
-
 }
@@ -1,11 +1,11 @@
 package kr.co.reco.ocr.domain;
 
-import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface WeightTicketRepository extends JpaRepository<WeightTicket, Long> {
 
-    List<WeightTicket> findAllByNeedsReviewTrue();
+    Optional<WeightTicket> findByContentHash(String contentHash);
 }
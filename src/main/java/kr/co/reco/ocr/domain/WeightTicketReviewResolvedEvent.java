@@ -0,0 +1,13 @@
+package kr.co.reco.ocr.domain;
+
+import java.util.List;
+
+/**
+ * 검토 완료 이벤트 (needsReview true -> false). 리스너는 커밋 이후(AFTER_COMMIT)에만 반응한다.
+ */
+public record WeightTicketReviewResolvedEvent(List<WeightTicket> tickets) {
+
+    public static WeightTicketReviewResolvedEvent of(WeightTicket ticket) {
+        return new WeightTicketReviewResolvedEvent(List.of(ticket));
+    }
+}
@@ -0,0 +1,14 @@
+package kr.co.reco.ocr.domain;
+
+import java.util.List;
+
+/**
+ * 계량 티켓 저장 이벤트. 트랜잭션 안에서 발행되며, 리스너는 커밋 이후(AFTER_COMMIT)에만 반응한다.
+ * 검토 대기열 등록만 티켓과 함께 커밋되도록 커밋 직전(BEFORE_COMMIT)에 한다.
+ */
+public record WeightTicketSavedEvent(List<WeightTicket> tickets) {
+
+    public static WeightTicketSavedEvent of(WeightTicket ticket) {
+        return new WeightTicketSavedEvent(List.of(ticket));
+    }
+}
@@ -0,0 +1,45 @@
+package kr.co.reco.ocr.global.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class IngestionExecutorConfig {
+
+    // 일괄 파싱 전용 스레드 풀. 큐가 가득 차면 요청 스레드가 직접 실행해 자연스럽게 배압을 건다.
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor ingestionExecutor(
+        @Value("${app.ingestion.batch.parallelism:4}") int parallelism,
+        @Value("${app.ingestion.batch.queue-capacity:256}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    // Java 21 + spring.threads.virtual.enabled=true: 작업마다 가상 스레드를 띄운다.
+    // 동시 실행 수가 한도에 닿으면 제출한 스레드가 대기하므로 풀 모드와 같은 방식으로 배압이 걸린다.
+    @Bean(name = "ingestionExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualIngestionExecutor(
+        @Value("${app.ingestion.batch.virtual-concurrency-limit:256}") int concurrencyLimit) {
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ingest-vt-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
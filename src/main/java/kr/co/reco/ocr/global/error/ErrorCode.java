@@ -13,9 +13,15 @@ public enum ErrorCode {
     // OCR 에러
     OCR_PARSING_FAILED(HttpStatus.UNPROCESSABLE_ENTITY, "OCR 텍스트에서 필수 정보를 추출할 수 없습니다."),
     SAMPLE_FILE_NOT_FOUND(HttpStatus.NOT_FOUND, "요청한 샘플 파일을 찾을 수 없습니다."),
+    BATCH_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "한 번에 처리할 수 있는 티켓 수를 초과했습니다."),
+    TICKET_SAVE_FAILED(HttpStatus.CONFLICT, "계량 티켓을 저장하지 못했습니다."),
 
     // 데이터 조회 에러
-    TICKET_NOT_FOUND(HttpStatus.NOT_FOUND, "해당 ID의 계량 티켓을 찾을 수 없습니다.");
+    TICKET_NOT_FOUND(HttpStatus.NOT_FOUND, "해당 ID의 계량 티켓을 찾을 수 없습니다."),
+
+    // 검토 대기열 에러
+    REVIEW_TASK_NOT_FOUND(HttpStatus.NOT_FOUND, "검토 대기 중인 티켓이 아닙니다."),
+    REVIEW_TASK_CLAIMED(HttpStatus.CONFLICT, "다른 검토자가 검토 중인 티켓입니다.");
 
     private final HttpStatus httpStatus;
     private final String message;
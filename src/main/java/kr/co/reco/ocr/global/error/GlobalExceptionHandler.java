@@ -3,6 +3,8 @@ package kr.co.reco.ocr.global.error;
 import java.util.HashMap;
 import java.util.Map;
 import kr.co.reco.ocr.global.common.ApiResponse;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -13,8 +15,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final ParsingMetrics parsingMetrics;
+
     // DTO 유효성 검사 (@Valid 실패)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
@@ -35,6 +40,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<ApiResponse<Void>> handleCustomException(CustomException ex) {
         ErrorCode errorCode = ex.getErrorCode();
+        parsingMetrics.recordError(errorCode);
 
         return ResponseEntity
             .status(errorCode.getHttpStatus())
@@ -0,0 +1,115 @@
+package kr.co.reco.ocr.global.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.domain.ReviewReason;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import org.springframework.stereotype.Component;
+
+/**
+ * 파싱 파이프라인 메트릭. 모든 미터는 생성 시점에 등록해 두고, 기록 시에는 태그 조회 없이 EnumMap에서 꺼내 쓴다.
+ * <ul>
+ *     <li>ocr.parse.stage (timer, stage=read|extract|save|export): 단계별 소요 시간 히스토그램</li>
+ *     <li>ocr.errors (counter, code): ErrorCode별 실패 건수</li>
+ *     <li>ocr.tickets (counter, needs_review): 생성된 티켓 수</li>
+ *     <li>ocr.review.reasons (counter, reason): 검토 사유별 건수</li>
+ *     <li>ocr.text.length / ocr.text.words (summary): OCR 전체 텍스트의 글자 수 / 단어 수 분포</li>
+ *     <li>ocr.inbox.files (counter, outcome=done|failed): inbox 감시로 처리한 파일 수</li>
+ * </ul>
+ */
+@Component
+public class ParsingMetrics {
+
+    public enum Stage {
+        READ, EXTRACT, SAVE, EXPORT
+    }
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+    private final Map<ReviewReason, Counter> reviewReasonCounters = new EnumMap<>(ReviewReason.class);
+    private final Counter acceptedTickets;
+    private final Counter reviewTickets;
+    private final DistributionSummary textLength;
+    private final DistributionSummary wordCount;
+    private final Counter inboxDone;
+    private final Counter inboxFailed;
+
+    public ParsingMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("ocr.parse.stage")
+                .description("파싱 파이프라인 단계별 소요 시간")
+                .tag("stage", stage.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(registry));
+        }
+        for (ErrorCode code : ErrorCode.values()) {
+            errorCounters.put(code, Counter.builder("ocr.errors")
+                .tag("code", code.name())
+                .register(registry));
+        }
+        for (ReviewReason reason : ReviewReason.values()) {
+            reviewReasonCounters.put(reason, Counter.builder("ocr.review.reasons")
+                .tag("reason", reason.name())
+                .register(registry));
+        }
+        acceptedTickets = Counter.builder("ocr.tickets").tag("needs_review", "false").register(registry);
+        reviewTickets = Counter.builder("ocr.tickets").tag("needs_review", "true").register(registry);
+        textLength = DistributionSummary.builder("ocr.text.length")
+            .baseUnit("characters")
+            .publishPercentileHistogram()
+            .register(registry);
+        wordCount = DistributionSummary.builder("ocr.text.words")
+            .baseUnit("words")
+            .publishPercentileHistogram()
+            .register(registry);
+        inboxDone = Counter.builder("ocr.inbox.files").tag("outcome", "done").register(registry);
+        inboxFailed = Counter.builder("ocr.inbox.files").tag("outcome", "failed").register(registry);
+    }
+
+    // startNanos는 System.nanoTime() 값
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordError(ErrorCode errorCode) {
+        errorCounters.get(errorCode).increment();
+    }
+
+    public void recordTicket(WeightTicket ticket) {
+        if (!ticket.isNeedsReview()) {
+            acceptedTickets.increment();
+            return;
+        }
+        reviewTickets.increment();
+        if (ticket.getReviewReasons() != null) {
+            ticket.getReviewReasons().forEach(reason -> reviewReasonCounters.get(reason).increment());
+        }
+    }
+
+    public void recordText(String fullText) {
+        textLength.record(fullText.length());
+        wordCount.record(countWords(fullText));
+    }
+
+    public void recordInboxFile(boolean done) {
+        (done ? inboxDone : inboxFailed).increment();
+    }
+
+    // 공백으로 구분된 토큰 수
+    private static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) words++;
+            inWord = !whitespace;
+        }
+        return words;
+    }
+}
@@ -1,29 +1,40 @@
 package kr.co.reco.ocr.infrastructure.exporter;
 
+import jakarta.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import kr.co.reco.ocr.domain.WeightTicket;
 import kr.co.reco.ocr.global.error.CustomException;
 import kr.co.reco.ocr.global.error.ErrorCode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class FileExporter {
+@ConditionalOnProperty(name = "app.export.mode", havingValue = "per-ticket", matchIfMissing = true)
+public class FileExporter implements TicketExporter {
 
     private final ObjectMapper objectMapper; // JSON용
+    private final String outputPath;
 
-    @Value("${app.ocr.output-path}")
-    private String outputPath;
+    public FileExporter(ObjectMapper objectMapper, @Value("${app.ocr.output-path}") String outputPath) {
+        this.objectMapper = objectMapper;
+        this.outputPath = outputPath;
+    }
+
+    // 출력 디렉터리는 기동 시 한 번만 만든다. 티켓마다 exists()를 확인하지 않는다.
+    @PostConstruct
+    void ensureDirectoryExists() {
+        File dir = new File(outputPath);
+        if (!dir.exists()) dir.mkdirs();
+    }
 
+    @Override
     public void export(WeightTicket ticket) {
-        ensureDirectoryExists();
         saveToJson(ticket);
         saveToCsv(ticket);
     }
@@ -51,9 +62,4 @@ public class FileExporter {
         }
     }
 
-    private void ensureDirectoryExists() {
-        File dir = new File(outputPath);
-        if (!dir.exists()) dir.mkdirs();
-    }
-
 }
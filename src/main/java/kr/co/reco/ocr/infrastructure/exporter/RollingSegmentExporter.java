@@ -0,0 +1,449 @@
+package kr.co.reco.ocr.infrastructure.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 티켓을 NDJSON/CSV 세그먼트 파일에 이어 쓰는 exporter (app.export.mode=rolling).
+ * <ul>
+ *     <li>세그먼트는 max-segment-bytes를 넘거나 roll-interval-ms가 지나면 닫고(SEALED) 새로 연다.</li>
+ *     <li>레코드는 버퍼에 모았다가 flush-interval-ms마다 FileChannel에 쓰고, fsync-interval-ms마다 force한다.</li>
+ *     <li>fsync 직후 manifest.json을 원자적으로 교체한다. 소비자는 OPEN 세그먼트를 manifest의 bytes까지만 읽으면
+ *     잘린 줄 없이 tail할 수 있고, SEALED 세그먼트는 더 이상 바뀌지 않는다.</li>
+ *     <li>manifest에는 최근 manifest-max-sealed개의 SEALED 세그먼트만 남긴다. 빠진 세그먼트 파일은 지우지 않는다.</li>
+ *     <li>쓰기에 실패한 세그먼트는 마지막 fsync 지점으로 봉인하고, 그 뒤의 레코드를 새 세그먼트로 옮겨 이어 쓴다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.export.mode", havingValue = "rolling")
+public class RollingSegmentExporter implements TicketExporter {
+
+    static final String MANIFEST_FILE = "manifest.json";
+    private static final String CSV_HEADER = "ID,CarNumber,Gross,Tare,Net,ScaledAt\n";
+    private static final DateTimeFormatter SEGMENT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final long rollIntervalMillis;
+    private final int bufferSize;
+    private final long flushIntervalMillis;
+    private final long fsyncIntervalMillis;
+    private final int maxSealedEntries;
+
+    private final List<ManifestEntry> sealedSegments = new ArrayList<>();
+    private Segment ndjson;
+    private Segment csv;
+    private long openedAt;
+    private long lastFlushAt;
+    private long lastSyncAt;
+
+    public RollingSegmentExporter(ObjectMapper objectMapper,
+        @Value("${app.export.rolling.directory:${app.ocr.output-path}}") String directory,
+        @Value("${app.export.rolling.max-segment-bytes:67108864}") long maxSegmentBytes,
+        @Value("${app.export.rolling.roll-interval-ms:3600000}") long rollIntervalMillis,
+        @Value("${app.export.rolling.buffer-bytes:65536}") int bufferSize,
+        @Value("${app.export.rolling.flush-interval-ms:1000}") long flushIntervalMillis,
+        @Value("${app.export.rolling.fsync-interval-ms:5000}") long fsyncIntervalMillis,
+        @Value("${app.export.rolling.manifest-max-sealed:200}") int maxSealedEntries) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.rollIntervalMillis = rollIntervalMillis;
+        this.bufferSize = bufferSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.maxSealedEntries = maxSealedEntries;
+    }
+
+    @PostConstruct
+    synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            loadManifest();
+            openSegments();
+            writeManifest();
+        } catch (IOException e) {
+            log.error("Segment Export Init Failed: {}", directory, e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        try {
+            try {
+                sealSegments();
+            } catch (IOException e) {
+                log.warn("Segment Seal Failed, retrying on fresh segments: {}", ndjson.path, e);
+                replaceFailedSegments();
+                sealSegments();
+            }
+            writeManifest();
+        } catch (IOException e) {
+            log.error("Segment Export Close Failed: {}", directory, e);
+        }
+    }
+
+    @Override
+    public synchronized void export(WeightTicket ticket) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ticket);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            byte[] csvLine = toCsvLine(ticket).getBytes(StandardCharsets.UTF_8);
+
+            // 두 세그먼트 버퍼에 자리를 먼저 확보한 뒤 버퍼에만 쓴다. 자리를 확보하다(drain) 실패하면
+            // 어느 쪽에도 기록되지 않으므로, 다시 시도해도 한쪽 세그먼트에 같은 레코드가 두 번 남지 않는다.
+            ndjson.reserve(line.length);
+            csv.reserve(csvLine.length);
+            ndjson.append(line);
+            csv.append(csvLine);
+        } catch (IOException e) {
+            log.error("Segment Export Failed: Ticket ID {}", ticket.getId(), e);
+            replaceFailedSegments();
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        // 레코드는 이미 들어갔으므로 넘어가지 못해도 실패로 돌려주지 않는다. 다음 기록 때 다시 시도한다.
+        if (ndjson.size() >= maxSegmentBytes || csv.size() >= maxSegmentBytes) {
+            try {
+                roll();
+            } catch (IOException e) {
+                log.warn("Segment Roll Failed, keeps writing to {}", ndjson.path, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        try {
+            if (now - lastFlushAt >= flushIntervalMillis) {
+                ndjson.drain();
+                csv.drain();
+                lastFlushAt = now;
+            }
+            if (now - lastSyncAt >= fsyncIntervalMillis && ndjson.hasUnsyncedData()) {
+                ndjson.force();
+                csv.force();
+                lastSyncAt = now;
+                writeManifest();
+            }
+            if (rollIntervalMillis > 0 && now - openedAt >= rollIntervalMillis && ndjson.records > 0) {
+                roll();
+            }
+        } catch (IOException e) {
+            log.error("Segment Flush Failed: {}", ndjson.path, e);
+            replaceFailedSegments();
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private String toCsvLine(WeightTicket ticket) {
+        return String.format(Locale.ROOT, "%d,%s,%.1f,%.1f,%.1f,%s\n",
+            ticket.getId(), ticket.getCarNumber(), ticket.getGrossWeight(),
+            ticket.getTareWeight(), ticket.getNetWeight(), ticket.getScaledAt());
+    }
+
+    private void roll() throws IOException {
+        switchSegments(false);
+    }
+
+    // 새 세그먼트 두 개를 모두 연 뒤에 교체한다. 실패하면 현재 세그먼트는 그대로 남는다.
+    private void openSegments() throws IOException {
+        String baseName = "tickets-" + LocalDateTime.now().format(SEGMENT_TIME);
+        Segment nextNdjson;
+        Segment nextCsv;
+        for (int sequence = 0; ; sequence++) {
+            String name = String.format("%s-%03d", baseName, sequence);
+            try {
+                nextNdjson = new Segment(directory.resolve(name + ".ndjson"), "ndjson", bufferSize);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            try {
+                nextCsv = new Segment(directory.resolve(name + ".csv"), "csv", bufferSize);
+            } catch (IOException e) {
+                nextNdjson.abandon();
+                throw e;
+            }
+            break;
+        }
+        nextCsv.appendHeader(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        ndjson = nextNdjson;
+        csv = nextCsv;
+
+        long now = System.currentTimeMillis();
+        openedAt = now;
+        lastFlushAt = now;
+        lastSyncAt = now;
+    }
+
+    private void sealSegments() throws IOException {
+        ndjson.close();
+        csv.close();
+        addSealed(ndjson, csv);
+    }
+
+    private void addSealed(Segment... segments) {
+        for (Segment segment : segments) {
+            sealedSegments.add(segment.toEntry("SEALED"));
+        }
+        pruneSealed();
+    }
+
+    // 오래된 SEALED 항목부터 manifest에서 뺀다. manifest는 fsync마다 다시 쓰므로 크기를 제한한다.
+    private void pruneSealed() {
+        int excess = sealedSegments.size() - maxSealedEntries;
+        if (excess > 0) {
+            sealedSegments.subList(0, excess).clear();
+        }
+    }
+
+    /**
+     * 쓰기에 실패한 세그먼트는 다시 쓰지 않고 새 세그먼트로 넘어간다.
+     * 새 세그먼트를 열지 못하면 그대로 두고, 다음 기록이 실패할 때 다시 시도한다.
+     */
+    private void replaceFailedSegments() {
+        // 인터럽트로 채널이 닫힌 경우에도 교체는 끝까지 진행하고, 인터럽트 상태는 되돌려 놓는다.
+        boolean interrupted = Thread.interrupted();
+        Path failed = ndjson.path;
+        try {
+            switchSegments(true);
+            log.warn("Replaced failed segment {} with {}", failed, ndjson.path);
+        } catch (IOException e) {
+            log.error("Segment Replace Failed: {}", failed, e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 새 세그먼트를 연 뒤 이전 세그먼트를 봉인한다. 새 세그먼트를 열지 못하면 IOException을 던지고 이전 세그먼트를 그대로 쓴다.
+     * 이전 세그먼트가 이미 쓰기에 실패했거나 force에 실패하면 마지막 fsync 지점(manifest의 bytes)으로 봉인하고,
+     * 그 뒤에 기록한 레코드(파일에 쓴 부분 + 버퍼에 남은 부분)를 새 세그먼트 버퍼로 옮긴다.
+     */
+    private void switchSegments(boolean previousFailed) throws IOException {
+        Segment previousNdjson = ndjson;
+        Segment previousCsv = csv;
+        openSegments();
+
+        boolean carry = previousFailed;
+        if (!carry) {
+            try {
+                previousNdjson.close();
+                previousCsv.close();
+            } catch (IOException e) {
+                log.error("Segment Seal Failed: {}", previousNdjson.path, e);
+                carry = true;
+            }
+        }
+        if (carry) {
+            carryOver(previousNdjson, ndjson);
+            carryOver(previousCsv, csv);
+        }
+        addSealed(previousNdjson, previousCsv);
+
+        try {
+            writeManifest();
+        } catch (IOException e) {
+            // 다음 fsync 때 다시 쓴다.
+            log.warn("Manifest Write Failed: {}", directory, e);
+        }
+    }
+
+    private void carryOver(Segment failed, Segment next) {
+        try {
+            next.carryOver(failed);
+        } catch (IOException e) {
+            log.error("Segment Carry-over Failed: {} unsynced records of {} are lost",
+                failed.records - failed.durableRecords, failed.path, e);
+        }
+        failed.abandon();
+    }
+
+    private void loadManifest() throws IOException {
+        Path file = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        // 이전 프로세스가 열어둔 세그먼트는 마지막 fsync 지점까지만 유효하므로 그 크기로 봉인한다.
+        Manifest previous = objectMapper.readValue(file.toFile(), Manifest.class);
+        for (ManifestEntry entry : previous.segments()) {
+            sealedSegments.add(entry.status().equals("OPEN") ? entry.seal() : entry);
+        }
+        pruneSealed();
+    }
+
+    private void writeManifest() throws IOException {
+        List<ManifestEntry> segments = new ArrayList<>(sealedSegments);
+        if (ndjson.channel.isOpen()) {
+            segments.add(ndjson.toEntry("OPEN"));
+            segments.add(csv.toEntry("OPEN"));
+        }
+
+        Path tmp = directory.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), new Manifest(LocalDateTime.now(), segments));
+        Files.move(tmp, directory.resolve(MANIFEST_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 세그먼트 파일 하나. 버퍼에 모은 바이트를 FileChannel로 쓰고(written), force 이후의 크기(durable)를 따로 기록한다.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final String format;
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+        private long header;
+        private long written;
+        private long durable;
+        private long records;
+        private long durableRecords;
+
+        Segment(Path path, String format, int bufferSize) throws IOException {
+            this.path = path;
+            this.format = format;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(bufferSize);
+        }
+
+        void appendHeader(byte[] bytes) throws IOException {
+            write(bytes);
+            header = bytes.length;
+        }
+
+        // 한 줄(레코드) 단위로만 호출한다.
+        void append(byte[] line) throws IOException {
+            write(line);
+            records++;
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            reserve(bytes.length);
+            buffer.put(bytes);
+        }
+
+        // length 바이트를 버퍼에 넣을 자리를 만든다. 버퍼보다 큰 레코드는 버퍼를 늘려 한 번에 쓴다.
+        // 자리가 있으면 I/O 없이 돌아오므로, reserve 뒤의 append는 실패하지 않는다.
+        void reserve(int length) throws IOException {
+            if (length > buffer.remaining() && buffer.position() > 0) {
+                drain();
+            }
+            if (length > buffer.remaining()) {
+                buffer = ByteBuffer.allocate(length).put(buffer.flip());
+            }
+        }
+
+        long size() {
+            return written + buffer.position();
+        }
+
+        boolean hasUnsyncedData() {
+            return size() > durable;
+        }
+
+        // 쓰다가 실패해도 아직 쓰지 못한 바이트는 버퍼 앞쪽에 남긴다.
+        void drain() throws IOException {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer);
+                }
+            } finally {
+                buffer.compact();
+            }
+        }
+
+        void force() throws IOException {
+            drain();
+            channel.force(false);
+            durable = written;
+            durableRecords = records;
+        }
+
+        void close() throws IOException {
+            force();
+            channel.close();
+        }
+
+        // 실패한 세그먼트의 마지막 force 이후 레코드를 이 세그먼트 버퍼로 옮긴다. 헤더는 옮기지 않는다.
+        void carryOver(Segment failed) throws IOException {
+            byte[] bytes = failed.unsyncedRecords();
+            reserve(bytes.length);
+            buffer.put(bytes);
+            records += failed.records - failed.durableRecords;
+        }
+
+        private byte[] unsyncedRecords() throws IOException {
+            long from = Math.max(durable, header);
+            ByteBuffer unsynced = ByteBuffer.allocate((int) (size() - from));
+            if (from < written) {
+                unsynced.limit((int) (written - from));
+                try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+                    while (unsynced.hasRemaining()) {
+                        if (reader.read(unsynced, from + unsynced.position()) < 0) {
+                            throw new EOFException(path.toString());
+                        }
+                    }
+                }
+                unsynced.limit(unsynced.capacity());
+            }
+            int bufferFrom = (int) Math.max(0, from - written);
+            unsynced.put(buffer.array(), bufferFrom, buffer.position() - bufferFrom);
+            return unsynced.array();
+        }
+
+        void abandon() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Segment Close Failed: {}", path, e);
+            }
+        }
+
+        ManifestEntry toEntry(String status) {
+            return new ManifestEntry(path.getFileName().toString(), format, status, durableRecords, durable);
+        }
+    }
+
+    record Manifest(LocalDateTime updatedAt, List<ManifestEntry> segments) {}
+
+    record ManifestEntry(String file, String format, String status, long records, long bytes) {
+
+        ManifestEntry seal() {
+            return new ManifestEntry(file, format, "SEALED", records, bytes);
+        }
+    }
+}
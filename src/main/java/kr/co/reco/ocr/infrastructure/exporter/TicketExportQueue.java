@@ -0,0 +1,160 @@
+package kr.co.reco.ocr.infrastructure.exporter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics.Stage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 티켓의 파일 내보내기({@link TicketExporter})를 요청 스레드 밖에서 처리하는 파이프라인.
+ * <ul>
+ *     <li>커밋 이후에만 큐에 넣으므로 롤백된 티켓은 파일로 남지 않고, 디스크 I/O 동안 트랜잭션을 잡지 않는다.</li>
+ *     <li>전용 writer 스레드가 큐를 batch-size 단위로 꺼내 기록하고, 실패 시 max-attempts까지 재시도한다.</li>
+ *     <li>큐가 offer-timeout 동안 비지 않으면 호출 스레드가 직접 기록한다 (배압).</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TicketExportQueue {
+
+    // 큐가 비어 있어도 이 주기마다 exporter.flush()를 호출해 버퍼에 남은 내용을 내보낼 기회를 준다.
+    private static final long IDLE_FLUSH_MILLIS = 200;
+
+    private final TicketExporter exporter;
+    private final ParsingMetrics parsingMetrics;
+    private final BlockingQueue<WeightTicket> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TicketExportQueue(TicketExporter exporter,
+        ParsingMetrics parsingMetrics,
+        @Value("${app.export.queue-capacity:1024}") int queueCapacity,
+        @Value("${app.export.batch-size:64}") int batchSize,
+        @Value("${app.export.offer-timeout-ms:500}") long offerTimeoutMillis,
+        @Value("${app.export.max-attempts:3}") int maxAttempts,
+        @Value("${app.export.retry-backoff-ms:200}") long retryBackoffMillis) {
+        this.exporter = exporter;
+        this.parsingMetrics = parsingMetrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "ticket-export");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // interrupt하지 않는다. 기록 중에 인터럽트되면 exporter의 FileChannel이 ClosedByInterruptException으로 닫혀
+        // 이후 기록이 모두 실패한다. writer는 poll 주기마다 running을 확인하므로 진행 중인 배치를 마치고 끝난다.
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // 종료 시점에 남은 티켓은 유실되지 않도록 종료 스레드에서 마저 기록한다.
+        List<WeightTicket> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::exportWithRetry);
+        flushExporter();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSaved(WeightTicketSavedEvent event) {
+        for (WeightTicket ticket : event.tickets()) {
+            enqueue(ticket);
+        }
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void enqueue(WeightTicket ticket) {
+        try {
+            if (queue.offer(ticket, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            log.warn("Export queue full, exporting on caller thread: Ticket ID {}", ticket.getId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exportWithRetry(ticket);
+    }
+
+    private void drainLoop() {
+        List<WeightTicket> batch = new ArrayList<>(batchSize);
+        while (running) {
+            WeightTicket first;
+            try {
+                first = queue.poll(IDLE_FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.forEach(this::exportWithRetry);
+                batch.clear();
+            }
+            flushExporter();
+        }
+    }
+
+    private void flushExporter() {
+        try {
+            exporter.flush();
+        } catch (RuntimeException e) {
+            log.error("Export flush failed", e);
+        }
+    }
+
+    private void exportWithRetry(WeightTicket ticket) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long start = System.nanoTime();
+            try {
+                exporter.export(ticket);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    log.error("Export gave up after {} attempts: Ticket ID {}", attempt, ticket.getId(), e);
+                    return;
+                }
+                log.warn("Export attempt {} failed, retrying: Ticket ID {}", attempt, ticket.getId());
+                sleep(retryBackoffMillis * attempt);
+            } finally {
+                parsingMetrics.recordStage(Stage.EXPORT, start);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package kr.co.reco.ocr.infrastructure.exporter;
+
+import kr.co.reco.ocr.domain.WeightTicket;
+
+/**
+ * 커밋된 티켓을 외부 파일로 내보내는 방식. app.export.mode 값으로 구현체를 선택한다.
+ * <ul>
+ *     <li>per-ticket (기본값): {@link FileExporter} - 티켓마다 JSON/CSV 파일 2개</li>
+ *     <li>rolling: {@link RollingSegmentExporter} - NDJSON/CSV 세그먼트 파일에 이어 쓰기</li>
+ * </ul>
+ */
+public interface TicketExporter {
+
+    void export(WeightTicket ticket);
+
+    // 배치 경계 또는 유휴 시점마다 호출된다. 버퍼를 쓰는 구현체는 여기서 flush/fsync 주기를 확인한다.
+    default void flush() {
+    }
+}
@@ -0,0 +1,199 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 여러 키워드를 텍스트 한 번 순회로 찾는 Aho-Corasick 자동자. 생성 후에는 불변이므로 여러 스레드가 공유해도 된다.
+ * <ul>
+ *     <li>공백 허용: 키워드와 텍스트 모두 공백을 건너뛰고 비교한다 ('계 량 증 명 서'가 '계량증명서'와 일치).</li>
+ *     <li>영문은 대소문자를 구분하지 않는다 ('No.'와 'NO.').</li>
+ *     <li>일치 위치(start, end)는 원문 기준이며, end는 마지막 글자 다음 인덱스다.</li>
+ * </ul>
+ * 상태 전이는 상태별로 정렬된 문자 배열에 담아 이진 탐색한다. 한글처럼 문자 종류가 많아도 메모리는 키워드 길이 합에 비례한다.
+ */
+public final class AhoCorasick<T> {
+
+    @FunctionalInterface
+    public interface MatchHandler<T> {
+        // false를 반환하면 탐색을 멈춘다.
+        boolean onMatch(T value, int start, int end);
+    }
+
+    private final char[][] edgeChars;   // 상태별 전이 문자 (정렬)
+    private final int[][] edgeTargets;  // 상태별 전이 대상
+    private final int[] fail;
+    private final int[][] outputs;      // 상태에서 끝나는 키워드 번호 (실패 링크로 이어진 상태 포함)
+    private final int[] lengths;        // 키워드별 공백 제외 길이
+    private final List<T> values;
+    private final long[] rootChars;     // 루트에서 전이가 있는 문자 비트맵
+
+    private AhoCorasick(char[][] edgeChars, int[][] edgeTargets, int[] fail, int[][] outputs,
+        int[] lengths, List<T> values) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.lengths = lengths;
+        this.values = values;
+        this.rootChars = new long[(Character.MAX_VALUE + 1) >>> 6];
+        for (char c : edgeChars[0]) {
+            rootChars[c >>> 6] |= 1L << c;
+        }
+    }
+
+    /**
+     * 키워드 -> 값 목록으로 자동자를 만든다. 공백만 있는 키워드는 허용하지 않는다.
+     */
+    public static <T> AhoCorasick<T> compile(Map<String, T> keywords) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(new ArrayList<>());
+
+        int[] lengths = new int[keywords.size()];
+        List<T> values = new ArrayList<>(keywords.size());
+        int index = 0;
+        for (Map.Entry<String, T> keyword : keywords.entrySet()) {
+            int state = 0;
+            int length = 0;
+            for (int i = 0; i < keyword.getKey().length(); i++) {
+                char c = keyword.getKey().charAt(i);
+                if (isSkipped(c)) continue;
+                Integer next = trie.get(state).get(fold(c));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(fold(c), next);
+                    trie.add(new TreeMap<>());
+                    terminal.add(new ArrayList<>());
+                }
+                state = next;
+                length++;
+            }
+            if (length == 0) {
+                throw new IllegalArgumentException("빈 키워드는 사용할 수 없습니다: '" + keyword.getKey() + "'");
+            }
+            terminal.get(state).add(index);
+            lengths[index] = length;
+            values.add(keyword.getValue());
+            index++;
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = new char[edges.size()];
+            edgeTargets[state] = new int[edges.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[state][e] = edge.getKey();
+                edgeTargets[state][e] = edge.getValue();
+                e++;
+            }
+        }
+
+        // 너비 우선으로 실패 링크를 잇고, 실패 상태의 출력을 합친다.
+        int[] fail = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[0] = toArray(terminal.get(0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            fail[target] = 0;
+            outputs[target] = toArray(terminal.get(target));
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = 0; e < edgeChars[state].length; e++) {
+                char c = edgeChars[state][e];
+                int target = edgeTargets[state][e];
+                int f = fail[state];
+                int next;
+                while ((next = transition(edgeChars, edgeTargets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[target] = Math.max(next, 0);
+                outputs[target] = concat(toArray(terminal.get(target)), outputs[fail[target]]);
+                queue.add(target);
+            }
+        }
+        return new AhoCorasick<>(edgeChars, edgeTargets, fail, outputs, lengths, values);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void scan(CharSequence text, MatchHandler<T> handler) {
+        scan(text, 0, text.length(), handler);
+    }
+
+    /**
+     * text[from, to)에서 키워드를 찾아 끝 위치 순서대로 handler에 넘긴다.
+     */
+    public void scan(CharSequence text, int from, int to, MatchHandler<T> handler) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            char c = fold(text.charAt(i));
+            if (state == 0) {
+                // 대부분의 글자는 어떤 키워드의 첫 글자도 아니므로 비트맵 확인만으로 넘어간다.
+                if ((rootChars[c >>> 6] & (1L << c)) == 0) continue;
+            } else if (isSkipped(c)) {
+                continue;
+            }
+
+            int next;
+            while ((next = transition(edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+
+            for (int keyword : outputs[state]) {
+                if (!handler.onMatch(values.get(keyword), startOf(text, i, lengths[keyword]), i + 1)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // end에서 끝난 키워드의 원문 시작 위치. 일치할 때만 공백을 건너뛰며 거꾸로 센다.
+    private static int startOf(CharSequence text, int end, int length) {
+        int pos = end;
+        for (int remaining = length - 1; remaining > 0; remaining--) {
+            do {
+                pos--;
+            } while (isSkipped(text.charAt(pos)));
+        }
+        return pos;
+    }
+
+    private static int transition(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int e = Arrays.binarySearch(edgeChars[state], c);
+        return e >= 0 ? edgeTargets[state][e] : -1;
+    }
+
+    private static boolean isSkipped(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (b.length == 0) return a;
+        int[] merged = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, merged, a.length, b.length);
+        return merged;
+    }
+}
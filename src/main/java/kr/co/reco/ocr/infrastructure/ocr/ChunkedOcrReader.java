@@ -0,0 +1,125 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import java.io.IOException;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 조각으로 도착하는 OCR JSON(요청 본문 등)을 Jackson non-blocking 파서에 그대로 넣으며 루트의 text/confidence만 뽑는다.
+ * <ul>
+ *     <li>조각을 모으지 않고 넣는 즉시 토큰으로 소비하므로, 보관하는 것은 파서의 토큰 버퍼와 추출한 text뿐이다.</li>
+ *     <li>pages 등 하위 구조는 깊이만 세며 흘려보낸다. 단어 좌표가 필요한 layout 모드 필드는 만들지 않는다.</li>
+ *     <li>feed()는 넣은 조각을 모두 소비한 뒤 반환하므로, 호출자는 같은 읽기 버퍼를 다음 조각에 다시 써도 된다.</li>
+ * </ul>
+ * 요청 하나에서만 쓰며 스레드 안전하지 않다. {@link RawTextExtractor#chunkedReader(String)}로 만든다.
+ */
+@Slf4j
+public final class ChunkedOcrReader {
+
+    private static final String TEXT_FIELD = "text";
+    private static final String CONFIDENCE_FIELD = "confidence";
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final String source;
+
+    private int depth;
+    private boolean rootClosed;
+    private String rootField;
+    private String fullText;
+    private double confidence;
+
+    ChunkedOcrReader(JsonFactory jsonFactory, String source) {
+        try {
+            this.parser = jsonFactory.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.source = source;
+    }
+
+    public void feed(byte[] chunk, int offset, int length) {
+        try {
+            feeder.feedInput(chunk, offset, offset + length);
+            drain();
+        } catch (IOException e) {
+            throw toCustomException(e);
+        }
+    }
+
+    /**
+     * 입력 끝을 알리고 추출 결과를 반환한다. 루트 객체가 닫히지 않았으면 OCR_PARSING_FAILED.
+     */
+    OcrResult finish() {
+        try (parser) {
+            feeder.endOfInput();
+            drain();
+        } catch (IOException e) {
+            throw toCustomException(e);
+        }
+        if (!rootClosed) {
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        }
+        return OcrResult.builder()
+            .fullText(fullText)
+            .confidence(confidence)
+            .build();
+    }
+
+    /**
+     * 입력을 끝까지 넣지 않고 그만둔다. (업로드 실패/시간 초과) 이후 feed/finish는 호출하지 않는다.
+     */
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            log.warn("OCR JSON Parser Close Failed: {}", source, e);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (rootClosed) {
+                // 루트 객체 뒤에 이어지는 값은 무시한다.
+                continue;
+            }
+            if (depth == 0 && token != JsonToken.START_OBJECT) {
+                throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+            }
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    if (--depth == 0) rootClosed = true;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) rootField = parser.currentName();
+                }
+                case VALUE_STRING -> {
+                    if (depth == 1 && TEXT_FIELD.equals(rootField)) fullText = parser.getText();
+                }
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                    if (depth == 1 && CONFIDENCE_FIELD.equals(rootField)) confidence = parser.getDoubleValue();
+                }
+                default -> { }
+            }
+        }
+    }
+
+    private CustomException toCustomException(IOException e) {
+        if (e instanceof JsonProcessingException jsonException) {
+            log.warn("OCR JSON Parsing Error: {} - {}", source, jsonException.getOriginalMessage());
+            return new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        }
+        log.error("OCR JSON Read Error: {}", source, e);
+        return new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,16 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 텍스트에서 추출한 필드. weights는 kg 값을 나타난 순서대로 담고,
+ * grossWeight/tareWeight/netWeight는 같은 줄의 라벨로 역할이 확인된 값이다 (없으면 null).
+ */
+public record ExtractedFields(String carNumber, List<Double> weights, LocalDateTime scaledAt,
+                              Double grossWeight, Double tareWeight, Double netWeight) {
+
+    public int labeledWeightCount() {
+        return (grossWeight != null ? 1 : 0) + (tareWeight != null ? 1 : 0) + (netWeight != null ? 1 : 0);
+    }
+}
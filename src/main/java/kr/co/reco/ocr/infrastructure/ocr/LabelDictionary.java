@@ -0,0 +1,103 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 차량번호/중량 라벨 표기 사전. 텍스트 추출({@link RegexExtractor})과 단어 좌표 추출({@link LayoutExtractor})이 함께 쓴다.
+ * <ul>
+ *     <li>표기는 공백을 빼고 적는다. 글자 사이 공백('차 량 번 호')과 영문 대소문자('차량No', '차량NO')는 자동으로 허용한다.</li>
+ *     <li>모든 표기를 하나의 {@link AhoCorasick} 자동자로 컴파일하므로, 표기를 늘려도 텍스트는 한 번만 순회한다.</li>
+ *     <li>양식별 표기({@link TicketTemplate#labels()})는 {@link #withDefaults(Map)}로 기본 표기와 합쳐 양식마다 따로 컴파일한다.</li>
+ * </ul>
+ */
+public final class LabelDictionary {
+
+    public enum Label {
+        CAR_NUMBER, GROSS, TARE, NET;
+
+        public boolean isWeight() {
+            return this != CAR_NUMBER;
+        }
+    }
+
+    public static final LabelDictionary DEFAULT = new LabelDictionary(defaultVariants());
+
+    private final Map<String, Label> variants;
+    private final Set<String> prefixes;
+    private final AhoCorasick<Label> automaton;
+
+    public LabelDictionary(Map<String, Label> variants) {
+        Map<String, Label> normalized = new HashMap<>();
+        Set<String> prefixes = new HashSet<>();
+        variants.forEach((variant, label) -> {
+            String key = normalize(variant);
+            normalized.put(key, label);
+            for (int i = 1; i <= key.length(); i++) {
+                prefixes.add(key.substring(0, i));
+            }
+        });
+        this.variants = Map.copyOf(normalized);
+        this.prefixes = Set.copyOf(prefixes);
+        this.automaton = AhoCorasick.compile(variants);
+    }
+
+    /**
+     * 기본 표기에 variants를 더한 사전. 같은 표기는 variants의 역할을 따른다.
+     */
+    public static LabelDictionary withDefaults(Map<String, Label> variants) {
+        Map<String, Label> merged = defaultVariants();
+        merged.putAll(variants);
+        return new LabelDictionary(merged);
+    }
+
+    private static Map<String, Label> defaultVariants() {
+        Map<String, Label> variants = new LinkedHashMap<>();
+        variants.put("차량번호", Label.CAR_NUMBER);
+        variants.put("차번호", Label.CAR_NUMBER);
+        variants.put("차량No", Label.CAR_NUMBER);
+        variants.put("총중량", Label.GROSS);
+        variants.put("공차중량", Label.TARE);
+        variants.put("차중량", Label.TARE);
+        variants.put("실중량", Label.NET);
+        return variants;
+    }
+
+    public int size() {
+        return variants.size();
+    }
+
+    /**
+     * 공백을 뺀 표기(영문 대소문자 무관)에 해당하는 라벨, 없으면 null.
+     */
+    public Label get(CharSequence key) {
+        return variants.get(normalize(key));
+    }
+
+    /**
+     * 어떤 표기의 앞부분이면 true. 단어 여러 개로 나뉜 라벨을 이어 붙이며 확인할 때 쓴다.
+     */
+    public boolean isPrefix(CharSequence key) {
+        return prefixes.contains(normalize(key));
+    }
+
+    /**
+     * text[from, to)에서 라벨을 찾아 끝 위치 순서대로 handler에 넘긴다.
+     */
+    public void scan(CharSequence text, int from, int to, AhoCorasick.MatchHandler<Label> handler) {
+        automaton.scan(text, from, to, handler);
+    }
+
+    private static String normalize(CharSequence key) {
+        StringBuilder normalized = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) normalized.append(c);
+        }
+        return normalized.toString().toUpperCase(Locale.ROOT);
+    }
+}
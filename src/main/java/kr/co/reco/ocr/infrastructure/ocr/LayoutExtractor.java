@@ -0,0 +1,467 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import kr.co.reco.ocr.domain.FieldConfidence;
+import kr.co.reco.ocr.infrastructure.ocr.LabelDictionary.Label;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * pages[].words[]의 boundingBox로 단어를 행 단위로 묶고, 라벨(총중량, 공차중량, 실중량, 차량번호) 오른쪽의 값을 짝지어 추출한다.
+ * <ul>
+ *     <li>words 배열을 한 번만 순회하며, 단어는 좌표와 신뢰도만 남긴 {@link OcrWord}로 바꾼다.</li>
+ *     <li>열린 행은 기준 단어의 세로 중심으로 정렬된 TreeMap에 두고, 새 단어와 세로 중심이 가까운 행을 찾아 붙인다.</li>
+ *     <li>단어가 행보다 충분히 아래로 내려가면 그 행을 닫고 바로 라벨-값을 짝짓는다. 열린 행 수와 행당 단어 수에
+ *     상한이 있어 문서 크기와 관계없이 메모리 사용량이 일정하다.</li>
+ *     <li>중량은 라벨 뒤 첫 kg 단어에서 왼쪽으로 숫자 단어를 모은다. 시간(02:07, 11시 33분)은 kg과 떨어져 있거나
+ *     시간 표기를 포함하므로 텍스트 기반 추출처럼 시간을 지우는 전처리가 필요 없다.</li>
+ *     <li>값을 만든 단어의 신뢰도 최솟값을 필드 신뢰도로 함께 모은다. 계량일시는 스트림에서 마지막으로 본
+ *     날짜/시간 단어의 신뢰도를 쓴다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LayoutExtractor {
+
+    private static final String WORDS_FIELD = "words";
+    private static final String TEXT_FIELD = "text";
+    private static final String CONFIDENCE_FIELD = "confidence";
+    private static final String BOUNDING_BOX_FIELD = "boundingBox";
+    private static final String VERTICES_FIELD = "vertices";
+
+    // 세로 중심 차이가 두 단어 중 작은 높이의 절반 이하면 같은 행
+    private static final double ROW_TOLERANCE = 0.5;
+    // 값 단어 사이 가로 간격이 단어 높이의 2배를 넘으면 다른 열
+    private static final double COLUMN_GAP_FACTOR = 2.0;
+    private static final int MAX_OPEN_ROWS = 64;
+    private static final int MAX_ROW_WORDS = 256;
+
+    private static final LabelDictionary LABELS = LabelDictionary.DEFAULT;
+
+    /**
+     * parser는 pages 배열의 START_ARRAY에 있어야 하며, 배열 끝(END_ARRAY)까지 읽는다.
+     */
+    public LayoutFields readPages(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return LayoutFields.EMPTY;
+        }
+
+        FieldCollector collector = new FieldCollector();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            RowIndex rows = new RowIndex(collector);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && WORDS_FIELD.equals(fieldName)) {
+                    readWords(parser, rows);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            rows.closeAll();
+        }
+        return collector.toFields();
+    }
+
+    /**
+     * 페이지 하나의 words 배열만 읽는다. parser는 words 배열의 START_ARRAY에 있어야 하며, 배열 끝까지 읽는다.
+     * 페이지마다 티켓을 따로 만드는 경우에 쓴다.
+     */
+    public LayoutFields readPageWords(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return LayoutFields.EMPTY;
+        }
+
+        FieldCollector collector = new FieldCollector();
+        RowIndex rows = new RowIndex(collector);
+        readWords(parser, rows);
+        rows.closeAll();
+        return collector.toFields();
+    }
+
+    private void readWords(JsonParser parser, RowIndex rows) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            OcrWord word = readWord(parser);
+            if (word != null) {
+                rows.add(word);
+            }
+        }
+    }
+
+    private OcrWord readWord(JsonParser parser) throws IOException {
+        String text = null;
+        double confidence = 0.0;
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (TEXT_FIELD.equals(fieldName) && value == JsonToken.VALUE_STRING) {
+                text = parser.getText();
+            } else if (CONFIDENCE_FIELD.equals(fieldName) && value.isNumeric()) {
+                confidence = parser.getDoubleValue();
+            } else if (BOUNDING_BOX_FIELD.equals(fieldName) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    if (parser.nextToken() != JsonToken.START_ARRAY || !VERTICES_FIELD.equals(parser.currentName())) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        int x = 0, y = 0;
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String axis = parser.currentName();
+                            parser.nextToken();
+                            if ("x".equals(axis)) x = parser.getValueAsInt();
+                            else if ("y".equals(axis)) y = parser.getValueAsInt();
+                            else parser.skipChildren();
+                        }
+                        left = Math.min(left, x);
+                        right = Math.max(right, x);
+                        top = Math.min(top, y);
+                        bottom = Math.max(bottom, y);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (text == null || text.isBlank() || left > right || top >= bottom) {
+            return null;
+        }
+        return new OcrWord(text, left, top, right, bottom, confidence);
+    }
+
+    // ---------------------------------------------------------------- 행 묶기
+
+    /**
+     * 아직 닫히지 않은 행을 기준 단어의 세로 중심으로 색인한다.
+     */
+    private static final class RowIndex {
+
+        private final TreeMap<Integer, Row> openRows = new TreeMap<>();
+        private final FieldCollector collector;
+
+        RowIndex(FieldCollector collector) {
+            this.collector = collector;
+        }
+
+        void add(OcrWord word) {
+            collector.observe(word);
+            closeRowsAbove(word.top());
+
+            Row row = findRow(word);
+            if (row == null) {
+                if (openRows.size() >= MAX_OPEN_ROWS) {
+                    close(openRows.firstKey());
+                }
+                row = new Row(word);
+                openRows.put(word.centerY(), row);
+            } else if (row.words.size() < MAX_ROW_WORDS) {
+                row.words.add(word);
+            }
+        }
+
+        void closeAll() {
+            while (!openRows.isEmpty()) {
+                close(openRows.firstKey());
+            }
+        }
+
+        // 기준 단어 아래로 행 높이만큼 더 내려간 단어가 오면, 그 위의 행에는 더 붙을 단어가 없다고 본다.
+        private void closeRowsAbove(int top) {
+            while (!openRows.isEmpty()) {
+                Row first = openRows.firstEntry().getValue();
+                if (first.anchor.bottom() + first.anchor.height() >= top) {
+                    return;
+                }
+                close(openRows.firstKey());
+            }
+        }
+
+        // 세로 중심 바로 위/아래의 열린 행 중 허용 범위 안에서 더 가까운 행
+        private Row findRow(OcrWord word) {
+            Entry<Integer, Row> above = openRows.floorEntry(word.centerY());
+            Entry<Integer, Row> below = openRows.ceilingEntry(word.centerY());
+            int aboveDistance = rowDistance(above, word);
+            int belowDistance = rowDistance(below, word);
+            if (aboveDistance == Integer.MAX_VALUE && belowDistance == Integer.MAX_VALUE) {
+                return null;
+            }
+            return aboveDistance <= belowDistance ? above.getValue() : below.getValue();
+        }
+
+        private int rowDistance(Entry<Integer, Row> entry, OcrWord word) {
+            if (entry == null) return Integer.MAX_VALUE;
+            int distance = Math.abs(entry.getKey() - word.centerY());
+            boolean sameRow = distance <= ROW_TOLERANCE * Math.min(entry.getValue().anchor.height(), word.height());
+            return sameRow ? distance : Integer.MAX_VALUE;
+        }
+
+        private void close(Integer key) {
+            collector.accept(openRows.remove(key).words);
+        }
+    }
+
+    private static final class Row {
+
+        private final OcrWord anchor;
+        private final List<OcrWord> words = new ArrayList<>();
+
+        Row(OcrWord anchor) {
+            this.anchor = anchor;
+            words.add(anchor);
+        }
+    }
+
+    // ---------------------------------------------------------------- 라벨-값 짝짓기
+
+    /**
+     * 닫힌 행에서 라벨을 찾아 값을 짝짓는다. 같은 필드는 먼저 찾은 값을 유지한다.
+     */
+    private static final class FieldCollector {
+
+        private Found carNumber;
+        private Found grossWeight;
+        private Found tareWeight;
+        private Found netWeight;
+        private Double dateConfidence;
+        private Double timeConfidence;
+
+        // 행으로 묶기 전, 스트림 순서대로 본 단어. 텍스트 추출과 같이 마지막 날짜/시간을 계량일시 근거로 삼는다.
+        void observe(OcrWord word) {
+            if (containsDate(word.text())) dateConfidence = word.confidence();
+            if (containsTime(word.text())) timeConfidence = word.confidence();
+        }
+
+        void accept(List<OcrWord> row) {
+            row.sort(Comparator.comparingInt(OcrWord::left));
+            for (int i = 0; i < row.size(); i++) {
+                int labelEnd = matchLabelAt(row, i);
+                if (labelEnd < 0) continue;
+
+                Label label = LABELS.get(labelKey(row, i, labelEnd));
+                switch (label) {
+                    case CAR_NUMBER -> {
+                        if (carNumber == null) carNumber = carNumberAfter(row, labelEnd + 1);
+                    }
+                    case GROSS -> {
+                        if (grossWeight == null) grossWeight = weightAfter(row, labelEnd + 1);
+                    }
+                    case TARE -> {
+                        if (tareWeight == null) tareWeight = weightAfter(row, labelEnd + 1);
+                    }
+                    case NET -> {
+                        if (netWeight == null) netWeight = weightAfter(row, labelEnd + 1);
+                    }
+                }
+                i = labelEnd;
+            }
+        }
+
+        LayoutFields toFields() {
+            FieldConfidence confidence = FieldConfidence.builder()
+                .carNumberConfidence(Found.confidenceOf(carNumber))
+                .grossWeightConfidence(Found.confidenceOf(grossWeight))
+                .tareWeightConfidence(Found.confidenceOf(tareWeight))
+                .netWeightConfidence(Found.confidenceOf(netWeight))
+                .scaledAtConfidence(FieldConfidence.min(dateConfidence, timeConfidence))
+                .build();
+            return new LayoutFields(carNumber == null ? null : carNumber.text(),
+                toWeight(grossWeight), toWeight(tareWeight), toWeight(netWeight), confidence);
+        }
+
+        // row[start]부터 이어지는 단어들이 라벨 하나를 이루면 마지막 단어의 인덱스, 아니면 -1 ('총', '중', '량', ':' 처럼 나뉜 라벨 포함)
+        private int matchLabelAt(List<OcrWord> row, int start) {
+            StringBuilder key = new StringBuilder();
+            for (int j = start; j < row.size(); j++) {
+                appendLabelChars(row.get(j).text(), key);
+                if (key.isEmpty()) return -1;
+                if (LABELS.get(key) != null) return j;
+                if (!LABELS.isPrefix(key)) return -1;
+            }
+            return -1;
+        }
+
+        private String labelKey(List<OcrWord> row, int start, int end) {
+            StringBuilder key = new StringBuilder();
+            for (int j = start; j <= end; j++) {
+                appendLabelChars(row.get(j).text(), key);
+            }
+            return key.toString();
+        }
+
+        private Found carNumberAfter(List<OcrWord> row, int from) {
+            StringBuilder value = new StringBuilder();
+            double confidence = 1.0;
+            OcrWord previous = null;
+            for (int j = from; j < row.size(); j++) {
+                OcrWord word = row.get(j);
+                if (!hasLetterOrDigit(word.text())) continue;
+                if (previous != null && word.left() - previous.right() > COLUMN_GAP_FACTOR * word.height()) break;
+                for (char c : word.text().toCharArray()) {
+                    if (isDigit(c) || isHangul(c)) value.append(c);
+                }
+                confidence = Math.min(confidence, word.confidence());
+                previous = word;
+            }
+            return isCarNumber(value) ? new Found(value.toString(), confidence) : null;
+        }
+
+        // 라벨 뒤 첫 kg 단어에서 왼쪽으로, 같은 열의 숫자 단어를 이어 붙인다 ('13', '460' -> 13460).
+        private Found weightAfter(List<OcrWord> row, int from) {
+            int kgIndex = -1;
+            for (int j = from; j < row.size(); j++) {
+                if (endsWithKg(row.get(j).text())) {
+                    kgIndex = j;
+                    break;
+                }
+            }
+            if (kgIndex < 0) return null;
+
+            OcrWord kg = row.get(kgIndex);
+            StringBuilder digits = new StringBuilder(prefixBeforeKg(kg.text()));
+            double confidence = digits.isEmpty() ? 1.0 : kg.confidence();
+            int columnLeft = kg.left();
+            for (int j = kgIndex - 1; j >= from; j--) {
+                OcrWord word = row.get(j);
+                String text = word.text();
+                if (!hasLetterOrDigit(text)) continue;   // '·', ',' 같은 잡음
+                if (!isNumeric(text)) break;             // 시간(02:07, 11시) 또는 다른 글자
+                if (columnLeft - word.right() > COLUMN_GAP_FACTOR * kg.height()) break;
+                digits.insert(0, numberChars(text));
+                confidence = Math.min(confidence, word.confidence());
+                columnLeft = word.left();
+            }
+            return digits.isEmpty() ? null : new Found(digits.toString(), confidence);
+        }
+
+        private Double toWeight(Found found) {
+            if (found == null) return null;
+            try {
+                return Double.parseDouble(found.text());
+            } catch (NumberFormatException e) {
+                log.warn("중량 변환 실패: {}", found.text());
+                return null;
+            }
+        }
+    }
+
+    // 라벨로 찾은 값과 그 값을 만든 단어들의 최소 신뢰도
+    private record Found(String text, double confidence) {
+
+        static Double confidenceOf(Found found) {
+            return found == null ? null : found.confidence();
+        }
+    }
+
+    // ---------------------------------------------------------------- 문자 분류
+
+    private static void appendLabelChars(String text, StringBuilder key) {
+        for (int k = 0; k < text.length(); k++) {
+            char c = text.charAt(k);
+            if (isHangul(c)) key.append(c);
+            else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) key.append(Character.toUpperCase(c));
+        }
+    }
+
+    private static boolean endsWithKg(String text) {
+        int length = text.length();
+        return length >= 2
+            && Character.toLowerCase(text.charAt(length - 2)) == 'k'
+            && Character.toLowerCase(text.charAt(length - 1)) == 'g'
+            && isNumeric(text.substring(0, length - 2));
+    }
+
+    // '5,010kg'처럼 숫자와 kg이 한 단어로 인식된 경우의 숫자 부분
+    private static String prefixBeforeKg(String text) {
+        return numberChars(text.substring(0, text.length() - 2));
+    }
+
+    private static String numberChars(String text) {
+        StringBuilder number = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (isDigit(c) || c == '.') number.append(c);
+        }
+        return number.toString();
+    }
+
+    // 숫자와 천 단위 구분 기호(',', '.')로만 이루어진 단어
+    private static boolean isNumeric(String text) {
+        for (char c : text.toCharArray()) {
+            if (!isDigit(c) && c != ',' && c != '.') return false;
+        }
+        return true;
+    }
+
+    private static boolean hasLetterOrDigit(String text) {
+        for (char c : text.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) return true;
+        }
+        return false;
+    }
+
+    /** {@code (\d{4}|\d{2})[-./]\d{2}[-./]\d{2}}를 포함 */
+    private static boolean containsDate(String text) {
+        for (int i = 0; i + 8 <= text.length(); i++) {
+            int yearDigits = countDigits(text, i);
+            if (yearDigits != 2 && yearDigits != 4) continue;
+            int j = i + yearDigits;
+            if (isDateSeparator(text, j) && countDigits(text, j + 1) >= 2
+                && isDateSeparator(text, j + 3) && countDigits(text, j + 4) >= 2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** {@code \d{2}:\d{2}}를 포함 */
+    private static boolean containsTime(String text) {
+        for (int i = 2; i + 2 < text.length(); i++) {
+            if (text.charAt(i) == ':' && isDigit(text.charAt(i - 1)) && isDigit(text.charAt(i - 2))
+                && isDigit(text.charAt(i + 1)) && isDigit(text.charAt(i + 2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDateSeparator(String text, int index) {
+        if (index >= text.length()) return false;
+        char c = text.charAt(index);
+        return c == '-' || c == '.' || c == '/';
+    }
+
+    /** {@code (\d{2,3}[가-힣])?\d{4}} */
+    private static boolean isCarNumber(CharSequence value) {
+        int length = value.length();
+        if (length == 4) return countDigits(value, 0) == 4;
+        if (length != 7 && length != 8) return false;
+        int prefix = length - 5;
+        return countDigits(value, 0) == prefix && isHangul(value.charAt(prefix)) && countDigits(value, prefix + 1) == 4;
+    }
+
+    private static int countDigits(CharSequence s, int from) {
+        int count = 0;
+        while (from + count < s.length() && isDigit(s.charAt(from + count))) count++;
+        return count;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
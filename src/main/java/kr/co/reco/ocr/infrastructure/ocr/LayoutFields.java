@@ -0,0 +1,17 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import kr.co.reco.ocr.domain.FieldConfidence;
+
+/**
+ * 단어 배치(라벨 오른쪽의 값)로 찾은 필드. 찾지 못한 필드는 null이다.
+ * confidence에는 각 필드 값을 만든 단어들의 최소 신뢰도가 담기며, 계량일시는 마지막 날짜/시간 단어 기준이다.
+ */
+public record LayoutFields(String carNumber, Double grossWeight, Double tareWeight, Double netWeight,
+                           FieldConfidence confidence) {
+
+    public static final LayoutFields EMPTY = new LayoutFields(null, null, null, null, null);
+
+    public int weightCount() {
+        return (grossWeight != null ? 1 : 0) + (tareWeight != null ? 1 : 0) + (netWeight != null ? 1 : 0);
+    }
+}
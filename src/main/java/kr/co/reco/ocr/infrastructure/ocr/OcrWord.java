@@ -0,0 +1,15 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+/**
+ * OCR 단어 하나. boundingBox의 꼭짓점 대신 축에 정렬된 사각형(left, top, right, bottom)만 보관한다.
+ */
+public record OcrWord(String text, int left, int top, int right, int bottom, double confidence) {
+
+    public int height() {
+        return bottom - top;
+    }
+
+    public int centerY() {
+        return (top + bottom) / 2;
+    }
+}
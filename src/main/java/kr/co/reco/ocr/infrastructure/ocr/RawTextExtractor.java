@@ -1,49 +1,270 @@
 package kr.co.reco.ocr.infrastructure.ocr;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import java.io.File;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import kr.co.reco.ocr.application.dto.OcrResult;
 import kr.co.reco.ocr.global.error.CustomException;
 import kr.co.reco.ocr.global.error.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics.Stage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RawTextExtractor {
 
+    public static final String MODE_TEXT = "text";
+    public static final String MODE_LAYOUT = "layout";
+
+    private static final String TEXT_FIELD = "text";
+    private static final String CONFIDENCE_FIELD = "confidence";
+    private static final String PAGES_FIELD = "pages";
+    private static final String WORDS_FIELD = "words";
+
     private final ObjectMapper objectMapper;
+    private final ParsingMetrics parsingMetrics;
+    private final LayoutExtractor layoutExtractor;
+    private final boolean layoutMode;
+    private final long mmapThresholdBytes;
+
+    /**
+     * extractionMode가 layout이면 pages[].words[]도 같은 스트림에서 읽어 라벨-값 배치로 찾은 필드를 함께 반환한다.
+     * mmapThresholdBytes 이상인 파일은 메모리 매핑해서 읽는다.
+     */
+    public RawTextExtractor(ObjectMapper objectMapper,
+        ParsingMetrics parsingMetrics,
+        LayoutExtractor layoutExtractor,
+        @Value("${app.ocr.extraction-mode:text}") String extractionMode,
+        @Value("${app.ocr.mmap-threshold-bytes:8388608}") long mmapThresholdBytes) {
+        this.objectMapper = objectMapper;
+        this.parsingMetrics = parsingMetrics;
+        this.layoutExtractor = layoutExtractor;
+        this.layoutMode = MODE_LAYOUT.equalsIgnoreCase(extractionMode);
+        this.mmapThresholdBytes = mmapThresholdBytes;
+    }
 
     public OcrResult extract(String filePath) {
-        File jsonFile = new File(filePath);
+        Path jsonFile = Path.of(filePath);
 
-        if (!jsonFile.exists()) {
+        if (!Files.exists(jsonFile)) {
             throw new CustomException(ErrorCode.SAMPLE_FILE_NOT_FOUND);
         }
 
+        OcrResult ocrResult;
+        long start = System.nanoTime();
         try {
-            JsonNode root = objectMapper.readTree(jsonFile);
+            ocrResult = read(jsonFile);
+        } catch (IOException e) {
+            log.error("OCR JSON Parsing Error: {}", filePath, e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } finally {
+            parsingMetrics.recordStage(Stage.READ, start);
+        }
 
-            // 구글 OCR JSON 구조: 최하단 text 필드와 최상단 confidence 필드 추출
-            String fullText = root.path("text").asText();
-            Double confidence = root.path("confidence").asDouble();
+        return requireText(ocrResult);
+    }
 
-            if (fullText == null || fullText.isBlank()) {
-                throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
-            }
+    /**
+     * 업로드된 OCR JSON 스트림에서 추출하며, 스트림은 파싱이 끝나면 닫힌다.
+     * 파일과 달리 클라이언트가 보낸 본문이므로 JSON 형식 오류는 OCR_PARSING_FAILED로 처리한다.
+     */
+    public OcrResult extract(InputStream inputStream, String source) {
+        OcrResult ocrResult;
+        long start = System.nanoTime();
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            ocrResult = readRootFields(parser);
+        } catch (JsonProcessingException e) {
+            log.warn("OCR JSON Parsing Error: {} - {}", source, e.getOriginalMessage());
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        } catch (IOException e) {
+            log.error("OCR JSON Read Error: {}", source, e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } finally {
+            parsingMetrics.recordStage(Stage.READ, start);
+        }
 
-            return OcrResult.builder()
-                .fullText(fullText)
-                .confidence(confidence)
-                .build();
+        return requireText(ocrResult);
+    }
 
-        } catch (Exception e) {
-            log.error("OCR JSON Parsing Error: {}", filePath, e);
+    // mmapThresholdBytes 이상인 파일은 메모리 매핑해서 읽는다.
+    private OcrResult read(Path jsonFile) throws IOException {
+        long size = Files.size(jsonFile);
+        return size >= mmapThresholdBytes && size <= Integer.MAX_VALUE
+            ? readMapped(jsonFile)
+            : readFile(jsonFile);
+    }
+
+    private OcrResult readFile(Path jsonFile) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(jsonFile.toFile())) {
+            return readRootFields(parser);
+        }
+    }
+
+    /**
+     * 파일을 메모리 매핑해서 매핑된 버퍼를 그대로 파서 입력으로 쓴다. 파일 스트림과 달리 read 시스템 콜마다
+     * 커널 버퍼에서 복사하지 않고, 파서의 재사용 읽기 버퍼로만 옮겨 담는다.
+     * Jackson의 non-blocking ByteBuffer 파서는 복사는 없지만 바이트 단위 상태 기계라 더 느려 쓰지 않는다. (MappedReadBenchmark)
+     * 매핑은 채널을 닫아도 버퍼가 GC될 때까지 유지된다.
+     */
+    private OcrResult readMapped(Path jsonFile) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(jsonFile, StandardOpenOption.READ)) {
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        try (JsonParser parser = objectMapper.createParser(new ByteBufferBackedInputStream(buffer))) {
+            return readRootFields(parser);
+        }
+    }
+
+    /**
+     * 여러 계량표를 페이지로 묶은 OCR JSON에서 페이지마다 OcrResult를 만든다. (pages[].text, pages[].confidence)
+     * 루트 text/confidence는 읽지 않으며, 스트림은 파싱이 끝나면 닫힌다.
+     * 텍스트가 비어 있는 페이지도 순서를 유지하도록 그대로 담으므로, 호출자가 페이지별로 실패 처리한다.
+     */
+    public List<OcrResult> extractPages(InputStream inputStream, String source) {
+        List<OcrResult> pages;
+        long start = System.nanoTime();
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            pages = readPages(parser);
+        } catch (JsonProcessingException e) {
+            log.warn("OCR JSON Parsing Error: {} - {}", source, e.getOriginalMessage());
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        } catch (IOException e) {
+            log.error("OCR JSON Read Error: {}", source, e);
             throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        } finally {
+            parsingMetrics.recordStage(Stage.READ, start);
+        }
+
+        if (pages.isEmpty()) {
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        }
+        for (OcrResult page : pages) {
+            if (page.getFullText() != null && !page.getFullText().isBlank()) {
+                parsingMetrics.recordText(page.getFullText());
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * 조각으로 도착하는 OCR JSON(요청 본문 등)을 읽는 리더를 만든다. 추출 모드와 관계없이 text/confidence만 읽는다.
+     */
+    public ChunkedOcrReader chunkedReader(String source) {
+        return new ChunkedOcrReader(objectMapper.getFactory(), source);
+    }
+
+    /**
+     * 입력을 모두 넣은 리더에서 결과를 꺼낸다. 텍스트가 없으면 OCR_PARSING_FAILED.
+     */
+    public OcrResult complete(ChunkedOcrReader reader) {
+        return requireText(reader.finish());
+    }
+
+    private OcrResult requireText(OcrResult ocrResult) {
+        if (ocrResult.getFullText() == null || ocrResult.getFullText().isBlank()) {
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
         }
+        parsingMetrics.recordText(ocrResult.getFullText());
+        return ocrResult;
+    }
+
+    /**
+     * 구글 OCR JSON 구조: 최하단 text 필드와 최상단 confidence 필드만 필요하므로
+     * 트리를 만들지 않고 루트 필드만 순회하며, pages 등 하위 구조는 skipChildren()으로 건너뛴다.
+     * layout 모드에서는 pages를 건너뛰지 않고 LayoutExtractor가 이어서 읽는다.
+     */
+    private OcrResult readRootFields(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        }
+
+        String fullText = null;
+        double confidence = 0.0;
+        LayoutFields layoutFields = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (TEXT_FIELD.equals(fieldName) && value == JsonToken.VALUE_STRING) {
+                fullText = parser.getText();
+            } else if (CONFIDENCE_FIELD.equals(fieldName) && value.isNumeric()) {
+                confidence = parser.getDoubleValue();
+            } else if (layoutMode && PAGES_FIELD.equals(fieldName)) {
+                layoutFields = layoutExtractor.readPages(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return OcrResult.builder()
+            .fullText(fullText)
+            .confidence(confidence)
+            .layoutFields(layoutFields)
+            .build();
+    }
+
+    private List<OcrResult> readPages(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new CustomException(ErrorCode.OCR_PARSING_FAILED);
+        }
+
+        List<OcrResult> pages = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY || !PAGES_FIELD.equals(fieldName)) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                pages.add(readPage(parser));
+            }
+        }
+        return pages;
+    }
+
+    // 페이지 객체 하나를 읽는다. layout 모드면 그 페이지의 words로 라벨-값을 함께 찾는다.
+    private OcrResult readPage(JsonParser parser) throws IOException {
+        String text = null;
+        double confidence = 0.0;
+        LayoutFields layoutFields = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (TEXT_FIELD.equals(fieldName) && value == JsonToken.VALUE_STRING) {
+                text = parser.getText();
+            } else if (CONFIDENCE_FIELD.equals(fieldName) && value.isNumeric()) {
+                confidence = parser.getDoubleValue();
+            } else if (layoutMode && WORDS_FIELD.equals(fieldName)) {
+                layoutFields = layoutExtractor.readPageWords(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return OcrResult.builder()
+            .fullText(text)
+            .confidence(confidence)
+            .layoutFields(layoutFields)
+            .build();
     }
 
 }
@@ -5,65 +5,478 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import kr.co.reco.ocr.infrastructure.ocr.LabelDictionary.Label;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+/**
+ * OCR 텍스트를 한 번만 순회하면서 차량번호, 중량, 계량일시를 함께 추출한다.
+ * 정규식 컴파일 없이 문자 단위로 스캔하며, 각 규칙의 매칭 결과는 기존 정규식과 동일하다.
+ * 라벨(차량번호, 총중량 등)은 {@link LabelDictionary}의 자동자로 먼저 한 번 훑어 찾으므로, 표기를 추가해도 스캔 비용은 그대로다.
+ * <ul>
+ *     <li>차량 라벨 뒤 값: {@code [^0-9가-힣]*([0-9가-힣\s]{4,15})}</li>
+ *     <li>차량번호 형식: {@code \d{2,3}[가-힣]\d{4}|\d{4}}</li>
+ *     <li>중량: {@code ([^kg\n]{4,20})\s*kg} (대소문자 무시). 같은 줄, 직전 kg 뒤에 중량 라벨이 있으면 그 라벨의 값으로도 기록한다.</li>
+ *     <li>날짜: {@code (\d{4}|\d{2})[-./]\d{2}[-./]\d{2}}, 시간: {@code \d{2}:\d{2}(?::\d{2})?}</li>
+ * </ul>
+ */
 @Slf4j
 @Component
 public class RegexExtractor {
 
-    private static final Pattern CAR_PATTERN =
-        Pattern.compile("(차\\s*량\\s*번\\s*호|차\\s*번\\s*호|차\\s*량\\s*No\\.?)[^0-9가-힣]*([0-9가-힣\\s]{4,15})");
-    private static final Pattern CAR_NUMBER_FORMAT_PATTERN =
-        Pattern.compile("(\\d{2,3}[가-힣]\\d{4}|\\d{4})");
+    private static final String UNKNOWN_CAR_NUMBER = "UNKNOWN";
 
-    private static final Pattern KG_PATTERN =
-        Pattern.compile("([^kg\\n]{4,20})\\s*kg", Pattern.CASE_INSENSITIVE);
-    private static final String TIME_REGEX = "\\d{2}:\\d{2}(?::\\d{2})?";
-    private static final String DATE_REGEX = "(\\d{4}|\\d{2})[-./]\\d{2}[-./]\\d{2}";
+    private static final int CAR_CANDIDATE_MIN_LENGTH = 4;
+    private static final int CAR_CANDIDATE_MAX_LENGTH = 15;
+    private static final int WEIGHT_SEGMENT_MIN_LENGTH = 4;
+    private static final int WEIGHT_SEGMENT_MAX_LENGTH = 20;
+
+    private static final DateTimeFormatter DATE_TIME_WITH_SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_TIME_WITH_MINUTES = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final LabelDictionary labels;
+
+    public RegexExtractor() {
+        this(LabelDictionary.DEFAULT);
+    }
+
+    public RegexExtractor(LabelDictionary labels) {
+        this.labels = labels;
+    }
+
+    public ExtractedFields extract(String text) {
+        return extract(text, labels);
+    }
+
+    /**
+     * 양식별 라벨 사전(기본 표기 + 양식 표기)으로 추출한다.
+     */
+    public ExtractedFields extract(String text, LabelDictionary labels) {
+        return scan(text, labels, true, true, true);
+    }
 
     public String extractCarNumber(String text) {
-        Matcher carLabelMatcher = CAR_PATTERN.matcher(text);
-        if (carLabelMatcher.find()) {
-            String carNumberCandidate = carLabelMatcher.group(2).replaceAll("\\s", "");
-            Matcher carNumberFormatMatcher = CAR_NUMBER_FORMAT_PATTERN.matcher(carNumberCandidate);
-            if (carNumberFormatMatcher.find()) return carNumberFormatMatcher.group(1);
-        }
-        return "UNKNOWN";
+        return scan(text, labels, true, false, false).carNumber();
     }
 
     public List<Double> extractWeights(String text) {
-        List<Double> extractedWeights = new ArrayList<>();
-        Matcher kgMatcher = KG_PATTERN.matcher(text);
-
-        while (kgMatcher.find()) {
-            String onlyNumber = getOnlyNumber(kgMatcher);
-            if (!onlyNumber.isEmpty()) {
-                try {
-                    extractedWeights.add(Double.parseDouble(onlyNumber));
-                } catch (NumberFormatException e) {
-                    log.warn("중량 변환 실패: {}", onlyNumber);
+        return scan(text, labels, false, true, false).weights();
+    }
+
+    public LocalDateTime extractScaledAt(String text) {
+        return scan(text, labels, false, false, true).scaledAt();
+    }
+
+    private ExtractedFields scan(String text, LabelDictionary labels, boolean findCar, boolean findWeights,
+        boolean findScaledAt) {
+        int length = text.length();
+
+        LabelScan labelScan = new LabelScan(text, findCar, findWeights);
+        if (findCar || findWeights) {
+            labels.scan(text, 0, length, labelScan);
+        }
+
+        List<Double> weights = new ArrayList<>();
+        Double labeledGross = null, labeledTare = null, labeledNet = null;
+        int weightSearchFrom = 0;
+        int lineStart = 0;
+        int labelCursor = 0;
+        int lastDateStart = -1, lastDateEnd = -1, dateSearchFrom = 0;
+        int lastTimeStart = -1, lastTimeEnd = -1, timeSearchFrom = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c == '\n') {
+                lineStart = i + 1;
+            }
+
+            if (findWeights && (c == 'k' || c == 'K') && i + 1 < length && isG(text.charAt(i + 1))) {
+                // 직전 kg 뒤, 같은 줄에서 이 kg보다 앞에 끝나는 마지막 중량 라벨
+                Label label = null;
+                List<LabelHit> weightLabels = labelScan.weightLabels;
+                while (labelCursor < weightLabels.size() && weightLabels.get(labelCursor).end() <= i) {
+                    LabelHit hit = weightLabels.get(labelCursor++);
+                    if (hit.end() >= Math.max(weightSearchFrom, lineStart)) label = hit.label();
+                }
+
+                int found = weights.size();
+                if (addWeightEndingAt(text, i, weightSearchFrom, weights)) {
+                    weightSearchFrom = i + 2;
+                }
+                if (label != null && weights.size() > found) {
+                    Double weight = weights.get(found);
+                    if (label == Label.GROSS && labeledGross == null) labeledGross = weight;
+                    else if (label == Label.TARE && labeledTare == null) labeledTare = weight;
+                    else if (label == Label.NET && labeledNet == null) labeledNet = weight;
+                }
+            }
+
+            if (findScaledAt && isDigit(c)) {
+                if (i >= dateSearchFrom) {
+                    int end = matchDateAt(text, i);
+                    if (end > 0) {
+                        lastDateStart = i;
+                        lastDateEnd = end;
+                        dateSearchFrom = end;
+                    }
+                }
+                if (i >= timeSearchFrom) {
+                    int end = matchTimeAt(text, i);
+                    if (end > 0) {
+                        lastTimeStart = i;
+                        lastTimeEnd = end;
+                        timeSearchFrom = end;
+                    }
                 }
             }
         }
-        return extractedWeights;
+
+        LocalDateTime scaledAt = null;
+        if (findScaledAt && lastDateStart >= 0) {
+            String lastDate = text.substring(lastDateStart, lastDateEnd);
+            String lastTime = lastTimeStart >= 0 ? text.substring(lastTimeStart, lastTimeEnd) : null;
+            scaledAt = toScaledAt(lastDate, lastTime);
+        }
+
+        String carNumber = labelScan.carNumber;
+        return new ExtractedFields(carNumber != null ? carNumber : UNKNOWN_CAR_NUMBER, weights, scaledAt,
+            labeledGross, labeledTare, labeledNet);
     }
 
-    public LocalDateTime extractScaledAt(String text) {
-        String lastDate = findLastPattern(text, DATE_REGEX);
-        String lastTime = findLastPattern(text, TIME_REGEX);
+    /**
+     * 라벨 자동자의 일치 결과를 받아, 첫 차량 라벨 뒤 번호를 확정하고 중량 라벨 위치를 끝 위치 순으로 모은다.
+     * 차량번호만 찾는 경우 번호가 정해지면 바로 멈춘다.
+     */
+    private final class LabelScan implements AhoCorasick.MatchHandler<Label> {
 
-        if (lastDate == null) return null;
+        private final String text;
+        private final boolean findCar;
+        private final boolean findWeights;
+        private final List<LabelHit> weightLabels = new ArrayList<>();
+        private String carNumber;
 
-        String normalizedDate = lastDate.replace(".", "-").replace("/", "-");
+        private LabelScan(String text, boolean findCar, boolean findWeights) {
+            this.text = text;
+            this.findCar = findCar;
+            this.findWeights = findWeights;
+        }
+
+        @Override
+        public boolean onMatch(Label label, int start, int end) {
+            if (label == Label.CAR_NUMBER) {
+                if (findCar && carNumber == null) carNumber = matchCarNumberAfter(text, end);
+            } else if (findWeights && startsWord(text, start, end)) {
+                LabelHit last = weightLabels.isEmpty() ? null : weightLabels.get(weightLabels.size() - 1);
+                if (last == null || start >= last.end()) {
+                    weightLabels.add(new LabelHit(label, start, end));
+                } else if (end != last.end()) {
+                    // 끝 위치가 다른 라벨끼리 겹치면 어느 역할인지 알 수 없으므로 둘 다 라벨로 쓰지 않는다.
+                    weightLabels.set(weightLabels.size() - 1, new LabelHit(null, last.start(), last.end()));
+                }
+                // 같은 위치에서 끝나는 라벨은 긴 것부터 넘어오므로 첫 라벨만 쓴다.
+            }
+            return findWeights || carNumber == null;
+        }
+    }
+
+    // label이 null이면 겹친 라벨이라 역할을 붙이지 않는다.
+    private record LabelHit(Label label, int start, int end) {}
+
+    /**
+     * 라벨이 단어 중간에서 시작하지 않으면 true. 만차중량/빈차중량 안의 차중량처럼 앞에 한글이 붙은 일치는 버린다.
+     * 글자 사이 공백으로 인식된 라벨(만 차 중 량)은 앞 글자와도 공백 하나로 떨어져 있으므로, 그 앞의 한글까지 본다.
+     */
+    private static boolean startsWord(String text, int start, int end) {
+        if (start == 0) return true;
+        char before = text.charAt(start - 1);
+        if (isHangul(before)) return false;
+        int space = text.indexOf(' ', start);
+        boolean spaced = space >= 0 && space < end;
+        return !(spaced && before == ' ' && start >= 2 && isHangul(text.charAt(start - 2)));
+    }
+
+    // ---------------------------------------------------------------- 차량번호
+
+    /**
+     * 차량 라벨이 끝난 위치 뒤에서 값 규칙이 성립하면 형식 검증까지 마친 번호(실패 시 UNKNOWN)를, 성립하지 않으면 null을 반환한다.
+     */
+    private String matchCarNumberAfter(String text, int labelEnd) {
+        int length = text.length();
+        int valueStart = labelEnd;
+        while (valueStart < length && !isDigitOrHangul(text.charAt(valueStart))) valueStart++;
+
+        int runEnd = valueStart;
+        while (runEnd < length && isCarCandidateChar(text.charAt(runEnd))) runEnd++;
+
+        int candidateStart = valueStart;
+        int candidateRunEnd = runEnd;
+        if (runEnd - valueStart < CAR_CANDIDATE_MIN_LENGTH) {
+            // 라벨 뒤 구분 문자 구간의 공백도 후보가 될 수 있으므로, 4자 이상 이어지는 가장 뒤쪽 시작점을 찾는다.
+            candidateStart = -1;
+            int nextRunEnd = runEnd;
+            for (int b = valueStart - 1; b >= labelEnd; b--) {
+                int runEndAtB = isWhitespace(text.charAt(b)) ? nextRunEnd : b;
+                if (runEndAtB - b >= CAR_CANDIDATE_MIN_LENGTH) {
+                    candidateStart = b;
+                    candidateRunEnd = runEndAtB;
+                    break;
+                }
+                nextRunEnd = runEndAtB;
+            }
+            if (candidateStart < 0) return null;
+        }
+        int candidateEnd = Math.min(candidateRunEnd, candidateStart + CAR_CANDIDATE_MAX_LENGTH);
+
+        StringBuilder candidate = new StringBuilder(candidateEnd - candidateStart);
+        for (int j = candidateStart; j < candidateEnd; j++) {
+            char ch = text.charAt(j);
+            if (!isWhitespace(ch)) candidate.append(ch);
+        }
+        return findCarNumberFormat(candidate);
+    }
+
+    private String findCarNumberFormat(CharSequence candidate) {
+        int length = candidate.length();
+        for (int j = 0; j < length; j++) {
+            int digits = countDigits(candidate, j);
+            if (digits == 2 || digits == 3) {
+                int hangulAt = j + digits;
+                if (hangulAt < length && isHangul(candidate.charAt(hangulAt)) && countDigits(candidate, hangulAt + 1) >= 4) {
+                    return candidate.subSequence(j, hangulAt + 5).toString();
+                }
+            } else if (digits >= 4) {
+                return candidate.subSequence(j, j + 4).toString();
+            }
+        }
+        return UNKNOWN_CAR_NUMBER;
+    }
+
+    // ---------------------------------------------------------------- 중량
+
+    /**
+     * kgIndex 위치의 kg 앞 4~20자 구간(k, g, 개행 제외)을 찾아 중량으로 변환한다.
+     * 구간이 성립하면 변환 성공 여부와 관계없이 true를 반환해 다음 탐색 시작점을 kg 뒤로 옮긴다.
+     */
+    private boolean addWeightEndingAt(String text, int kgIndex, int searchFrom, List<Double> weights) {
+        int wsStart = kgIndex;
+        while (wsStart > searchFrom && isWhitespace(text.charAt(wsStart - 1))) wsStart--;
+
+        int segmentLimit = kgIndex;
+        for (int j = wsStart; j < kgIndex; j++) {
+            if (text.charAt(j) == '\n') {
+                segmentLimit = j;
+                break;
+            }
+        }
+
+        int windowStart = Math.max(searchFrom, wsStart - WEIGHT_SEGMENT_MAX_LENGTH);
+        int segmentStart = windowStart;
+        for (int j = wsStart - 1; j >= windowStart; j--) {
+            if (isSegmentBreak(text.charAt(j))) {
+                segmentStart = j + 1;
+                break;
+            }
+        }
+        if (segmentLimit - segmentStart < WEIGHT_SEGMENT_MIN_LENGTH) return false;
+
+        int segmentEnd = Math.min(segmentLimit, segmentStart + WEIGHT_SEGMENT_MAX_LENGTH);
+        String onlyNumber = getOnlyNumber(text.substring(segmentStart, segmentEnd));
+        if (!onlyNumber.isEmpty()) {
+            try {
+                weights.add(Double.parseDouble(onlyNumber));
+            } catch (NumberFormatException e) {
+                log.warn("중량 변환 실패: {}", onlyNumber);
+            }
+        }
+        return true;
+    }
+
+    private String getOnlyNumber(String rawSegment) {
+        String preProcessed = removeTimeReference(rawSegment);
+        int regionStart = weightRegionStart(preProcessed);
+
+        StringBuilder number = new StringBuilder(preProcessed.length() - regionStart);
+        for (int j = regionStart; j < preProcessed.length(); j++) {
+            char ch = preProcessed.charAt(j);
+            if (isDigit(ch) || ch == '.') number.append(ch);
+        }
+        return number.toString();
+    }
+
+    private String removeTimeReference(String segment) {
+        segment = removeDateReference(segment);
+
+        if (segment.indexOf('분') >= 0) {
+            return stripThroughLastMarker(segment, false);
+        }
+        if (segment.indexOf(':') >= 0) {
+            return stripThroughLastMarker(removeClockReference(segment), true);
+        }
+        return segment;
+    }
+
+    /** {@code \d{2,4}[-./]\d{1,2}[-./]\d{1,2}} 제거 */
+    private String removeDateReference(String segment) {
+        StringBuilder result = null;
+        int copiedUntil = 0;
+        int j = 0;
+        while (j < segment.length()) {
+            int end = matchLooseDateAt(segment, j);
+            if (end < 0) {
+                j++;
+                continue;
+            }
+            if (result == null) result = new StringBuilder(segment.length());
+            result.append(segment, copiedUntil, j);
+            copiedUntil = end;
+            j = end;
+        }
+        if (result == null) return segment;
+        return result.append(segment, copiedUntil, segment.length()).toString();
+    }
+
+    private int matchLooseDateAt(CharSequence s, int j) {
+        int year = countDigits(s, j);
+        if (year < 2 || year > 4 || !isDateSeparator(charAt(s, j + year))) return -1;
+
+        int monthStart = j + year + 1;
+        int month = countDigits(s, monthStart);
+        if (month < 1 || month > 2 || !isDateSeparator(charAt(s, monthStart + month))) return -1;
+
+        int dayStart = monthStart + month + 1;
+        int day = countDigits(s, dayStart);
+        if (day < 1) return -1;
+        return dayStart + Math.min(day, 2);
+    }
+
+    /** {@code \d{1,2}\s*:\s*\d{1,2}(\s*:\s*\d{1,2})?} 제거 */
+    private String removeClockReference(String segment) {
+        StringBuilder result = null;
+        int copiedUntil = 0;
+        int j = 0;
+        while (j < segment.length()) {
+            int end = matchLooseClockAt(segment, j);
+            if (end < 0) {
+                j++;
+                continue;
+            }
+            if (result == null) result = new StringBuilder(segment.length());
+            result.append(segment, copiedUntil, j);
+            copiedUntil = end;
+            j = end;
+        }
+        if (result == null) return segment;
+        return result.append(segment, copiedUntil, segment.length()).toString();
+    }
+
+    private int matchLooseClockAt(CharSequence s, int j) {
+        int hour = countDigits(s, j);
+        if (hour < 1 || hour > 2) return -1;
+
+        int end = matchColonDigits(s, j + hour);
+        if (end < 0) return -1;
+
+        int secondsEnd = matchColonDigits(s, end);
+        return secondsEnd < 0 ? end : secondsEnd;
+    }
+
+    /** {@code \s*:\s*\d{1,2}} */
+    private int matchColonDigits(CharSequence s, int from) {
+        int pos = skipWhitespace(s, from);
+        if (charAt(s, pos) != ':') return -1;
+        pos = skipWhitespace(s, pos + 1);
+        int digits = countDigits(s, pos);
+        if (digits < 1) return -1;
+        return pos + Math.min(digits, 2);
+    }
+
+    /**
+     * {@code replaceAll(".*분\\s*", "")} 또는 {@code replaceAll(".*[:시]\\s*", "")}과 동일하게,
+     * 각 줄에서 마지막 표식 문자까지와 그 뒤 공백을 잘라낸다.
+     */
+    private String stripThroughLastMarker(String s, boolean colonOrHour) {
+        int length = s.length();
+        StringBuilder result = new StringBuilder(length);
+        int pos = 0;
+        while (pos < length) {
+            int lineEnd = pos;
+            int lastMarker = -1;
+            while (lineEnd < length && !isLineTerminator(s.charAt(lineEnd))) {
+                if (isMarker(s.charAt(lineEnd), colonOrHour)) lastMarker = lineEnd;
+                lineEnd++;
+            }
+            if (lastMarker >= 0) {
+                pos = skipWhitespace(s, lastMarker + 1);
+            } else {
+                int copyEnd = Math.min(lineEnd + 1, length);
+                result.append(s, pos, copyEnd);
+                pos = copyEnd;
+            }
+        }
+        return result.toString();
+    }
+
+    private boolean isMarker(char c, boolean colonOrHour) {
+        return colonOrHour ? (c == ':' || c == '시') : c == '분';
+    }
+
+    /**
+     * {@code replaceAll("^.*[^0-9,.\\s]+", "")}: 첫 줄에서 숫자/쉼표/마침표/공백이 아닌 마지막 문자 다음 위치를 반환한다.
+     */
+    private int weightRegionStart(String s) {
+        int lineEnd = 0;
+        while (lineEnd < s.length() && !isLineTerminator(s.charAt(lineEnd))) lineEnd++;
+
+        if (lineEnd < s.length() && isWeightNoise(s.charAt(lineEnd))) {
+            int end = lineEnd;
+            while (end < s.length() && isWeightNoise(s.charAt(end))) end++;
+            return end;
+        }
+        for (int j = lineEnd - 1; j >= 0; j--) {
+            if (isWeightNoise(s.charAt(j))) return j + 1;
+        }
+        return 0;
+    }
+
+    private boolean isWeightNoise(char c) {
+        return !isDigit(c) && c != ',' && c != '.' && !isWhitespace(c);
+    }
+
+    // ---------------------------------------------------------------- 계량일시
+
+    /** {@code (\d{4}|\d{2})[-./]\d{2}[-./]\d{2}} */
+    private int matchDateAt(CharSequence s, int j) {
+        int monthStart;
+        if (countDigits(s, j) >= 4 && isDateSeparator(charAt(s, j + 4))) {
+            monthStart = j + 5;
+        } else if (countDigits(s, j) >= 2 && isDateSeparator(charAt(s, j + 2))) {
+            monthStart = j + 3;
+        } else {
+            return -1;
+        }
+
+        if (countDigits(s, monthStart) < 2 || !isDateSeparator(charAt(s, monthStart + 2))) return -1;
+        int dayStart = monthStart + 3;
+        return countDigits(s, dayStart) >= 2 ? dayStart + 2 : -1;
+    }
+
+    /** {@code \d{2}:\d{2}(?::\d{2})?} */
+    private int matchTimeAt(CharSequence s, int j) {
+        if (countDigits(s, j) < 2 || charAt(s, j + 2) != ':' || countDigits(s, j + 3) < 2) return -1;
+        int end = j + 5;
+        if (charAt(s, end) == ':' && countDigits(s, end + 1) >= 2) return end + 3;
+        return end;
+    }
+
+    private LocalDateTime toScaledAt(String lastDate, String lastTime) {
+        String normalizedDate = lastDate.replace('.', '-').replace('/', '-');
 
         try {
             if (lastTime != null) {
                 String dateTimeStr = normalizedDate + " " + lastTime;
-                String format = lastTime.length() > 5 ? "yyyy-MM-dd HH:mm:ss" : "yyyy-MM-dd HH:mm";
-                return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern(format));
+                DateTimeFormatter formatter = lastTime.length() > 5 ? DATE_TIME_WITH_SECONDS : DATE_TIME_WITH_MINUTES;
+                return LocalDateTime.parse(dateTimeStr, formatter);
             } else {
                 return LocalDate.parse(normalizedDate).atStartOfDay();
             }
@@ -73,34 +486,59 @@ public class RegexExtractor {
         }
     }
 
-    private String getOnlyNumber(Matcher kgMatcher) {
-        String rawSegment = kgMatcher.group(1);
-        String preProcessed = removeTimeReference(rawSegment);
+    // ---------------------------------------------------------------- 문자 분류
 
-        String weightRegion = preProcessed.replaceAll("^.*[^0-9,.\\s]+", "");
+    private static char charAt(CharSequence s, int index) {
+        return index < s.length() ? s.charAt(index) : '\0';
+    }
 
-        return weightRegion.replaceAll("[^0-9.]", "");
+    private static int countDigits(CharSequence s, int from) {
+        int end = from;
+        while (end < s.length() && isDigit(s.charAt(end))) end++;
+        return end - from;
     }
 
-    private String removeTimeReference(String segment) {
-        segment = segment.replaceAll("\\d{2,4}[-./]\\d{1,2}[-./]\\d{1,2}", "");
+    private static int skipWhitespace(CharSequence s, int from) {
+        int pos = from;
+        while (pos < s.length() && isWhitespace(s.charAt(pos))) pos++;
+        return pos;
+    }
 
-        if (segment.contains("분")) {
-            return segment.replaceAll(".*분\\s*", "");
-        }
-        if (segment.contains(":")) {
-            String noFormatTime = segment.replaceAll("\\d{1,2}\\s*:\\s*\\d{1,2}(\\s*:\\s*\\d{1,2})?", "");
-            return noFormatTime.replaceAll(".*[:시]\\s*", "");
-        }
-        return segment;
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
-    private String findLastPattern(String text, String regex) {
-        Matcher matcher = Pattern.compile(regex).matcher(text);
-        String lastMatch = null;
-        while (matcher.find()) {
-            lastMatch = matcher.group();
-        }
-        return lastMatch;
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static boolean isDigitOrHangul(char c) {
+        return isDigit(c) || isHangul(c);
+    }
+
+    private static boolean isCarCandidateChar(char c) {
+        return isDigitOrHangul(c) || isWhitespace(c);
+    }
+
+    private static boolean isG(char c) {
+        return c == 'g' || c == 'G';
+    }
+
+    private static boolean isSegmentBreak(char c) {
+        return c == 'k' || c == 'K' || isG(c) || c == '\n';
+    }
+
+    private static boolean isDateSeparator(char c) {
+        return c == '-' || c == '.' || c == '/';
+    }
+
+    /** 정규식 {@code \s}와 동일한 공백 집합 */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** 정규식 {@code .}이 매칭하지 않는 줄 종결 문자 */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 }
@@ -0,0 +1,35 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import java.util.List;
+import java.util.Map;
+import kr.co.reco.ocr.infrastructure.ocr.LabelDictionary.Label;
+
+/**
+ * 계량표 양식 하나의 분류 키워드와 추출 규칙. 외부 설정(ticket-templates.json)에서 읽는다.
+ *
+ * @param name        양식 이름 (로그/식별용)
+ * @param keywords    머리말에서 찾을 키워드. 공백과 영문 대소문자는 무시한다.
+ * @param minMatches  이 양식으로 분류하기 위해 일치해야 하는 서로 다른 키워드 수 (기본 1)
+ * @param weightOrder 텍스트에 나타나는 kg 값의 순서별 역할. 비어 있으면 기본 규칙(총중량, 공차중량, 실중량 순)을 쓴다.
+ * @param labels      이 양식에서만 쓰는 라벨 표기 -> 역할. 기본 표기({@link LabelDictionary#DEFAULT})에 더해 쓴다.
+ */
+public record TicketTemplate(String name, List<String> keywords, Integer minMatches, List<WeightRole> weightOrder,
+                             Map<String, Label> labels) {
+
+    public static final TicketTemplate DEFAULT = new TicketTemplate("default", List.of(), 0, List.of(), Map.of());
+
+    public enum WeightRole {
+        GROSS, TARE, NET, IGNORE
+    }
+
+    public TicketTemplate {
+        keywords = keywords == null ? List.of() : List.copyOf(keywords);
+        minMatches = minMatches == null ? 1 : minMatches;
+        weightOrder = weightOrder == null ? List.of() : List.copyOf(weightOrder);
+        labels = labels == null ? Map.of() : Map.copyOf(labels);
+    }
+
+    public boolean hasWeightOrder() {
+        return !weightOrder.isEmpty();
+    }
+}
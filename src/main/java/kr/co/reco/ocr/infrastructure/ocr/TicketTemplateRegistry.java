@@ -0,0 +1,213 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계량표 양식({@link TicketTemplate}) 목록을 외부 설정에서 읽고, OCR 텍스트의 머리말로 양식을 고른다.
+ * <ul>
+ *     <li>모든 양식의 키워드를 하나의 {@link AhoCorasick} 자동자로 묶어, 양식 수와 관계없이 머리말을 한 번만 순회한다.</li>
+ *     <li>설정 파일이 파일 시스템에 있으면 reload-interval-ms마다 수정 시각을 확인해 재시작 없이 다시 읽는다.</li>
+ *     <li>양식별 라벨 표기는 읽을 때 기본 표기와 합쳐 양식마다 {@link LabelDictionary}로 컴파일해 둔다.</li>
+ *     <li>다시 읽기에 실패하면 기존 양식 목록을 그대로 쓴다. 요청 스레드는 불변 스냅샷만 읽으므로 잠금이 없다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TicketTemplateRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final Resource resource;
+    private final long reloadIntervalMillis;
+    private final int headerLines;
+
+    private volatile TemplateSet templateSet;
+    private ScheduledExecutorService reloader;
+
+    public TicketTemplateRegistry(ObjectMapper objectMapper,
+        ResourceLoader resourceLoader,
+        @Value("${app.ocr.templates.location:classpath:ticket-templates.json}") String location,
+        @Value("${app.ocr.templates.reload-interval-ms:5000}") long reloadIntervalMillis,
+        @Value("${app.ocr.templates.header-lines:3}") int headerLines) {
+        this.objectMapper = objectMapper;
+        this.resource = resourceLoader.getResource(location);
+        this.reloadIntervalMillis = reloadIntervalMillis;
+        this.headerLines = headerLines;
+        // 최초 로딩 실패는 잘못된 설정이므로 기동을 멈춘다.
+        this.templateSet = load(lastModified());
+    }
+
+    @PostConstruct
+    void start() {
+        if (reloadIntervalMillis <= 0 || !resource.isFile()) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-template-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadIfModified,
+            reloadIntervalMillis, reloadIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    public List<TicketTemplate> getTemplates() {
+        return templateSet.templates();
+    }
+
+    /**
+     * 머리말(앞쪽 header-lines 줄)에서 서로 다른 키워드가 가장 많이 일치한 양식을 반환한다.
+     * 동점이면 설정 파일에서 앞선 양식, minMatches를 채운 양식이 없으면 {@link TicketTemplate#DEFAULT}.
+     */
+    public TicketTemplate classify(String text) {
+        return resolve(text).template();
+    }
+
+    /**
+     * {@link #classify(String)}와 같이 양식을 고르고, 그 양식의 라벨 사전을 함께 반환한다.
+     */
+    public CompiledTemplate resolve(String text) {
+        TemplateSet current = templateSet;
+        if (text == null || current.templates().isEmpty()) {
+            return CompiledTemplate.DEFAULT;
+        }
+
+        // 일치한 키워드만 세므로 요청당 비용은 양식 수가 아니라 머리말 길이와 일치 수에 비례한다.
+        Set<KeywordRef> seen = new HashSet<>();
+        Map<Integer, Integer> hits = new HashMap<>();
+        current.automaton().scan(text, 0, headerEnd(text), (refs, start, end) -> {
+            for (KeywordRef ref : refs) {
+                if (seen.add(ref)) {
+                    hits.merge(ref.template(), 1, Integer::sum);
+                }
+            }
+            return true;
+        });
+
+        int best = -1;
+        int bestHits = 0;
+        for (Map.Entry<Integer, Integer> entry : hits.entrySet()) {
+            int index = entry.getKey();
+            int count = entry.getValue();
+            if (count < current.templates().get(index).minMatches()) continue;
+            if (count > bestHits || (count == bestHits && index < best)) {
+                best = index;
+                bestHits = count;
+            }
+        }
+        return best < 0 ? CompiledTemplate.DEFAULT : current.compiled().get(best);
+    }
+
+    void reloadIfModified() {
+        long modified = lastModified();
+        if (modified == templateSet.lastModified()) {
+            return;
+        }
+        try {
+            templateSet = load(modified);
+            log.info("Ticket templates reloaded: {} templates ({})",
+                templateSet.templates().size(), resource.getDescription());
+        } catch (RuntimeException e) {
+            // 같은 파일을 매 주기마다 다시 시도하지 않도록 수정 시각만 갱신한다.
+            log.warn("Ticket template reload failed, keeping previous templates: {}", e.getMessage());
+            templateSet = new TemplateSet(templateSet.templates(), templateSet.compiled(), templateSet.automaton(),
+                modified);
+        }
+    }
+
+    private int headerEnd(String text) {
+        int lines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n' && ++lines == headerLines) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private TemplateSet load(long modified) {
+        TemplateConfig config;
+        try (InputStream in = resource.getInputStream()) {
+            config = objectMapper.readValue(in, TemplateConfig.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("계량표 양식 설정을 읽을 수 없습니다: " + resource.getDescription(), e);
+        }
+
+        List<TicketTemplate> templates = config.templates() == null ? List.of() : List.copyOf(config.templates());
+        List<CompiledTemplate> compiled = new ArrayList<>(templates.size());
+        Map<String, List<KeywordRef>> keywords = new LinkedHashMap<>();
+        for (int t = 0; t < templates.size(); t++) {
+            TicketTemplate template = templates.get(t);
+            validate(template);
+            for (int k = 0; k < template.keywords().size(); k++) {
+                keywords.computeIfAbsent(template.keywords().get(k), key -> new ArrayList<>())
+                    .add(new KeywordRef(t, k));
+            }
+            // 라벨 표기가 없는 양식은 기본 사전을 함께 쓴다.
+            compiled.add(new CompiledTemplate(template, template.labels().isEmpty()
+                ? LabelDictionary.DEFAULT : LabelDictionary.withDefaults(template.labels())));
+        }
+        return new TemplateSet(templates, List.copyOf(compiled), AhoCorasick.compile(keywords), modified);
+    }
+
+    private void validate(TicketTemplate template) {
+        if (template.name() == null || template.keywords().isEmpty()) {
+            throw new IllegalStateException("양식에는 name과 keywords가 필요합니다: " + template);
+        }
+        if (template.minMatches() < 1 || template.minMatches() > template.keywords().size()) {
+            throw new IllegalStateException("minMatches는 1 이상, 키워드 수 이하여야 합니다: " + template.name());
+        }
+        if (template.labels().keySet().stream().anyMatch(String::isBlank)) {
+            throw new IllegalStateException("labels의 표기는 비어 있을 수 없습니다: " + template.name());
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 양식과 그 양식의 라벨 사전(기본 표기 + 양식 표기).
+     */
+    public record CompiledTemplate(TicketTemplate template, LabelDictionary labels) {
+
+        public static final CompiledTemplate DEFAULT = new CompiledTemplate(TicketTemplate.DEFAULT,
+            LabelDictionary.DEFAULT);
+    }
+
+    private record TemplateConfig(List<TicketTemplate> templates) {}
+
+    private record KeywordRef(int template, int keyword) {}
+
+    private record TemplateSet(List<TicketTemplate> templates, List<CompiledTemplate> compiled,
+                               AhoCorasick<List<KeywordRef>> automaton, long lastModified) {}
+}
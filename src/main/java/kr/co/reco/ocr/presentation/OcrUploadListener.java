@@ -0,0 +1,134 @@
+package kr.co.reco.ocr.presentation;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.function.Function;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.infrastructure.ocr.ChunkedOcrReader;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+/**
+ * 요청 본문을 Servlet 비동기 읽기({@link ReadListener})로 받아, 도착한 조각마다 {@link ChunkedOcrReader}에 넣는다.
+ * <ul>
+ *     <li>본문이 도착하기를 기다리는 동안 요청 스레드를 점유하지 않는다. 컨테이너는 읽을 데이터가 있을 때만 콜백한다.</li>
+ *     <li>읽기 버퍼 하나를 재사용하므로 본문 크기와 관계없이 연결당 메모리가 일정하다. (추출한 text 제외)</li>
+ *     <li>ReadListener는 비동기 처리가 시작된 뒤에만 등록할 수 있어, DeferredResult 처리가 시작되는 시점(preProcess)에 등록한다.</li>
+ *     <li>시간 초과/오류로 응답이 먼저 끝나면 파서를 닫고, 그 뒤에 도착한 본문은 파싱/저장하지 않는다.</li>
+ * </ul>
+ * 읽기 콜백과 시간 초과 콜백은 서로 다른 컨테이너 스레드에서 올 수 있어 리더 접근을 동기화한다.
+ */
+@Slf4j
+final class OcrUploadListener<T> implements ReadListener, DeferredResultProcessingInterceptor {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final RawTextExtractor extractor;
+    private final ChunkedOcrReader reader;
+    private final Function<OcrResult, T> onComplete;
+    private final DeferredResult<T> result = new DeferredResult<>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private ServletInputStream input;
+    private boolean failed;  // 응답이 이미 정해졌거나 정해질 예정이라 더 읽지 않는다.
+
+    private OcrUploadListener(RawTextExtractor extractor, String source, Function<OcrResult, T> onComplete) {
+        this.extractor = extractor;
+        this.reader = extractor.chunkedReader(source);
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * 본문을 모두 읽어 추출한 결과에 onComplete를 적용한 값으로 완료되는 DeferredResult를 반환한다.
+     * onComplete는 마지막 조각을 읽은 컨테이너 스레드에서 실행된다.
+     */
+    static <T> DeferredResult<T> read(HttpServletRequest request, RawTextExtractor extractor, String source,
+        Function<OcrResult, T> onComplete) {
+        OcrUploadListener<T> listener = new OcrUploadListener<>(extractor, source, onComplete);
+        WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(OcrUploadListener.class, listener);
+        return listener.result;
+    }
+
+    @Override
+    public <S> void preProcess(NativeWebRequest request, DeferredResult<S> deferredResult) throws IOException {
+        input = request.getNativeRequest(HttpServletRequest.class).getInputStream();
+        input.setReadListener(this);
+    }
+
+    @Override
+    public <S> boolean handleTimeout(NativeWebRequest request, DeferredResult<S> deferredResult) {
+        log.warn("OCR upload timed out before the body was read");
+        abort();
+        return true;
+    }
+
+    @Override
+    public <S> boolean handleError(NativeWebRequest request, DeferredResult<S> deferredResult, Throwable t) {
+        abort();
+        return true;
+    }
+
+    @Override
+    public <S> void afterCompletion(NativeWebRequest request, DeferredResult<S> deferredResult) {
+        abort();
+    }
+
+    @Override
+    public synchronized void onDataAvailable() {
+        try {
+            while (!stopped() && input.isReady()) {
+                int read = input.read(buffer);
+                if (read == -1) {
+                    return;
+                }
+                reader.feed(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void onAllDataRead() {
+        if (stopped()) {
+            return;
+        }
+        try {
+            result.setResult(onComplete.apply(extractor.complete(reader)));
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+        // 클라이언트가 업로드 도중 연결을 끊은 경우 등
+        log.warn("OCR upload read failed: {}", t.getMessage());
+        fail(t);
+    }
+
+    // 시간 초과 등으로 응답이 먼저 끝난 경우도 포함한다.
+    private boolean stopped() {
+        return failed || result.isSetOrExpired();
+    }
+
+    // 남은 본문은 읽지 않고 오류 응답으로 끝낸다. (GlobalExceptionHandler가 처리)
+    private void fail(Throwable t) {
+        abort();
+        result.setErrorResult(t);
+    }
+
+    // 정상 완료 후에도 호출된다. finish()로 이미 닫힌 파서를 다시 닫는 것은 무해하다.
+    private synchronized void abort() {
+        if (!failed) {
+            failed = true;
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package kr.co.reco.ocr.presentation;
+
+import kr.co.reco.ocr.application.ReviewQueueService;
+import kr.co.reco.ocr.application.dto.ReviewClaim;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.global.common.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/review-queue")
+@RequiredArgsConstructor
+public class ReviewQueueController {
+
+    private final ReviewQueueService reviewQueueService;
+
+    // reviewer 누락은 서비스에서 INVALID_INPUT으로 처리한다.
+    @PostMapping("/claim")
+    public ResponseEntity<ApiResponse<ReviewClaim>> claim(
+        @RequestParam(value = "reviewer", required = false) String reviewer,
+        @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.onSuccess(reviewQueueService.claim(reviewer, size)));
+    }
+
+    @PostMapping("/{ticketId}/resolve")
+    public ResponseEntity<ApiResponse<WeightTicket>> resolve(@PathVariable("ticketId") Long ticketId,
+        @RequestParam(value = "reviewer", required = false) String reviewer) {
+        return ResponseEntity.ok(ApiResponse.onSuccess(reviewQueueService.resolve(ticketId, reviewer)));
+    }
+}
@@ -1,37 +1,170 @@
 package kr.co.reco.ocr.presentation;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import kr.co.reco.ocr.application.BatchIngestionService;
+import kr.co.reco.ocr.application.TicketColumnStore;
+import kr.co.reco.ocr.application.TicketDeduplicator;
 import kr.co.reco.ocr.application.WeightTicketService;
+import kr.co.reco.ocr.application.dto.AggregateGroup;
+import kr.co.reco.ocr.application.dto.BatchIngestionResult;
+import kr.co.reco.ocr.application.dto.BatchPayload;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.DedupStats;
 import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
 import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
 import kr.co.reco.ocr.domain.WeightTicket;
 import kr.co.reco.ocr.global.common.ApiResponse;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
 import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/weight-tickets")
-@RequiredArgsConstructor
 public class WeightTicketController {
 
     private final WeightTicketService weightTicketService;
+    private final BatchIngestionService batchIngestionService;
+    private final TicketDeduplicator ticketDeduplicator;
+    private final TicketColumnStore ticketColumnStore;
     private final RawTextExtractor extractor;
+    private final Path samplePath;
+
+    public WeightTicketController(WeightTicketService weightTicketService,
+        BatchIngestionService batchIngestionService,
+        TicketDeduplicator ticketDeduplicator,
+        TicketColumnStore ticketColumnStore,
+        RawTextExtractor extractor,
+        @Value("${app.ocr.sample-path:src/main/resources/sample/}") String samplePath) {
+        this.weightTicketService = weightTicketService;
+        this.batchIngestionService = batchIngestionService;
+        this.ticketDeduplicator = ticketDeduplicator;
+        this.ticketColumnStore = ticketColumnStore;
+        this.extractor = extractor;
+        this.samplePath = Path.of(samplePath).toAbsolutePath().normalize();
+    }
 
     @PostMapping("/samples/{fileName}")
     public ResponseEntity<ApiResponse<WeightTicket>> parseSample(@PathVariable("fileName") String fileName) {
-        OcrResult ocrResult = extractor.extract("src/main/resources/sample/" + fileName);
+        // 샘플 폴더 밖의 파일('../' 등)은 읽지 않는다.
+        Path sample = samplePath.resolve(fileName).normalize();
+        if (!sample.startsWith(samplePath)) {
+            throw new CustomException(ErrorCode.SAMPLE_FILE_NOT_FOUND);
+        }
+        OcrResult ocrResult = extractor.extract(sample.toString());
         return ResponseEntity.ok(ApiResponse.onSuccess(weightTicketService.parseAndSave(ocrResult)));
     }
 
+    /**
+     * OCR JSON을 요청 본문으로 받아, 본문이 도착하는 대로 조각 단위로 파싱한다.
+     * 본문 전체를 메모리에 모으지 않으며 루트 text/confidence만 읽는다. (layout 모드 필드 신뢰도 없음)
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<ApiResponse<WeightTicket>>> upload(HttpServletRequest request) {
+        return OcrUploadListener.read(request, extractor, "upload",
+            ocrResult -> ResponseEntity.ok(ApiResponse.onSuccess(weightTicketService.parseAndSave(ocrResult))));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<BatchIngestionResult>> parseBatch(
+        @RequestPart("files") List<MultipartFile> files) {
+        List<BatchPayload> payloads = files.stream()
+            .map(file -> new BatchPayload(file.getOriginalFilename(), file::getInputStream))
+            .toList();
+        return ResponseEntity.ok(ApiResponse.onSuccess(batchIngestionService.ingest(payloads)));
+    }
+
+    // NDJSON: 한 줄에 OCR JSON 문서 하나
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<BatchIngestionResult>> parseBatchNdjson(InputStream body) throws IOException {
+        List<BatchPayload> payloads = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            if (payloads.size() == batchIngestionService.getMaxItems()) {
+                throw new CustomException(ErrorCode.BATCH_TOO_LARGE);
+            }
+            byte[] document = line.getBytes(StandardCharsets.UTF_8);
+            payloads.add(new BatchPayload("line-" + lineNumber, () -> new ByteArrayInputStream(document)));
+        }
+        return ResponseEntity.ok(ApiResponse.onSuccess(batchIngestionService.ingest(payloads)));
+    }
+
+    // 여러 계량표를 페이지로 묶은 OCR JSON 하나: 페이지마다 티켓을 만들어 일괄 결과로 반환한다.
+    @PostMapping(value = "/pages", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BatchIngestionResult>> parsePages(InputStream body) {
+        return ResponseEntity.ok(ApiResponse.onSuccess(batchIngestionService.ingestPages(body, "body")));
+    }
+
+    @PostMapping(value = "/pages", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<BatchIngestionResult>> parsePagesMultipart(
+        @RequestPart("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(ApiResponse.onSuccess(
+            batchIngestionService.ingestPages(file.getInputStream(), file.getOriginalFilename())));
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<WeightTicket>>> getTickets(
+    public ResponseEntity<ApiResponse<CursorPage<WeightTicketResponse>>> getTickets(
         WeightTicketSearchRequest condition) {
         return ResponseEntity.ok(ApiResponse.onSuccess(weightTicketService.searchTickets(condition)));
     }
+
+    // 집계는 DB가 아닌 인메모리 컬럼 저장소에서 계산한다. 조건은 목록 조회와 같다. (cursor, size 제외)
+    @GetMapping("/analytics/cars")
+    public ResponseEntity<ApiResponse<List<TicketAggregate>>> aggregateByCar(WeightTicketSearchRequest condition) {
+        return ResponseEntity.ok(ApiResponse.onSuccess(ticketColumnStore.aggregateByCar(condition)));
+    }
+
+    @GetMapping("/analytics/days")
+    public ResponseEntity<ApiResponse<List<TicketAggregate>>> aggregateByDay(WeightTicketSearchRequest condition) {
+        return ResponseEntity.ok(ApiResponse.onSuccess(ticketColumnStore.aggregateByDay(condition)));
+    }
+
+    // DB에서 GROUP BY로 계산한다. groupBy: cars, days, hours
+    @GetMapping("/aggregates/{groupBy}")
+    public ResponseEntity<ApiResponse<List<TicketAggregate>>> aggregate(@PathVariable("groupBy") String groupBy,
+        WeightTicketSearchRequest condition) {
+        return ResponseEntity.ok(ApiResponse.onSuccess(
+            weightTicketService.aggregateTickets(condition, AggregateGroup.fromPath(groupBy))));
+    }
+
+    @GetMapping("/dedup/stats")
+    public ResponseEntity<ApiResponse<DedupStats>> getDedupStats() {
+        return ResponseEntity.ok(ApiResponse.onSuccess(ticketDeduplicator.stats()));
+    }
+
+    // 페이지 없이 조건에 맞는 전체 결과를 NDJSON으로 흘려보낸다.
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTickets(WeightTicketSearchRequest condition) {
+        StreamingResponseBody body = out -> weightTicketService.streamTickets(condition, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
 }
@@ -0,0 +1,110 @@
+package kr.co.reco.ocr.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:inboxdb;DB_CLOSE_DELAY=-1",
+    "app.inbox.enabled=true",
+    "app.inbox.settle-ms=50",
+    "app.inbox.poll-interval-ms=20",
+    "app.inbox.resume-interval-ms=200"
+})
+class InboxIngestionServiceTest {
+
+    private static final Path SAMPLE_PATH = Path.of("src/main/resources/sample/");
+
+    @TempDir
+    static Path inbox;
+
+    @Autowired
+    private WeightTicketRepository weightTicketRepository;
+
+    @DynamicPropertySource
+    static void inboxProperties(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("app.inbox.path", inbox::toString);
+        // 감시 시작 전에 처리 도중 종료된 파일이 processing/에 남아 있는 상황
+        Files.createDirectories(inbox.resolve(InboxIngestionService.PROCESSING));
+        Files.copy(SAMPLE_PATH.resolve("sample_01.json"),
+            inbox.resolve(InboxIngestionService.PROCESSING).resolve("sample_01.json"));
+    }
+
+    @Test
+    @DisplayName("inbox에 떨어진 파일을 처리해 done/, 실패는 오류 파일과 함께 failed/로 옮기고, processing/에 남은 파일도 이어 처리한다")
+    void ingestsDroppedFiles() throws Exception {
+        // given: 쓰는 중인 임시 파일은 이름을 바꿔야 처리 대상이 된다
+        for (String name : List.of("sample_02.json", "sample_03.json", "sample_04.json")) {
+            Path part = Files.copy(SAMPLE_PATH.resolve(name), inbox.resolve(name + ".part"));
+            Files.move(part, inbox.resolve(name));
+        }
+        Files.writeString(inbox.resolve("broken.json"), "{ \"text\": ", StandardCharsets.UTF_8);
+        // 이미 저장된 문서가 다시 들어오면 중복으로 판정되어 done/으로 간다
+        Files.copy(SAMPLE_PATH.resolve("sample_02.json"), inbox.resolve("sample_02_again.json"));
+
+        // when & then
+        Path done = inbox.resolve(InboxIngestionService.DONE);
+        Path failed = inbox.resolve(InboxIngestionService.FAILED);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(names(done)).containsExactlyInAnyOrder("sample_01.json", "sample_02.json",
+                "sample_03.json", "sample_04.json", "sample_02_again.json");
+            assertThat(names(failed)).containsExactlyInAnyOrder("broken.json", "broken.json.error");
+        });
+
+        assertThat(names(inbox.resolve(InboxIngestionService.PROCESSING))).isEmpty();
+        assertThat(weightTicketRepository.count()).isEqualTo(4);
+        assertThat(Files.readString(failed.resolve("broken.json.error"))).startsWith("OCR_PARSING_FAILED");
+    }
+
+    @Test
+    @DisplayName("done/으로 옮기지 못한 파일은 processing/에 남았다가 다시 처리되고, 같은 이름으로 들어온 파일도 이어서 처리된다")
+    void retriesFilesLeftInProcessing() throws Exception {
+        // given: done/이 잠시 없는 경로를 가리켜 옮기기가 실패한다
+        Path done = inbox.resolve(InboxIngestionService.DONE);
+        Path processing = inbox.resolve(InboxIngestionService.PROCESSING);
+        Path doneAside = Files.move(done, inbox.resolve(".done-aside"));
+        Files.createSymbolicLink(done, inbox.resolve(".missing"));
+
+        // when: 이미 저장됐거나 서로 같은 문서라 티켓 수는 늘지 않는다
+        Files.copy(SAMPLE_PATH.resolve("sample_03.json"), inbox.resolve("retry_03.json"));
+        Files.copy(SAMPLE_PATH.resolve("sample_04.json"), inbox.resolve("retry_04.json"));
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            assertThat(names(processing)).contains("retry_03.json", "retry_04.json"));
+        Files.copy(SAMPLE_PATH.resolve("sample_03.json"), inbox.resolve("retry_03.json"));
+
+        Files.delete(done);
+        Files.move(doneAside, done);
+
+        // then
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(names(done)).contains("retry_03.json", "retry_03.json.1", "retry_04.json");
+            assertThat(names(processing)).isEmpty();
+        });
+        assertThat(Files.exists(inbox.resolve("retry_03.json"))).isFalse();
+
+        for (String name : List.of("retry_03.json", "retry_03.json.1", "retry_04.json")) {
+            Files.delete(done.resolve(name));
+        }
+    }
+
+    private static List<String> names(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+}
@@ -6,21 +6,42 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.List;
 import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.domain.FieldConfidence;
+import kr.co.reco.ocr.domain.ReviewReason;
 import kr.co.reco.ocr.domain.WeightTicket;
 import kr.co.reco.ocr.domain.WeightTicketRepository;
 import kr.co.reco.ocr.global.error.CustomException;
 import kr.co.reco.ocr.global.error.ErrorCode;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.ChunkedOcrReader;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutFields;
 import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
 import kr.co.reco.ocr.infrastructure.ocr.RegexExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.TicketTemplateRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
 
 @ExtendWith(MockitoExtension.class)
 public class ParsingServiceTest {
@@ -28,6 +49,7 @@ public class ParsingServiceTest {
     private RawTextExtractor extractor;
     private ParsingService parsingService;
     private RegexExtractor regexExtractor;
+    private MeterRegistry meterRegistry;
 
     @Mock
     private WeightTicketRepository weightTicketRepository;
@@ -36,10 +58,16 @@ public class ParsingServiceTest {
     @BeforeEach
     void setUp() {
         ObjectMapper objectMapper = new ObjectMapper();
-        extractor = new RawTextExtractor(objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        ParsingMetrics parsingMetrics = new ParsingMetrics(meterRegistry);
+        extractor = new RawTextExtractor(objectMapper, parsingMetrics, new LayoutExtractor(),
+            RawTextExtractor.MODE_TEXT, Long.MAX_VALUE);
 
         this.regexExtractor = new RegexExtractor();
-        parsingService = new ParsingServiceImpl(weightTicketRepository, regexExtractor);
+        TicketTemplateRegistry templateRegistry = new TicketTemplateRegistry(objectMapper, new DefaultResourceLoader(),
+            "classpath:ticket-templates.json", 0, 3);
+        parsingService = new ParsingServiceImpl(weightTicketRepository, regexExtractor, templateRegistry,
+            parsingMetrics);
 
         lenient().when(weightTicketRepository.save(any(WeightTicket.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
@@ -131,6 +159,7 @@ public class ParsingServiceTest {
 
             assertThat(result.isNeedsReview()).isTrue();
             assertThat(result.getReviewNote()).contains("낮은 신뢰도");
+            assertThat(result.getReviewReasons()).contains(ReviewReason.LOW_CONFIDENCE);
         }
 
         @Test
@@ -146,6 +175,28 @@ public class ParsingServiceTest {
             assertThat(result.isNeedsReview()).isTrue();
             assertThat(result.getReviewNote()).contains("차량번호 누락");
         }
+
+        @Test
+        @DisplayName("전체 신뢰도가 높아도 중량을 만든 단어의 신뢰도가 0.6 미만이면 needsReview가 true이다")
+        void shouldMarkNeedsReviewWhenFieldConfidenceIsLow() {
+            OcrResult lowDigitResult = OcrResult.builder()
+                .fullText("차량번호 12가3456 계량일시 2026-02-05 10:00 총중량 12,000kg 실중량 8,000kg")
+                .confidence(0.92)
+                .layoutFields(new LayoutFields("12가3456", 12000.0, null, 8000.0, FieldConfidence.builder()
+                    .carNumberConfidence(0.97)
+                    .grossWeightConfidence(0.30)
+                    .netWeightConfidence(0.95)
+                    .scaledAtConfidence(0.9)
+                    .build()))
+                .build();
+
+            WeightTicket result = parsingService.parse(lowDigitResult);
+
+            assertThat(result.getTareWeight()).isEqualTo(4000.0);
+            assertThat(result.getFieldConfidence().getTareWeightConfidence()).isEqualTo(0.30);
+            assertThat(result.isNeedsReview()).isTrue();
+            assertThat(result.getReviewNote()).isEqualTo("낮은 필드 신뢰도(총중량 0.30, 공차중량 0.30)");
+        }
     }
 
     @Nested
@@ -184,6 +235,24 @@ public class ParsingServiceTest {
             assertThat(result.isNeedsReview()).isTrue();
             assertThat(result.getReviewNote()).contains("중량 수치 이상");
         }
+
+        @Test
+        @DisplayName("라벨이 붙은 중량은 나타난 순서와 관계없이 라벨의 역할을 따른다")
+        void shouldFollowWeightLabelsRegardlessOfOrder() {
+            // given: 실중량, 총중량 순으로 출력되고 공차중량은 없는 티켓
+            OcrResult reorderedResult = OcrResult.builder()
+                .fullText("차량번호 12가3456\n계량일시 2026-02-05 10:00\n실중량 5,000kg\n총중량 12,000kg")
+                .confidence(0.99).build();
+
+            // when
+            WeightTicket result = parsingService.parse(reorderedResult);
+
+            // then
+            assertThat(result.getGrossWeight()).isEqualTo(12000.0);
+            assertThat(result.getTareWeight()).isEqualTo(7000.0);
+            assertThat(result.getNetWeight()).isEqualTo(5000.0);
+            assertThat(result.isNeedsReview()).isFalse();
+        }
     }
 
     @Nested
@@ -204,4 +273,238 @@ public class ParsingServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.OCR_PARSING_FAILED);
         }
     }
+
+    @Nested
+    @DisplayName("파싱 단계 메트릭 기록")
+    class MetricsLogic {
+
+        @Test
+        @DisplayName("단계별 타이머, 텍스트 분포, needsReview 사유 카운터가 기록된다")
+        void shouldRecordStageTimersAndReviewReasons() {
+            // given
+            OcrResult ocrResult = extractor.extract(SAMPLE_PATH + "sample_02.json");
+            OcrResult missingCarResult = OcrResult.builder()
+                .fullText("계량일시 2026-02-05 10:00 총중량 12,000kg 실중량 8,000kg")
+                .confidence(0.55).build();
+
+            // when
+            parsingService.parse(ocrResult);
+            parsingService.parse(missingCarResult);
+
+            // then
+            assertThat(meterRegistry.get("ocr.parse.stage").tag("stage", "read").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("ocr.parse.stage").tag("stage", "extract").timer().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("ocr.parse.stage").tag("stage", "save").timer().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("ocr.text.length").summary().totalAmount())
+                .isEqualTo(ocrResult.getFullText().length());
+            assertThat(meterRegistry.get("ocr.tickets").tag("needs_review", "true").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("ocr.review.reasons").tag("reason", "MISSING_CAR_NUMBER").counter().count())
+                .isEqualTo(1);
+            assertThat(meterRegistry.get("ocr.review.reasons").tag("reason", "LOW_CONFIDENCE").counter().count())
+                .isEqualTo(1);
+            assertThat(meterRegistry.get("ocr.review.reasons").tag("reason", "INVERTED_WEIGHT").counter().count())
+                .isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("layout 추출 모드")
+    class LayoutModeLogic {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"sample_01.json", "sample_02.json", "sample_03.json", "sample_04.json"})
+        @DisplayName("단어 좌표 기반 추출 결과가 텍스트 기반 추출과 같은 티켓을 만든다")
+        void layoutModeMatchesTextMode(String sample) {
+            // given
+            RawTextExtractor layoutExtractor = new RawTextExtractor(new ObjectMapper(),
+                new ParsingMetrics(new SimpleMeterRegistry()), new LayoutExtractor(), RawTextExtractor.MODE_LAYOUT,
+                Long.MAX_VALUE);
+            OcrResult layoutResult = layoutExtractor.extract(SAMPLE_PATH + sample);
+
+            // when
+            WeightTicket expected = parsingService.parse(extractor.extract(SAMPLE_PATH + sample));
+            WeightTicket result = parsingService.parse(layoutResult);
+
+            // then
+            assertThat(layoutResult.getLayoutFields()).isNotNull();
+            assertThat(result.getCarNumber()).isEqualTo(expected.getCarNumber());
+            assertThat(result.getGrossWeight()).isEqualTo(expected.getGrossWeight());
+            assertThat(result.getTareWeight()).isEqualTo(expected.getTareWeight());
+            assertThat(result.getNetWeight()).isEqualTo(expected.getNetWeight());
+            assertThat(result.getScaledAt()).isEqualTo(expected.getScaledAt());
+        }
+
+        @Test
+        @DisplayName("페이지로 묶인 문서는 페이지마다 그 페이지의 텍스트, 신뢰도, 단어 좌표로 추출한다")
+        void extractsEachPageSeparately() throws IOException {
+            // given: 샘플 4건의 첫 페이지를 한 문서로 묶는다
+            ObjectMapper objectMapper = new ObjectMapper();
+            RawTextExtractor layoutExtractor = new RawTextExtractor(objectMapper,
+                new ParsingMetrics(new SimpleMeterRegistry()), new LayoutExtractor(), RawTextExtractor.MODE_LAYOUT,
+                Long.MAX_VALUE);
+            List<String> samples = List.of("sample_01.json", "sample_02.json", "sample_03.json", "sample_04.json");
+            ObjectNode document = objectMapper.createObjectNode().put("text", "전체 텍스트").put("confidence", 0.1);
+            ArrayNode pages = document.putArray("pages");
+            for (String sample : samples) {
+                pages.add(objectMapper.readTree(Path.of(SAMPLE_PATH, sample).toFile()).path("pages").get(0));
+            }
+
+            // when
+            List<OcrResult> results = layoutExtractor.extractPages(
+                new ByteArrayInputStream(objectMapper.writeValueAsBytes(document)), "pages.json");
+
+            // then: 루트 text/confidence가 아닌 페이지 값이며, 단일 문서로 읽은 결과와 같다
+            assertThat(results).hasSize(samples.size());
+            for (int i = 0; i < samples.size(); i++) {
+                OcrResult expected = layoutExtractor.extract(SAMPLE_PATH + samples.get(i));
+                assertThat(results.get(i).getFullText()).isEqualTo(pages.get(i).path("text").asText());
+                assertThat(results.get(i).getConfidence()).isEqualTo(pages.get(i).path("confidence").asDouble());
+                assertThat(results.get(i).getLayoutFields()).usingRecursiveComparison()
+                    .isEqualTo(expected.getLayoutFields());
+            }
+        }
+
+        @Test
+        @DisplayName("기본(text) 추출 모드는 필드별 신뢰도를 만들지 않아 단어 신뢰도가 낮아도 전체 신뢰도로만 검토 여부를 정한다")
+        void textModeHasNoFieldConfidence() throws IOException {
+            // given: 전체 신뢰도는 그대로 두고 모든 단어의 신뢰도만 0.3으로 낮춘 문서
+            ObjectMapper objectMapper = new ObjectMapper();
+            ObjectNode document = (ObjectNode) objectMapper.readTree(Path.of(SAMPLE_PATH, "sample_02.json").toFile());
+            document.path("pages").forEach(page -> page.path("words")
+                .forEach(word -> ((ObjectNode) word).put("confidence", 0.3)));
+            byte[] body = objectMapper.writeValueAsBytes(document);
+            RawTextExtractor layoutExtractor = new RawTextExtractor(objectMapper,
+                new ParsingMetrics(new SimpleMeterRegistry()), new LayoutExtractor(), RawTextExtractor.MODE_LAYOUT,
+                Long.MAX_VALUE);
+
+            // when
+            WeightTicket textMode = parsingService.parse(extractor.extract(new ByteArrayInputStream(body), "low.json"));
+            WeightTicket layoutMode = parsingService.parse(
+                layoutExtractor.extract(new ByteArrayInputStream(body), "low.json"));
+
+            // then
+            assertThat(textMode.getFieldConfidence()).isNull();
+            assertThat(textMode.getReviewReasons()).doesNotContain(ReviewReason.LOW_FIELD_CONFIDENCE);
+            assertThat(layoutMode.getReviewReasons()).contains(ReviewReason.LOW_FIELD_CONFIDENCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("조각 단위 읽기")
+    class ChunkedReadLogic {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 7, 8192})
+        @DisplayName("본문을 어떤 크기의 조각으로 나눠 넣어도 스트림으로 읽은 결과와 같다")
+        void chunkedReadMatchesStreamRead(int chunkSize) throws IOException {
+            for (String sample : List.of("sample_01.json", "sample_02.json", "sample_03.json", "sample_04.json")) {
+                // given
+                byte[] body = Files.readAllBytes(Path.of(SAMPLE_PATH, sample));
+                ChunkedOcrReader reader = extractor.chunkedReader(sample);
+
+                // when
+                for (int offset = 0; offset < body.length; offset += chunkSize) {
+                    reader.feed(body, offset, Math.min(chunkSize, body.length - offset));
+                }
+                OcrResult result = extractor.complete(reader);
+
+                // then
+                OcrResult expected = extractor.extract(new ByteArrayInputStream(body), sample);
+                assertThat(result.getFullText()).isEqualTo(expected.getFullText());
+                assertThat(result.getConfidence()).isEqualTo(expected.getConfidence());
+            }
+        }
+
+        @Test
+        @DisplayName("루트 객체가 닫히기 전에 입력이 끝나면 OCR_PARSING_FAILED")
+        void failsOnTruncatedBody() {
+            // given
+            byte[] body = "{\"confidence\": 0.9, \"text\": \"차량번호".getBytes(StandardCharsets.UTF_8);
+            ChunkedOcrReader reader = extractor.chunkedReader("truncated");
+            reader.feed(body, 0, body.length);
+
+            // when & then
+            assertThatThrownBy(() -> extractor.complete(reader))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.OCR_PARSING_FAILED);
+        }
+    }
+
+    @Nested
+    @DisplayName("메모리 매핑 읽기")
+    class MappedReadLogic {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"sample_01.json", "sample_02.json", "sample_03.json", "sample_04.json"})
+        @DisplayName("임계 크기 이상이라 메모리 매핑으로 읽어도 파일 스트림으로 읽은 결과와 같다")
+        void mappedReadMatchesStreamRead(String sample) {
+            // given: 임계 크기 0이면 모든 파일을 매핑해서 읽는다
+            RawTextExtractor streamExtractor = new RawTextExtractor(new ObjectMapper(),
+                new ParsingMetrics(new SimpleMeterRegistry()), new LayoutExtractor(), RawTextExtractor.MODE_LAYOUT,
+                Long.MAX_VALUE);
+            RawTextExtractor mappedExtractor = new RawTextExtractor(new ObjectMapper(),
+                new ParsingMetrics(new SimpleMeterRegistry()), new LayoutExtractor(), RawTextExtractor.MODE_LAYOUT, 0);
+
+            // when
+            OcrResult expected = streamExtractor.extract(SAMPLE_PATH + sample);
+            OcrResult result = mappedExtractor.extract(SAMPLE_PATH + sample);
+
+            // then
+            assertThat(result.getFullText()).isEqualTo(expected.getFullText());
+            assertThat(result.getConfidence()).isEqualTo(expected.getConfidence());
+            assertThat(result.getLayoutFields()).usingRecursiveComparison().isEqualTo(expected.getLayoutFields());
+        }
+    }
+
+    @Nested
+    @DisplayName("계량표 양식별 규칙")
+    class TemplateLogic {
+
+        @Test
+        @DisplayName("양식에 중량 순서가 정해져 있으면 그 순서대로 총중량/공차중량/실중량을 붙인다")
+        void shouldApplyTemplateWeightOrder(@TempDir Path dir) throws IOException {
+            // given: 라벨 없이 1차(공차), 2차(총중량) 계량값을 순서대로 출력하는 업체 양식
+            Path config = dir.resolve("templates.json");
+            Files.writeString(config, """
+                {"templates": [{"name": "공차선출력", "keywords": ["공차 선출력 계량표"],
+                                "weightOrder": ["TARE", "GROSS", "NET"]}]}
+                """);
+            TicketTemplateRegistry registry = new TicketTemplateRegistry(new ObjectMapper(),
+                new DefaultResourceLoader(), config.toUri().toString(), 0, 3);
+            ParsingService service = new ParsingServiceImpl(weightTicketRepository, regexExtractor, registry,
+                new ParsingMetrics(new SimpleMeterRegistry()));
+            String body = "\n차량번호: 12가3456\n계량일시 2026-02-05 10:00\n1차 7,000kg\n2차 12,000kg\n정미 5,000kg";
+
+            // when
+            WeightTicket templated = service.parse(OcrResult.builder()
+                .fullText("공차선출력 계량표" + body).confidence(0.95).build());
+            WeightTicket unknown = service.parse(OcrResult.builder()
+                .fullText("계량표" + body).confidence(0.95).build());
+
+            // then
+            assertThat(templated.getGrossWeight()).isEqualTo(12000.0);
+            assertThat(templated.getTareWeight()).isEqualTo(7000.0);
+            assertThat(templated.getNetWeight()).isEqualTo(5000.0);
+            assertThat(unknown.getGrossWeight()).isEqualTo(7000.0);
+        }
+
+        @Test
+        @DisplayName("계량확인서 양식의 라벨 표기(만차/빈차/순중량)는 나타난 순서와 관계없이 라벨의 역할을 따른다")
+        void shouldApplyTemplateLabels() {
+            // given: 기본 라벨 사전에 없는 표기로 실중량을 먼저 출력하는 양식
+            String body = "\n차량번호: 12가3456\n계량일시 2026-02-05 10:00\n순중량: 130 kg\n만차중량: 14,080 kg\n빈차중량: 13,950 kg";
+
+            // when
+            WeightTicket templated = parsingService.parse(OcrResult.builder()
+                .fullText("계량확인서" + body).confidence(0.95).build());
+            WeightTicket unknown = parsingService.parse(OcrResult.builder()
+                .fullText("계량표" + body).confidence(0.95).build());
+
+            // then
+            assertThat(templated.getGrossWeight()).isEqualTo(14080.0);
+            assertThat(templated.getTareWeight()).isEqualTo(13950.0);
+            assertThat(templated.getNetWeight()).isEqualTo(130.0);
+            assertThat(unknown.getGrossWeight()).isNotEqualTo(14080.0);
+        }
+    }
 }
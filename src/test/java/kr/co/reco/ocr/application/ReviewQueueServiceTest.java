@@ -0,0 +1,207 @@
+package kr.co.reco.ocr.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import kr.co.reco.ocr.application.dto.ReviewClaim;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.ReviewTask;
+import kr.co.reco.ocr.domain.ReviewTaskRepository;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import kr.co.reco.ocr.global.error.CustomException;
+import kr.co.reco.ocr.global.error.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 대기열 등록은 티켓 커밋과 함께 일어나므로 테스트 트랜잭션 없이 실제로 커밋한다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reviewdb;DB_CLOSE_DELAY=-1",
+    "app.review.lease-ms=2000"
+})
+class ReviewQueueServiceTest {
+
+    private static final LocalDateTime MARCH_1 = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
+
+    @Autowired
+    private TicketColumnStore columnStore;
+
+    @Autowired
+    private WeightTicketRepository repository;
+
+    @Autowired
+    private ReviewTaskRepository reviewTaskRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearQueue() {
+        reviewTaskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("검토가 필요한 티켓만 대기열에 들어가고, 저장 순서대로 할당된다")
+    void claimsFlaggedTicketsInQueueOrder() {
+        // given
+        List<WeightTicket> saved = saveCommitted(List.of(
+            ticket("11가1111", true), ticket("22나2222", false), ticket("33다3333", true), ticket("44라4444", true)));
+
+        // when
+        ReviewClaim first = reviewQueueService.claim("kim", 2);
+        ReviewClaim rest = reviewQueueService.claim("lee", null);
+
+        // then
+        assertThat(first.getTickets()).extracting(WeightTicket::getId)
+            .containsExactly(saved.get(0).getId(), saved.get(2).getId());
+        assertThat(rest.getTickets()).extracting(WeightTicket::getId)
+            .containsExactly(saved.get(3).getId());
+        assertThat(reviewQueueService.claim("park", null).getTickets()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("동시에 할당받는 검토자끼리는 같은 티켓을 받지 않는다")
+    void concurrentClaimsAreDisjoint() throws Exception {
+        // given
+        saveCommitted(IntStream.range(0, 40).mapToObj(i -> ticket("55마" + (5000 + i), true)).toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<ReviewClaim>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                String reviewer = "reviewer-" + i;
+                futures.add(executor.submit((Callable<ReviewClaim>) () -> reviewQueueService.claim(reviewer, 5)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        List<Long> claimedIds = new ArrayList<>();
+        for (Future<ReviewClaim> future : futures) {
+            claimedIds.addAll(future.get().getTickets().stream().map(WeightTicket::getId).toList());
+        }
+
+        // then: 먼저 가져간 항목은 건너뛰고 다음 항목으로 채운다
+        assertThat(claimedIds).hasSize(20).doesNotHaveDuplicates();
+        assertThat(reviewTaskRepository.findAll()).filteredOn(task -> task.getClaimedBy() == null)
+            .hasSize(20)
+            .extracting(ReviewTask::getTicketId).doesNotContainAnyElementsOf(claimedIds);
+    }
+
+    @Test
+    @DisplayName("임대가 만료된 티켓은 다른 검토자가 다시 할당받고, 이전 검토자는 완료할 수 없다")
+    void reclaimsExpiredLease() {
+        // given
+        WeightTicket saved = saveCommitted(List.of(ticket("66바6666", true))).get(0);
+        reviewQueueService.claim("kim", 1);
+
+        // when & then
+        assertThat(reviewQueueService.claim("lee", 1).getTickets()).isEmpty();
+        await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(100))
+            .until(() -> !reviewQueueService.claim("lee", 1).getTickets().isEmpty());
+        assertThatThrownBy(() -> reviewQueueService.resolve(saved.getId(), "kim"))
+            .isInstanceOf(CustomException.class)
+            .extracting("errorCode").isEqualTo(ErrorCode.REVIEW_TASK_CLAIMED);
+    }
+
+    @Test
+    @DisplayName("검토 완료하면 대기열에서 빠지고 needsReview가 해제되며, 집계에도 반영된다")
+    void resolveClearsReviewFlag() {
+        // given
+        WeightTicket saved = saveCommitted(List.of(ticket("77사7777", true))).get(0);
+        reviewQueueService.claim("kim", 1);
+
+        // when
+        WeightTicket resolved = reviewQueueService.resolve(saved.getId(), "kim");
+
+        // then
+        assertThat(resolved.isNeedsReview()).isFalse();
+        assertThat(repository.findById(saved.getId())).get()
+            .extracting(WeightTicket::isNeedsReview).isEqualTo(false);
+        assertThat(reviewTaskRepository.findByTicketId(saved.getId())).isEmpty();
+
+        WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+        condition.setCarNumber("77사7777");
+        assertThat(columnStore.aggregateByCar(condition)).singleElement()
+            .satisfies(aggregate -> assertThat(aggregate.getReviewCount()).isZero());
+
+        assertThatThrownBy(() -> reviewQueueService.resolve(saved.getId(), "kim"))
+            .isInstanceOf(CustomException.class)
+            .extracting("errorCode").isEqualTo(ErrorCode.REVIEW_TASK_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("다른 검토자가 임대 중인 티켓은 완료할 수 없고, 검토자가 없으면 요청을 거절한다")
+    void rejectsOtherReviewer() {
+        // given
+        WeightTicket saved = saveCommitted(List.of(ticket("88아8888", true))).get(0);
+        reviewQueueService.claim("kim", 1);
+
+        // when & then
+        assertThatThrownBy(() -> reviewQueueService.resolve(saved.getId(), "lee"))
+            .isInstanceOf(CustomException.class)
+            .extracting("errorCode").isEqualTo(ErrorCode.REVIEW_TASK_CLAIMED);
+        assertThatThrownBy(() -> reviewQueueService.claim(" ", 1))
+            .isInstanceOf(CustomException.class)
+            .extracting("errorCode").isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+
+    @Test
+    @DisplayName("대기열 없이 저장된 검토 대상 티켓을 대기열에 채우고, 다시 실행해도 중복으로 넣지 않는다")
+    void backfillsFlaggedTicketsOnce() {
+        // given: 저장 이벤트 없이 커밋된 티켓 (대기열 도입 이전 데이터)
+        WeightTicket legacy = new TransactionTemplate(transactionManager)
+            .execute(status -> repository.save(ticket("99자9999", true)));
+        assertThat(reviewTaskRepository.findByTicketId(legacy.getId())).isEmpty();
+        long flagged = repository.findAll().stream().filter(WeightTicket::isNeedsReview).count();
+
+        // when
+        int inserted = reviewQueueService.backfill();
+
+        // then
+        assertThat(inserted).isEqualTo(flagged);
+        assertThat(reviewQueueService.backfill()).isZero();
+        WeightTicket next = saveCommitted(List.of(ticket("99자9998", true))).get(0);
+        assertThat(reviewQueueService.claim("kim", 50).getTickets()).extracting(WeightTicket::getId)
+            .contains(legacy.getId(), next.getId());
+        assertThat(reviewQueueService.resolve(legacy.getId(), "kim").isNeedsReview()).isFalse();
+    }
+
+    private List<WeightTicket> saveCommitted(List<WeightTicket> tickets) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<WeightTicket> saved = repository.saveAll(tickets);
+            eventPublisher.publishEvent(new WeightTicketSavedEvent(saved));
+            return saved;
+        });
+    }
+
+    private static WeightTicket ticket(String carNumber, boolean needsReview) {
+        return WeightTicket.builder()
+            .carNumber(carNumber).scaledAt(MARCH_1).grossWeight(10000.0).needsReview(needsReview).build();
+    }
+}
@@ -0,0 +1,141 @@
+package kr.co.reco.ocr.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketQueryRepository;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 저장 이벤트는 커밋 이후에만 반영되므로 테스트 트랜잭션 없이 실제로 커밋한다. (같은 컨텍스트를 쓰는 테스트와 DB를 나눈다)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:analyticsdb;DB_CLOSE_DELAY=-1")
+class TicketColumnStoreTest {
+
+    @Autowired
+    private TicketColumnStore store;
+
+    @Autowired
+    private WeightTicketRepository repository;
+
+    @Autowired
+    private WeightTicketQueryRepository queryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("커밋된 티켓을 차량별/일자별로 집계하고, 목록 조회와 같은 조건을 적용한다")
+    void aggregatesCommittedTickets() {
+        // given
+        LocalDateTime march1 = LocalDateTime.of(2026, 3, 1, 8, 0);
+        saveCommitted(List.of(
+            ticket("11가1111", march1, 10000.0, 4000.0, 6000.0, false),
+            ticket("11가1111", march1.plusDays(1).plusHours(1), 12000.0, 4000.0, 8000.0, true),
+            ticket("22나2222", march1.plusHours(2), 9000.0, null, null, false),
+            ticket("22나2222", null, 5000.0, null, null, false)));
+
+        // when
+        WeightTicketSearchRequest byCars = new WeightTicketSearchRequest();
+        byCars.setCarNumber("11가");
+        List<TicketAggregate> car = store.aggregateByCar(byCars);
+
+        WeightTicketSearchRequest byTail = new WeightTicketSearchRequest();
+        byTail.setCarNumber("2222");
+        List<TicketAggregate> tail = store.aggregateByCar(byTail);
+
+        WeightTicketSearchRequest march = new WeightTicketSearchRequest();
+        march.setStart(march1.toLocalDate().atStartOfDay());
+        march.setEnd(march1.toLocalDate().plusDays(1).atTime(23, 59, 59));
+        List<TicketAggregate> days = store.aggregateByDay(march);
+
+        WeightTicketSearchRequest reviewed = new WeightTicketSearchRequest();
+        reviewed.setNeedsReview(true);
+        reviewed.setStart(march.getStart());
+        reviewed.setEnd(march.getEnd());
+        List<TicketAggregate> reviewedDays = store.aggregateByDay(reviewed);
+
+        // then
+        assertThat(car).extracting(TicketAggregate::getKey, TicketAggregate::getCount,
+                TicketAggregate::getGrossSum, TicketAggregate::getNetSum, TicketAggregate::getNetAvg,
+                TicketAggregate::getReviewRatio)
+            .containsExactly(tuple("11가1111", 2L, 22000.0, 14000.0, 7000.0, 0.5));
+        // 계량 일시가 없는 티켓은 기간 조건이 없으면 차량별 집계에 포함되고, 실중량이 없으면 평균은 null이다.
+        assertThat(tail).extracting(TicketAggregate::getKey, TicketAggregate::getCount,
+                TicketAggregate::getGrossSum, TicketAggregate::getNetAvg)
+            .containsExactly(tuple("22나2222", 2L, 14000.0, null));
+        assertThat(days).extracting(TicketAggregate::getKey, TicketAggregate::getCount, TicketAggregate::getGrossSum)
+            .containsExactly(tuple("2026-03-01", 2L, 19000.0), tuple("2026-03-02", 1L, 12000.0));
+        assertThat(reviewedDays).extracting(TicketAggregate::getKey, TicketAggregate::getNetSum)
+            .containsExactly(tuple("2026-03-02", 8000.0));
+    }
+
+    @Test
+    @DisplayName("롤백된 저장은 집계에 반영하지 않는다")
+    void ignoresRolledBackTickets() {
+        // given
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<WeightTicket> saved = repository.saveAll(List.of(
+                ticket("33다3333", LocalDateTime.of(2026, 3, 5, 8, 0), 10000.0, 4000.0, 6000.0, false)));
+            eventPublisher.publishEvent(new WeightTicketSavedEvent(saved));
+            status.setRollbackOnly();
+        });
+
+        // when
+        WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+        condition.setCarNumber("33다3333");
+
+        // then
+        assertThat(store.aggregateByCar(condition)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("기동 시 DB에 있는 티켓을 적재해 이벤트로 쌓은 것과 같은 결과를 낸다")
+    void loadsStoredTicketsOnStartup() {
+        // given
+        saveCommitted(List.of(
+            ticket("44라4444", LocalDateTime.of(2026, 3, 7, 8, 0), 11000.0, 5000.0, 6000.0, false),
+            ticket("44라 4444", LocalDateTime.of(2026, 3, 7, 9, 0), 11500.0, 5000.0, 6500.0, true)));
+
+        // when
+        TicketColumnStore reloaded = new TicketColumnStore(queryRepository, transactionManager, 100);
+        reloaded.load();
+
+        // then
+        WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+        assertThat(reloaded.size()).isEqualTo(repository.count()).isEqualTo(store.size());
+        assertThat(reloaded.aggregateByCar(condition)).usingRecursiveComparison()
+            .isEqualTo(store.aggregateByCar(condition));
+        assertThat(reloaded.aggregateByDay(condition)).usingRecursiveComparison()
+            .isEqualTo(store.aggregateByDay(condition));
+    }
+
+    private void saveCommitted(List<WeightTicket> tickets) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            eventPublisher.publishEvent(new WeightTicketSavedEvent(repository.saveAll(tickets))));
+    }
+
+    private static WeightTicket ticket(String carNumber, LocalDateTime scaledAt, Double gross, Double tare,
+        Double net, boolean needsReview) {
+        return WeightTicket.builder()
+            .carNumber(carNumber).scaledAt(scaledAt)
+            .grossWeight(gross).tareWeight(tare).netWeight(net)
+            .needsReview(needsReview).build();
+    }
+}
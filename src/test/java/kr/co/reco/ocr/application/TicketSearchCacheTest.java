@@ -0,0 +1,116 @@
+package kr.co.reco.ocr.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.TicketCursor;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
+import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 무효화는 커밋 이후에 일어나므로 테스트 트랜잭션 없이 실제로 커밋한다.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:searchcachedb;DB_CLOSE_DELAY=-1")
+class TicketSearchCacheTest {
+
+    private static final LocalDateTime MARCH_1 = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Autowired
+    private WeightTicketService weightTicketService;
+
+    @Autowired
+    private WeightTicketRepository repository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("같은 조건(공백 차이 포함)의 반복 조회는 캐시에서 반환하고, 조건에 맞는 티켓이 커밋된 경우에만 다시 조회한다")
+    void invalidatesOnlyAffectedPages() {
+        // given
+        saveCommitted(ticket("55마5555", MARCH_1));
+        CursorPage<WeightTicketResponse> first = weightTicketService.searchTickets(search("55마"));
+
+        // when & then: 정규화하면 같은 키
+        assertThat(weightTicketService.searchTickets(search("55 마"))).isSameAs(first);
+
+        // 조건에 맞지 않는 티켓의 커밋은 캐시를 유지한다
+        saveCommitted(ticket("66바6666", MARCH_1));
+        assertThat(weightTicketService.searchTickets(search("55마"))).isSameAs(first);
+
+        // 조건에 맞는 티켓이 커밋되면 다시 조회한다
+        saveCommitted(ticket("55마5556", MARCH_1.plusHours(1)));
+        CursorPage<WeightTicketResponse> refreshed = weightTicketService.searchTickets(search("55마"));
+        assertThat(refreshed).isNotSameAs(first);
+        assertThat(refreshed.getContent()).extracting(WeightTicketResponse::carNumber)
+            .containsExactly("55마5556", "55마5555");
+    }
+
+    @Test
+    @DisplayName("커서 페이지는 새 티켓이 커서보다 앞에 정렬되면 결과가 바뀌지 않으므로 무효화하지 않는다")
+    void keepsPagesBeforeNewTicket() {
+        // given
+        TicketCursor cursor = new TicketCursor(MARCH_1, 100L);
+        TicketSearchCache.Key key = TicketSearchCache.Key.of(search(null), cursor, 20);
+
+        // when & then
+        assertThat(key.affectedBy(ticketWithId(MARCH_1.plusDays(1), 200L))).isFalse();
+        assertThat(key.affectedBy(ticketWithId(MARCH_1, 200L))).isFalse();
+        assertThat(key.affectedBy(ticketWithId(MARCH_1, 50L))).isTrue();
+        assertThat(key.affectedBy(ticketWithId(MARCH_1.minusDays(1), 200L))).isTrue();
+        assertThat(key.affectedBy(ticketWithId(null, 200L))).isTrue();
+    }
+
+    @Test
+    @DisplayName("커밋된 티켓은 2차 캐시에 올라가 ID 조회 시 DB를 읽지 않는다")
+    void cachesCommittedTicketsInSecondLevelCache() {
+        // when
+        WeightTicket saved = saveCommitted(ticket("77사7777", MARCH_1));
+
+        // then
+        assertThat(entityManagerFactory.getCache().contains(WeightTicket.class, saved.getId())).isTrue();
+    }
+
+    private WeightTicket saveCommitted(WeightTicket ticket) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            WeightTicket saved = repository.save(ticket);
+            eventPublisher.publishEvent(WeightTicketSavedEvent.of(saved));
+            return saved;
+        });
+    }
+
+    private static WeightTicketSearchRequest search(String carNumber) {
+        WeightTicketSearchRequest condition = new WeightTicketSearchRequest();
+        condition.setCarNumber(carNumber);
+        return condition;
+    }
+
+    private static WeightTicket ticket(String carNumber, LocalDateTime scaledAt) {
+        return WeightTicket.builder()
+            .carNumber(carNumber).scaledAt(scaledAt).grossWeight(10000.0).build();
+    }
+
+    private static WeightTicket ticketWithId(LocalDateTime scaledAt, long id) {
+        return WeightTicket.builder()
+            .id(id).carNumber("55마5555").scaledAt(scaledAt).build();
+    }
+}
@@ -1,11 +1,20 @@
 package kr.co.reco.ocr.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import kr.co.reco.ocr.application.dto.AggregateGroup;
+import kr.co.reco.ocr.application.dto.CursorPage;
+import kr.co.reco.ocr.application.dto.TicketAggregate;
+import kr.co.reco.ocr.application.dto.TicketCursor;
+import kr.co.reco.ocr.application.dto.WeightTicketResponse;
 import kr.co.reco.ocr.application.dto.WeightTicketSearchRequest;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,11 +32,14 @@ class WeightTicketQueryRepositoryTest {
     @Autowired
     private JPAQueryFactory queryFactory;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private WeightTicketQueryRepository queryRepository;
 
     @BeforeEach
     void setUp() {
-        queryRepository = new WeightTicketQueryRepository(queryFactory);
+        queryRepository = new WeightTicketQueryRepository(queryFactory, entityManager);
 
         repository.save(WeightTicket.builder()
             .carNumber("12가3456").needsReview(false).grossWeight(10000.0)
@@ -35,11 +47,12 @@ class WeightTicketQueryRepositoryTest {
 
         repository.save(WeightTicket.builder()
             .carNumber("78나9012").needsReview(true).grossWeight(20000.0)
-            .scaledAt(LocalDateTime.of(2026, 2, 5, 10, 0)).build());
+            .scaledAt(LocalDateTime.of(2026, 2, 5, 10, 0))
+            .fieldConfidence(FieldConfidence.builder().grossWeightConfidence(0.3).build()).build());
     }
 
     @Test
-    @DisplayName("동적 쿼리: 차량번호 부분 일치 검색")
+    @DisplayName("동적 쿼리: 차량번호 뒷4자리 일치 검색")
     void searchByCarNumber() {
         // given
         WeightTicketSearchRequest cond = new WeightTicketSearchRequest();
@@ -67,4 +80,121 @@ class WeightTicketQueryRepositoryTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).isNeedsReview()).isTrue();
     }
+
+    @Test
+    @DisplayName("커서 페이지: (scaledAt desc, id desc) 순서로 커서 이후 행만 조회한다")
+    void searchPageWithCursor() {
+        // given: 계량일시가 없는 티켓은 마지막 페이지에 온다
+        repository.save(WeightTicket.builder().carNumber("UNKNOWN").needsReview(true).build());
+        WeightTicketSearchRequest cond = new WeightTicketSearchRequest();
+
+        // when
+        CursorPage<WeightTicketResponse> first = queryRepository.searchPage(cond, null, 2);
+        CursorPage<WeightTicketResponse> second = queryRepository.searchPage(cond, TicketCursor.decode(first.getNextCursor()), 2);
+        CursorPage<WeightTicketResponse> spanning = queryRepository.searchPage(cond,
+            new TicketCursor(LocalDateTime.of(2026, 2, 5, 10, 0), first.getContent().get(0).id()), 2);
+
+        // then
+        assertThat(first.getContent()).extracting(WeightTicketResponse::carNumber).containsExactly("78나9012", "12가3456");
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(WeightTicketResponse::carNumber).containsExactly("UNKNOWN");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(spanning.getContent()).extracting(WeightTicketResponse::carNumber)
+            .containsExactly("12가3456", "UNKNOWN");
+        assertThat(spanning.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("스트리밍 조회: 정렬 순서대로 DTO를 한 건씩 넘기며 영속성 컨텍스트에 엔티티를 쌓지 않는다")
+    void forEachStreamsProjections() {
+        // given
+        WeightTicketSearchRequest cond = new WeightTicketSearchRequest();
+        List<WeightTicketResponse> visited = new ArrayList<>();
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        queryRepository.forEach(cond, 1, visited::add);
+
+        // then
+        assertThat(visited).extracting(WeightTicketResponse::carNumber).containsExactly("78나9012", "12가3456");
+        assertThat(visited.get(0).needsReview()).isTrue();
+        assertThat(visited.get(0).fieldConfidence().getGrossWeightConfidence()).isEqualTo(0.3);
+        assertThat(visited.get(1).fieldConfidence()).isNull();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("차량번호 검색: 공백/기호를 무시하고 앞자리 일치로 조회한다")
+    void searchByCarNumberPrefix() {
+        // given
+        WeightTicketSearchRequest cond = new WeightTicketSearchRequest();
+        cond.setCarNumber("78 나");
+
+        // when
+        List<WeightTicket> result = queryRepository.search(cond);
+
+        // then
+        assertThat(result).extracting(WeightTicket::getCarNumber).containsExactly("78나9012");
+    }
+
+    @Test
+    @DisplayName("집계: 조회 조건을 적용해 일자/시각별 합계, 건수, 검토 비율을 GROUP BY로 계산한다")
+    void aggregateByDayAndHour() {
+        // given: 2/5 10시대에 한 건 더, 계량일시가 없는 티켓은 일자 집계에서 빠진다
+        repository.save(WeightTicket.builder()
+            .carNumber("78나9012").needsReview(false).grossWeight(21000.0).netWeight(9000.0)
+            .scaledAt(LocalDateTime.of(2026, 2, 5, 10, 40)).build());
+        repository.save(WeightTicket.builder().carNumber("UNKNOWN").needsReview(true).build());
+        WeightTicketSearchRequest cond = new WeightTicketSearchRequest();
+
+        // when
+        List<TicketAggregate> days = queryRepository.aggregate(cond, AggregateGroup.DAY);
+        List<TicketAggregate> hours = queryRepository.aggregate(cond, AggregateGroup.HOUR);
+        cond.setStart(LocalDateTime.of(2026, 2, 2, 0, 0));
+        List<TicketAggregate> cars = queryRepository.aggregate(cond, AggregateGroup.CAR);
+
+        // then
+        assertThat(days).extracting(TicketAggregate::getKey, TicketAggregate::getCount,
+                TicketAggregate::getGrossSum, TicketAggregate::getNetSum, TicketAggregate::getNetAvg,
+                TicketAggregate::getReviewRatio)
+            .containsExactly(
+                tuple("2026-02-01", 1L, 10000.0, 0.0, null, 0.0),
+                tuple("2026-02-05", 2L, 41000.0, 9000.0, 9000.0, 0.5));
+        assertThat(hours).extracting(TicketAggregate::getKey, TicketAggregate::getCount)
+            .containsExactly(tuple("2026-02-01T10:00", 1L), tuple("2026-02-05T10:00", 2L));
+        assertThat(cars).extracting(TicketAggregate::getKey, TicketAggregate::getCount, TicketAggregate::getReviewCount)
+            .containsExactly(tuple("78나9012", 2L, 1L));
+    }
+
+    @Test
+    @DisplayName("실행 계획: 차량번호 뒷자리/앞자리 검색과 기본 정렬이 인덱스를 사용한다")
+    void carNumberSearchUsesIndexes() {
+        String tailPlan = explain("SELECT * FROM weight_ticket WHERE car_number_tail = '3456'");
+        String prefixPlan = explain("SELECT * FROM weight_ticket WHERE car_number_normalized LIKE '12가%'");
+        String orderPlan = explain("SELECT * FROM weight_ticket ORDER BY scaled_at DESC, id DESC LIMIT 20");
+
+        assertThat(tailPlan).containsIgnoringCase("idx_weight_ticket_car_number_tail");
+        assertThat(prefixPlan).containsIgnoringCase("idx_weight_ticket_car_number_normalized");
+        assertThat(orderPlan).containsIgnoringCase("idx_weight_ticket_scaled_at_id");
+    }
+
+    @Test
+    @DisplayName("실행 계획: 커서 페이지는 계량일시 인덱스를 커서 위치부터 범위 탐색한다")
+    void cursorPageSeeksIndex() {
+        // searchPage의 커서 조건 (계량일시가 있는 행, 계량일시가 없는 행)
+        String order = " ORDER BY scaled_at DESC NULLS LAST, id DESC LIMIT 21";
+        String seekPlan = explain("SELECT * FROM weight_ticket WHERE scaled_at <= TIMESTAMP '2026-02-05 10:00:00'"
+            + " AND (scaled_at < TIMESTAMP '2026-02-05 10:00:00' OR id < 2)" + order);
+        String nullPlan = explain("SELECT * FROM weight_ticket WHERE scaled_at IS NULL" + order);
+
+        assertThat(seekPlan).containsIgnoringCase("idx_weight_ticket_scaled_at_id: scaled_at <=");
+        assertThat(nullPlan).containsIgnoringCase("idx_weight_ticket_scaled_at_id: scaled_at is null");
+        assertThat(seekPlan).containsIgnoringCase("index sorted");
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
 }
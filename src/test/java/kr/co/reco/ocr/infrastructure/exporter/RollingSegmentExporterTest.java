@@ -0,0 +1,184 @@
+package kr.co.reco.ocr.infrastructure.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.global.error.CustomException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class RollingSegmentExporterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    @DisplayName("세그먼트가 최대 크기를 넘으면 봉인하고 새 세그먼트로 넘어가며, manifest에 모든 레코드가 기록된다")
+    void rollsSegmentsBySize() throws Exception {
+        // given: 세그먼트당 티켓 몇 건만 들어가도록 작은 최대 크기
+        RollingSegmentExporter exporter = newExporter(1024, 0);
+        exporter.open();
+
+        // when
+        for (long id = 1; id <= 20; id++) {
+            exporter.export(ticket(id));
+        }
+        exporter.close();
+
+        // then
+        JsonNode segments = objectMapper.readTree(outputDir.resolve(RollingSegmentExporter.MANIFEST_FILE).toFile())
+            .path("segments");
+        long ndjsonSegments = 0;
+        long ndjsonRecords = 0;
+        for (JsonNode segment : segments) {
+            assertThat(segment.path("status").asText()).isEqualTo("SEALED");
+            Path file = outputDir.resolve(segment.path("file").asText());
+            assertThat(Files.size(file)).isEqualTo(segment.path("bytes").asLong());
+
+            if ("ndjson".equals(segment.path("format").asText())) {
+                ndjsonSegments++;
+                ndjsonRecords += segment.path("records").asLong();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    assertThat(objectMapper.readTree(line).path("carNumber").asText()).isEqualTo("80구8713");
+                }
+            } else {
+                assertThat(Files.readAllLines(file, StandardCharsets.UTF_8).get(0))
+                    .isEqualTo("ID,CarNumber,Gross,Tare,Net,ScaledAt");
+            }
+        }
+        assertThat(ndjsonSegments).isGreaterThan(1);
+        assertThat(ndjsonRecords).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("fsync 전까지는 manifest의 OPEN 세그먼트 크기가 늘지 않아, 소비자는 완결된 줄까지만 읽는다")
+    void manifestAdvancesOnlyAfterSync() throws Exception {
+        // given: flush는 즉시, fsync는 사실상 수동(close) 시점에만 일어나도록 설정
+        RollingSegmentExporter exporter = newExporter(64 * 1024, Long.MAX_VALUE);
+        exporter.open();
+
+        // when
+        exporter.export(ticket(1L));
+        exporter.flush();
+
+        // then
+        List<JsonNode> open = openSegments();
+        assertThat(open).hasSize(2);
+        assertThat(open).allSatisfy(segment -> assertThat(segment.path("records").asLong()).isZero());
+
+        exporter.close();
+        assertThat(openSegments()).isEmpty();
+
+        // 재시작하면 이전 manifest를 이어받아 새 세그먼트를 추가한다.
+        RollingSegmentExporter restarted = newExporter(64 * 1024, Long.MAX_VALUE);
+        restarted.open();
+        assertThat(openSegments()).hasSize(2);
+        restarted.close();
+        assertThat(objectMapper.readTree(outputDir.resolve(RollingSegmentExporter.MANIFEST_FILE).toFile())
+            .path("segments")).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("manifest에는 최근 SEALED 세그먼트만 정해진 개수까지 남는다")
+    void prunesOldSealedEntries() throws Exception {
+        // given
+        RollingSegmentExporter exporter = newExporter(1024, 0, 4);
+        exporter.open();
+
+        // when
+        for (long id = 1; id <= 20; id++) {
+            exporter.export(ticket(id));
+        }
+        exporter.close();
+
+        // then: 최근 세그먼트 두 쌍만 남고, 첫 티켓은 빠지고 마지막 티켓은 남는다
+        JsonNode segments = objectMapper.readTree(outputDir.resolve(RollingSegmentExporter.MANIFEST_FILE).toFile())
+            .path("segments");
+        assertThat(segments).hasSize(4);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode segment : segments) {
+            if ("ndjson".equals(segment.path("format").asText())) {
+                for (String line : Files.readAllLines(outputDir.resolve(segment.path("file").asText()))) {
+                    ids.add(objectMapper.readTree(line).path("id").asLong());
+                }
+            }
+        }
+        assertThat(ids).contains(20L).doesNotContain(1L);
+    }
+
+    @Test
+    @DisplayName("기록 중 채널이 닫히면 새 세그먼트로 넘어가, 다시 시도한 레코드까지 한 번씩만 남는다")
+    void replacesFailedSegment() throws Exception {
+        // given: 첫 레코드는 버퍼에 남아 있고, 두 번째 기록에서 버퍼를 비우다 인터럽트로 채널이 닫힌다
+        RollingSegmentExporter exporter = newExporter(64 * 1024, Long.MAX_VALUE);
+        exporter.open();
+        exporter.export(ticket(1L));
+
+        // when
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> exporter.export(ticket(2L))).isInstanceOf(CustomException.class);
+        assertThat(Thread.interrupted()).isTrue();
+        exporter.export(ticket(2L));
+        exporter.export(ticket(3L));
+        exporter.close();
+
+        // then: 소비자가 manifest의 bytes까지 읽은 레코드
+        List<Long> ndjsonIds = new ArrayList<>();
+        List<String> csvRows = new ArrayList<>();
+        JsonNode segments = objectMapper.readTree(outputDir.resolve(RollingSegmentExporter.MANIFEST_FILE).toFile())
+            .path("segments");
+        assertThat(segments).hasSize(4);
+        for (JsonNode segment : segments) {
+            assertThat(segment.path("status").asText()).isEqualTo("SEALED");
+            byte[] bytes = Files.readAllBytes(outputDir.resolve(segment.path("file").asText()));
+            String content = new String(bytes, 0, segment.path("bytes").asInt(), StandardCharsets.UTF_8);
+            for (String line : content.lines().toList()) {
+                if ("ndjson".equals(segment.path("format").asText())) {
+                    ndjsonIds.add(objectMapper.readTree(line).path("id").asLong());
+                } else if (!line.startsWith("ID,")) {
+                    csvRows.add(line.substring(0, line.indexOf(',')));
+                }
+            }
+        }
+        assertThat(ndjsonIds).containsExactly(1L, 2L, 3L);
+        assertThat(csvRows).containsExactly("1", "2", "3");
+    }
+
+    private List<JsonNode> openSegments() throws Exception {
+        JsonNode manifest = objectMapper.readTree(outputDir.resolve(RollingSegmentExporter.MANIFEST_FILE).toFile());
+        return manifest.path("segments").findParents("status").stream()
+            .filter(segment -> "OPEN".equals(segment.path("status").asText()))
+            .toList();
+    }
+
+    private RollingSegmentExporter newExporter(long maxSegmentBytes, long fsyncIntervalMillis) {
+        return newExporter(maxSegmentBytes, fsyncIntervalMillis, 200);
+    }
+
+    private RollingSegmentExporter newExporter(long maxSegmentBytes, long fsyncIntervalMillis, int maxSealedEntries) {
+        return new RollingSegmentExporter(objectMapper, outputDir.toString(),
+            maxSegmentBytes, 0, 256, 0, fsyncIntervalMillis, maxSealedEntries);
+    }
+
+    private WeightTicket ticket(Long id) {
+        return WeightTicket.builder()
+            .id(id).carNumber("80구8713")
+            .grossWeight(13460.0).tareWeight(7560.0).netWeight(5900.0)
+            .scaledAt(LocalDateTime.of(2026, 2, 2, 2, 14, 23))
+            .confidence(0.93)
+            .build();
+    }
+}
@@ -0,0 +1,94 @@
+package kr.co.reco.ocr.infrastructure.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketSavedEvent;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class TicketExportQueueTest {
+
+    private static final int TICKETS = 50;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    @DisplayName("rolling 내보내기 도중에 종료해도 세그먼트가 닫히지 않고, 큐에 남은 티켓까지 모두 기록된다")
+    void stopsWithoutLosingRollingExport() throws Exception {
+        // given: 레코드가 버퍼(256바이트)보다 커서 export마다 앞선 레코드를 FileChannel에 쓴다
+        RollingSegmentExporter rolling = new RollingSegmentExporter(objectMapper, outputDir.toString(),
+            64 * 1024, 0, 256, 0, 0, 200);
+        rolling.open();
+        CountDownLatch exporting = new CountDownLatch(1);
+        TicketExportQueue queue = new TicketExportQueue(new SlowExporter(rolling, exporting),
+            new ParsingMetrics(new SimpleMeterRegistry()), 1024, 8, 500, 3, 10);
+        queue.start();
+
+        // when: writer가 기록하는 중에 종료
+        queue.onSaved(new WeightTicketSavedEvent(LongStream.rangeClosed(1, TICKETS).mapToObj(this::ticket).toList()));
+        assertThat(exporting.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.stop();
+        rolling.close();
+
+        // then
+        long records = 0;
+        for (JsonNode segment : objectMapper.readTree(outputDir.resolve(RollingSegmentExporter.MANIFEST_FILE).toFile())
+            .path("segments")) {
+            Path file = outputDir.resolve(segment.path("file").asText());
+            assertThat(segment.path("status").asText()).isEqualTo("SEALED");
+            assertThat(Files.size(file)).isEqualTo(segment.path("bytes").asLong());
+            if ("ndjson".equals(segment.path("format").asText())) {
+                records += segment.path("records").asLong();
+                assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).hasSize(TICKETS);
+            }
+        }
+        assertThat(records).isEqualTo(TICKETS);
+        assertThat(queue.pendingCount()).isZero();
+    }
+
+    private WeightTicket ticket(long id) {
+        return WeightTicket.builder()
+            .id(id).carNumber("80구8713")
+            .grossWeight(13460.0).tareWeight(7560.0).netWeight(5900.0)
+            .scaledAt(LocalDateTime.of(2026, 2, 2, 2, 14, 23))
+            .confidence(0.93)
+            .build();
+    }
+
+    // 기록마다 잠깐 멈춰 종료 시점에 writer가 기록 중이도록 한다.
+    private record SlowExporter(TicketExporter delegate, CountDownLatch exporting) implements TicketExporter {
+
+        @Override
+        public void export(WeightTicket ticket) {
+            exporting.countDown();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.export(ticket);
+        }
+
+        @Override
+        public void flush() {
+            delegate.flush();
+        }
+    }
+}
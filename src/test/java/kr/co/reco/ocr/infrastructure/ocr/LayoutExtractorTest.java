@@ -0,0 +1,135 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class LayoutExtractorTest {
+
+    private static final String SAMPLE_PATH = "src/main/resources/sample/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LayoutExtractor layoutExtractor = new LayoutExtractor();
+
+    @ParameterizedTest
+    @CsvSource({
+        "sample_02.json, 80구8713, 13460.0, 7560.0, 5900.0",
+        "sample_03.json, 5405, 14080.0, 13950.0, 130.0",
+        "sample_04.json, 0580, 14230.0, 12910.0, 1320.0"
+    })
+    @DisplayName("라벨 오른쪽의 값을 짝지으며, 같은 행의 시간 표기(02:07, 11시 33분)는 중량에 섞이지 않는다")
+    void pairsLabelsWithValuesOnTheSameRow(String sample, String carNumber, Double gross, Double tare, Double net)
+        throws IOException {
+        LayoutFields fields = readPages(new File(SAMPLE_PATH + sample));
+
+        assertThat(fields.carNumber()).isEqualTo(carNumber);
+        assertThat(fields.grossWeight()).isEqualTo(gross);
+        assertThat(fields.tareWeight()).isEqualTo(tare);
+        assertThat(fields.netWeight()).isEqualTo(net);
+    }
+
+    @Test
+    @DisplayName("라벨과 값이 다른 행으로 인식된 필드는 비워 두고, 같은 행에 있는 필드만 채운다")
+    void leavesFieldsWithoutRowLabelEmpty() throws IOException {
+        // sample_01: '총중량'이 '품종명랑'으로 오인식되고 공차중량 값은 라벨 없는 행에 있다.
+        LayoutFields fields = readPages(new File(SAMPLE_PATH + "sample_01.json"));
+
+        assertThat(fields.carNumber()).isEqualTo("8713");
+        assertThat(fields.confidence().getCarNumberConfidence()).isEqualTo(0.9683);
+        assertThat(fields.netWeight()).isEqualTo(5010.0);
+        assertThat(fields.grossWeight()).isNull();
+        assertThat(fields.tareWeight()).isNull();
+        assertThat(fields.weightCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("단어 순서가 섞여 있어도 좌표로 행을 묶고, 멀리 떨어진 열의 숫자는 값에 포함하지 않는다")
+    void groupsWordsByGeometry() throws IOException {
+        String json = """
+            {"pages": [{"words": [
+              %s, %s, %s, %s, %s, %s
+            ]}]}
+            """.formatted(
+            word("kg", 500, 100, 540, 130),
+            word("총", 10, 100, 40, 130),
+            word("7", 200, 100, 220, 130),
+            word("중량", 45, 102, 100, 128),
+            word("560", 420, 100, 480, 130),
+            word("12", 340, 98, 400, 132));
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            parser.nextToken();
+            parser.nextToken();
+            LayoutFields fields = layoutExtractor.readPages(parser);
+
+            // '7'은 '12'와 가로 간격이 멀어 다른 열로 본다.
+            assertThat(fields.grossWeight()).isEqualTo(12560.0);
+        }
+    }
+
+    @Test
+    @DisplayName("필드 신뢰도는 값을 만든 단어들의 최소 신뢰도이며, 라벨과 잡음 단어는 포함하지 않는다")
+    void fieldConfidenceIsMinimumOfValueWords() throws IOException {
+        String json = """
+            {"pages": [{"words": [
+              %s, %s, %s, %s, %s, %s, %s, %s
+            ]}]}
+            """.formatted(
+            word("총중량:", 10, 100, 100, 130, 0.41),
+            word("13", 340, 100, 400, 130, 0.97),
+            word("·", 405, 110, 410, 120, 0.12),
+            word("460", 420, 100, 480, 130, 0.30),
+            word("kg", 500, 100, 540, 130, 0.95),
+            word("2026-02-02", 10, 300, 200, 330, 0.88),
+            word("02:14:23", 210, 300, 350, 330, 0.77),
+            word("2026-02-02", 10, 400, 200, 430, 0.99));
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            parser.nextToken();
+            parser.nextToken();
+            LayoutFields fields = layoutExtractor.readPages(parser);
+
+            assertThat(fields.grossWeight()).isEqualTo(13460.0);
+            assertThat(fields.confidence().getGrossWeightConfidence()).isEqualTo(0.30);
+            assertThat(fields.confidence().getCarNumberConfidence()).isNull();
+            // 마지막 날짜(0.99)와 마지막 시간(0.77) 중 낮은 값
+            assertThat(fields.confidence().getScaledAtConfidence()).isEqualTo(0.77);
+        }
+    }
+
+    private LayoutFields readPages(File file) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(file)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if ("pages".equals(fieldName)) {
+                    return layoutExtractor.readPages(parser);
+                }
+                parser.skipChildren();
+            }
+        }
+        return LayoutFields.EMPTY;
+    }
+
+    private String word(String text, int left, int top, int right, int bottom) {
+        return word(text, left, top, right, bottom, 0.9);
+    }
+
+    private String word(String text, int left, int top, int right, int bottom, double confidence) {
+        return """
+            {"text": "%s", "confidence": %s, "boundingBox": {"vertices": [
+              {"x": %d, "y": %d}, {"x": %d, "y": %d}, {"x": %d, "y": %d}, {"x": %d, "y": %d}]}}"""
+            .formatted(text, confidence, left, top, right, top, right, bottom, left, bottom);
+    }
+}
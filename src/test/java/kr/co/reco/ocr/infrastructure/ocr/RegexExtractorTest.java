@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,7 @@ class RegexExtractorTest {
             "'차량번호 12가3456', '12가3456'",
             "'차 량 번 호 80구8713', '80구8713'",
             "'차량No. 0580', '0580'",
+            "'차 량 N O : 0580', '0580'",
             "'번호 없음', 'UNKNOWN'"
         })
         @DisplayName("차량 라벨과 형식에 맞는 번호를 정확히 추출해야 한다")
@@ -73,4 +75,71 @@ class RegexExtractorTest {
             assertThat(result.toLocalDate()).isEqualTo(LocalDateTime.of(year, month, day, 0, 0).toLocalDate());
         }
     }
+
+    @Nested
+    @DisplayName("단일 스캔 추출 검증")
+    class SinglePassExtraction {
+        @Test
+        @DisplayName("한 번의 스캔으로 차량번호, 중량, 계량일시를 개별 추출과 동일하게 반환한다")
+        void shouldExtractAllFieldsInOnePass() {
+            String text = "차번호: 80구8713 \n총중량: 02:07 13 460 kg \n차중량: 02 : 13 7 560 kg \n"
+                + "실중량: 5 900 kg \n2026-02-02 02:14:23";
+
+            ExtractedFields result = regexExtractor.extract(text);
+
+            assertThat(result.carNumber()).isEqualTo("80구8713");
+            assertThat(result.weights()).containsExactly(13460.0, 7560.0, 5900.0);
+            assertThat(result.scaledAt()).isEqualTo(LocalDateTime.of(2026, 2, 2, 2, 14, 23));
+            assertThat(result.weights()).isEqualTo(regexExtractor.extractWeights(text));
+        }
+    }
+
+    @Nested
+    @DisplayName("라벨 사전 검증")
+    class LabelDictionaryExtraction {
+        @Test
+        @DisplayName("같은 줄의 중량 라벨로 역할을 붙이며, 라벨 없는 kg 값은 순서 목록에만 남는다")
+        void shouldLabelWeightsOnTheSameLine() {
+            String text = "실 중 량 : 5,900 kg \n감량 0 kg \n공차중량: 7,560 kg \n총중량\n13,460 kg";
+
+            ExtractedFields result = regexExtractor.extract(text);
+
+            assertThat(result.weights()).containsExactly(5900.0, 0.0, 7560.0, 13460.0);
+            assertThat(result.netWeight()).isEqualTo(5900.0);
+            assertThat(result.tareWeight()).isEqualTo(7560.0);
+            // 라벨과 값이 다른 줄이면 역할을 붙이지 않는다.
+            assertThat(result.grossWeight()).isNull();
+            assertThat(result.labeledWeightCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("다른 단어 안에 들어 있는 라벨(만차중량 안의 차중량)은 라벨로 쓰지 않는다")
+        void shouldIgnoreLabelsInsideWords() {
+            String text = "차량번호: 12가3456\n만차중량: 14,080 kg\n공차중량: 13,950 kg\n실중량: 130 kg\n2026-02-01 11:55";
+
+            ExtractedFields result = regexExtractor.extract(text);
+            ExtractedFields spaced = regexExtractor.extract("만 차 중 량 14,080 kg\n빈 차 중 량 13,950 kg");
+
+            assertThat(result.grossWeight()).isNull();
+            assertThat(result.tareWeight()).isEqualTo(13950.0);
+            assertThat(result.netWeight()).isEqualTo(130.0);
+            assertThat(spaced.labeledWeightCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("사전에 추가한 표기도 글자 사이 공백을 허용해 찾는다")
+        void shouldUseCustomVariants() {
+            RegexExtractor extractor = new RegexExtractor(new LabelDictionary(Map.of(
+                "차량등록번호", LabelDictionary.Label.CAR_NUMBER,
+                "입차중량", LabelDictionary.Label.GROSS,
+                "출차중량", LabelDictionary.Label.TARE)));
+
+            ExtractedFields result = extractor.extract("차 량 등 록 번 호 12가3456\n출 차 중 량 7,000 kg\n입 차 중 량 12,000 kg");
+
+            assertThat(result.carNumber()).isEqualTo("12가3456");
+            assertThat(result.grossWeight()).isEqualTo(12000.0);
+            assertThat(result.tareWeight()).isEqualTo(7000.0);
+            assertThat(regexExtractor.extractCarNumber("차 량 등 록 번 호 12가3456")).isEqualTo("UNKNOWN");
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package kr.co.reco.ocr.infrastructure.ocr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class TicketTemplateRegistryTest {
+
+    private static final String SAMPLE_PATH = "src/main/resources/sample/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource({
+        "sample_01.json, 계량증명서",
+        "sample_02.json, 계근표",
+        "sample_03.json, 계량확인서",
+        "sample_04.json, 계량증명표"
+    })
+    @DisplayName("머리말의 양식 제목으로 샘플별 양식을 고르며, 글자 사이 공백과 오인식 제목(계그표)도 일치한다")
+    void classifiesSamplesByHeader(String sample, String template) throws IOException {
+        TicketTemplateRegistry registry = registry("classpath:ticket-templates.json");
+        String text = objectMapper.readTree(new File(SAMPLE_PATH + sample)).get("text").asText();
+
+        assertThat(registry.classify(text).name()).isEqualTo(template);
+    }
+
+    @Test
+    @DisplayName("머리말 밖의 키워드는 무시하고, minMatches를 채운 양식 중 가장 많이 일치한 양식을 고른다")
+    void picksTemplateWithMostKeywordsInHeader(@TempDir Path dir) throws IOException {
+        Path config = write(dir, """
+            {"templates": [
+              {"name": "A", "keywords": ["계량표"]},
+              {"name": "B", "keywords": ["계량표", "하은펄프"], "minMatches": 2},
+              {"name": "C", "keywords": ["TEL", "FAX"], "minMatches": 2}
+            ]}
+            """);
+        TicketTemplateRegistry registry = registry(config.toUri().toString());
+
+        assertThat(registry.classify("계 량 표\n(주) 하 은 펄 프\n").name()).isEqualTo("B");
+        assertThat(registry.classify("계량표\n\n\n하은펄프").name()).isEqualTo("A");
+        assertThat(registry.classify("tel 1\nfax 2").name()).isEqualTo("C");
+        assertThat(registry.classify("영수증").name()).isEqualTo(TicketTemplate.DEFAULT.name());
+    }
+
+    @Test
+    @DisplayName("설정 파일이 바뀌면 재시작 없이 다시 읽고, 잘못된 파일이면 기존 양식을 유지한다")
+    void reloadsModifiedFileAndKeepsPreviousOnFailure(@TempDir Path dir) throws IOException {
+        Path config = write(dir, """
+            {"templates": [{"name": "old", "keywords": ["계량증명서"]}]}
+            """);
+        TicketTemplateRegistry registry = registry(config.toUri().toString());
+        assertThat(registry.classify("계량증명서").name()).isEqualTo("old");
+
+        rewrite(config, """
+            {"templates": [{"name": "new", "keywords": ["계량증명서"]}, {"name": "vendor", "keywords": ["신규업체"]}]}
+            """, 1);
+        registry.reloadIfModified();
+        assertThat(registry.classify("계량증명서").name()).isEqualTo("new");
+        assertThat(registry.classify("신규업체 계량표").name()).isEqualTo("vendor");
+
+        rewrite(config, "{\"templates\": [{\"name\": \"broken\"", 2);
+        registry.reloadIfModified();
+        assertThat(registry.getTemplates()).extracting(TicketTemplate::name).containsExactly("new", "vendor");
+    }
+
+    @Test
+    @DisplayName("Aho-Corasick: 겹치는 키워드를 모두 찾고 일치 위치는 공백을 포함한 원문 기준이다")
+    void ahoCorasickReportsOverlappingMatchesInOriginalText() {
+        AhoCorasick<String> automaton = AhoCorasick.compile(Map.of("증명서", "a", "계량증명", "b", "명", "c"));
+        List<String> matches = new ArrayList<>();
+
+        automaton.scan("** 계 량 증 명 서 **", (value, start, end) -> matches.add(value + start + "-" + end));
+
+        assertThat(matches).containsExactlyInAnyOrder("b3-10", "c9-10", "a7-12");
+    }
+
+    private TicketTemplateRegistry registry(String location) {
+        return new TicketTemplateRegistry(objectMapper, new DefaultResourceLoader(), location, 0, 3);
+    }
+
+    private Path write(Path dir, String json) throws IOException {
+        return Files.writeString(dir.resolve("ticket-templates.json"), json);
+    }
+
+    // 파일 시스템의 수정 시각 해상도와 관계없이 변경이 보이도록 수정 시각을 앞으로 옮긴다.
+    private void rewrite(Path config, String json, int secondsLater) throws IOException {
+        FileTime previous = Files.getLastModifiedTime(config);
+        Files.writeString(config, json);
+        Files.setLastModifiedTime(config, FileTime.fromMillis(previous.toMillis() + secondsLater * 1000L));
+    }
+}
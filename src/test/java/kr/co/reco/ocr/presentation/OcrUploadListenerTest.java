@@ -0,0 +1,135 @@
+package kr.co.reco.ocr.presentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import kr.co.reco.ocr.global.metrics.ParsingMetrics;
+import kr.co.reco.ocr.infrastructure.ocr.LayoutExtractor;
+import kr.co.reco.ocr.infrastructure.ocr.RawTextExtractor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+/**
+ * 컨테이너 콜백 순서(시간 초과 뒤에 본문 끝 도착)는 실제 서버에서 재현하기 어려워 콜백을 직접 호출한다.
+ */
+class OcrUploadListenerTest {
+
+    private static final byte[] BODY = "{\"confidence\": 0.9, \"text\": \"차량번호: 80구8713\"}"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final RawTextExtractor extractor = new RawTextExtractor(new ObjectMapper(),
+        new ParsingMetrics(new SimpleMeterRegistry()), new LayoutExtractor(), RawTextExtractor.MODE_TEXT,
+        Long.MAX_VALUE);
+
+    @Test
+    @DisplayName("시간 초과로 응답이 끝난 뒤 본문이 끝까지 도착해도 파싱/저장하지 않는다")
+    void skipsCompletionAfterTimeout() throws Exception {
+        // given
+        BodyRequest request = new BodyRequest(BODY);
+        NativeWebRequest webRequest = new ServletWebRequest(request);
+        AtomicInteger completed = new AtomicInteger();
+        DeferredResult<String> result = OcrUploadListener.read(request, extractor, "upload", ocrResult -> {
+            completed.incrementAndGet();
+            return ocrResult.getFullText();
+        });
+        @SuppressWarnings("unchecked")
+        OcrUploadListener<String> listener = (OcrUploadListener<String>) WebAsyncUtils.getAsyncManager(request)
+            .getDeferredResultInterceptor(OcrUploadListener.class);
+        listener.preProcess(webRequest, result);
+
+        // when
+        listener.handleTimeout(webRequest, result);
+        listener.onDataAvailable();
+        listener.onAllDataRead();
+
+        // then
+        assertThat(completed).hasValue(0);
+        assertThat(request.input.read).isZero();
+        assertThat(result.hasResult()).isFalse();
+    }
+
+    @Test
+    @DisplayName("시간 초과가 없으면 본문을 끝까지 읽어 결과로 완료한다")
+    void completesWithoutTimeout() throws Exception {
+        // given
+        BodyRequest request = new BodyRequest(BODY);
+        DeferredResult<String> result = OcrUploadListener.read(request, extractor, "upload",
+            ocrResult -> ocrResult.getFullText());
+        @SuppressWarnings("unchecked")
+        OcrUploadListener<String> listener = (OcrUploadListener<String>) WebAsyncUtils.getAsyncManager(request)
+            .getDeferredResultInterceptor(OcrUploadListener.class);
+        listener.preProcess(new ServletWebRequest(request), result);
+
+        // when
+        listener.onDataAvailable();
+        listener.onAllDataRead();
+
+        // then
+        assertThat(result.getResult()).isEqualTo("차량번호: 80구8713");
+    }
+
+    private static final class BodyRequest extends MockHttpServletRequest {
+
+        private final BodyInputStream input;
+
+        BodyRequest(byte[] body) {
+            super("POST", "/api/v1/weight-tickets/upload");
+            this.input = new BodyInputStream(body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return input;
+        }
+    }
+
+    // 항상 읽을 준비가 된 비동기 입력. 읽은 바이트 수를 센다.
+    private static final class BodyInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream body;
+        private int read;
+
+        BodyInputStream(byte[] body) {
+            this.body = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            int b = body.read();
+            if (b != -1) read++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int n = body.read(b, off, len);
+            if (n > 0) read += n;
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return body.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+    }
+}
@@ -1,22 +1,36 @@
 package kr.co.reco.ocr.presentation;
 
 // JUnit 5 & AssertJ
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 // Spring MockMvc (Static Imports)
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -25,7 +39,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 
@@ -34,9 +52,14 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 class WeightTicketControllerTest {
 
+    private static final String SAMPLE_PATH = "src/main/resources/sample/";
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private WeightTicketRepository weightTicketRepository;
+
     @AfterEach
     void cleanUp() throws Exception {
         Path outputDir = Paths.get("output");
@@ -56,7 +79,7 @@ class WeightTicketControllerTest {
     }
 
     @Test
-    @DisplayName("통합 시나리오 1: 샘플 JSON 파일을 파싱하여 DB에 저장하고 결과를 반환한다")
+    @DisplayName("통합 시나리오 1: 샘플 JSON 파일을 파싱하여 DB에 저장하고, 커밋 후 파일로 내보낸다")
     void parseAndSaveSampleFile() throws Exception {
         // given: 프로젝트 내에 존재하는 sample_01.json 대상
         String fileName = "sample_01.json";
@@ -64,21 +87,40 @@ class WeightTicketControllerTest {
         // when & then: POST 요청을 보내고 그 결과를 문자열로 받아 id 추출
         String contentAsString = mockMvc.perform(post("/api/v1/weight-tickets/samples/" + fileName))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.carNumber").value("8713"))
-            .andExpect(jsonPath("$.grossWeight").value(12480.0))
-            .andExpect(jsonPath("$.needsReview").value(false))
-            .andExpect(jsonPath("$.reviewNote").isEmpty())
+            .andExpect(jsonPath("$.result.carNumber").value("8713"))
+            .andExpect(jsonPath("$.result.grossWeight").value(12480.0))
+            .andExpect(jsonPath("$.result.needsReview").value(false))
+            .andExpect(jsonPath("$.result.reviewNote").isEmpty())
             .andReturn()
             .getResponse()
             .getContentAsString();
 
-        Integer actualId = com.jayway.jsonpath.JsonPath.read(contentAsString, "$.id");
+        Integer actualId = com.jayway.jsonpath.JsonPath.read(contentAsString, "$.result.id");
 
         Path jsonPath = Paths.get("output", "ticket_" + actualId + ".json");
         Path csvPath = Paths.get("output", "ticket_" + actualId + ".csv");
 
-        assertThat(Files.exists(jsonPath)).isTrue();
-        assertThat(Files.exists(csvPath)).isTrue();
+        // 파일은 커밋 이후에만 비동기로 기록되므로, 커밋 전에는 존재하지 않는다.
+        assertThat(Files.exists(jsonPath)).isFalse();
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(Files.exists(jsonPath)).isTrue();
+            assertThat(Files.exists(csvPath)).isTrue();
+        });
+
+        weightTicketRepository.deleteById(actualId.longValue());
+    }
+
+    @Test
+    @DisplayName("샘플 폴더 밖의 파일은 이름에 상위 경로를 넣어도 읽지 않는다")
+    void rejectsSamplePathTraversal() throws Exception {
+        // 인코딩된 '/'(%2F)는 경로 변수 안에서 '../application.yml'로 풀린다
+        mockMvc.perform(post(URI.create("/api/v1/weight-tickets/samples/..%2Fapplication.yml")))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.code").value("SAMPLE_FILE_NOT_FOUND"));
     }
 
     @Test
@@ -92,7 +134,174 @@ class WeightTicketControllerTest {
                 .param("carNumber", "80")
                 .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))))
-            .andExpect(jsonPath("$[0].carNumber", containsString("80")));
+            .andExpect(jsonPath("$.result.content", hasSize(greaterThanOrEqualTo(1))))
+            .andExpect(jsonPath("$.result.content[0].carNumber", containsString("80")));
+    }
+
+    @Test
+    @DisplayName("통합 시나리오 2-2: 조회 조건에 맞는 티켓의 합계를 차량번호별로 집계한다")
+    void aggregateTicketsByCar() throws Exception {
+        // given
+        mockMvc.perform(post("/api/v1/weight-tickets/samples/sample_02.json"));
+
+        // when & then: 샘플2 (80구8713, 총중량 13460, 실중량 5900)
+        mockMvc.perform(get("/api/v1/weight-tickets/aggregates/cars").param("carNumber", "8713"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result", hasSize(1)))
+            .andExpect(jsonPath("$.result[0].key").value("80구8713"))
+            .andExpect(jsonPath("$.result[0].count").value(1))
+            .andExpect(jsonPath("$.result[0].grossSum").value(13460.0))
+            .andExpect(jsonPath("$.result[0].netAvg").value(5900.0))
+            .andExpect(jsonPath("$.result[0].reviewRatio").value(0.0));
+
+        mockMvc.perform(get("/api/v1/weight-tickets/aggregates/weeks"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_INPUT"));
+    }
+
+    @Test
+    @DisplayName("통합 시나리오 2-1: 커밋된 티켓을 NDJSON 스트림으로 조회한다")
+    void streamTicketsAsNdjson() throws Exception {
+        // given: 스트리밍은 별도 스레드의 트랜잭션에서 읽으므로 데이터를 먼저 커밋한다
+        String saved = mockMvc.perform(post("/api/v1/weight-tickets/samples/sample_02.json"))
+            .andReturn().getResponse().getContentAsString();
+        Integer savedId = com.jayway.jsonpath.JsonPath.read(saved, "$.result.id");
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // when
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/weight-tickets/stream").param("carNumber", "80구"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then: 한 줄에 티켓 하나
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body.lines())
+            .isNotEmpty()
+            .allSatisfy(line -> assertThat(line).contains("\"carNumber\":\"80구8713\""));
+
+        weightTicketRepository.deleteById(savedId.longValue());
+    }
+
+    @Test
+    @DisplayName("통합 시나리오 3: 여러 OCR JSON을 multipart로 일괄 처리하고, 실패 항목은 개별 결과로 반환한다")
+    void parseBatchMultipart() throws Exception {
+        // given: 정상 샘플 4건 + 중량 정보가 없는 1건
+        MockMultipartHttpServletRequestBuilder request = multipart("/api/v1/weight-tickets/batch");
+        for (String fileName : new String[]{"sample_01.json", "sample_02.json", "sample_03.json", "sample_04.json"}) {
+            request.file(new MockMultipartFile("files", fileName, MediaType.APPLICATION_JSON_VALUE,
+                Files.readAllBytes(Paths.get(SAMPLE_PATH, fileName))));
+        }
+        request.file(new MockMultipartFile("files", "broken.json", MediaType.APPLICATION_JSON_VALUE,
+            "{\"text\": \"차량번호 12가3456\", \"confidence\": 0.9}".getBytes(StandardCharsets.UTF_8)));
+
+        // when & then
+        mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.total").value(5))
+            .andExpect(jsonPath("$.result.succeeded").value(4))
+            .andExpect(jsonPath("$.result.failed").value(1))
+            .andExpect(jsonPath("$.result.items[0].source").value("sample_01.json"))
+            .andExpect(jsonPath("$.result.items[0].success").value(true))
+            .andExpect(jsonPath("$.result.items[4].success").value(false))
+            .andExpect(jsonPath("$.result.items[4].code").value("OCR_PARSING_FAILED"));
+    }
+
+    @Test
+    @DisplayName("통합 시나리오 4: NDJSON 본문의 각 줄을 하나의 OCR JSON으로 일괄 처리한다")
+    void parseBatchNdjson() throws Exception {
+        // given: 샘플 2건을 한 줄 JSON으로 변환 + 형식이 깨진 1줄
+        ObjectMapper objectMapper = new ObjectMapper();
+        String body = objectMapper.readTree(Paths.get(SAMPLE_PATH, "sample_02.json").toFile()) + "\n"
+            + "{\"text\": \n"
+            + objectMapper.readTree(Paths.get(SAMPLE_PATH, "sample_04.json").toFile()) + "\n";
+
+        // when & then
+        mockMvc.perform(post("/api/v1/weight-tickets/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.total").value(3))
+            .andExpect(jsonPath("$.result.succeeded").value(2))
+            .andExpect(jsonPath("$.result.items[1].source").value("line-2"))
+            .andExpect(jsonPath("$.result.items[1].code").value("OCR_PARSING_FAILED"))
+            .andExpect(jsonPath("$.result.items[2].ticketId").isNumber());
+    }
+
+    @Test
+    @DisplayName("통합 시나리오 4-1: 여러 계량표가 페이지로 묶인 OCR JSON 하나를 페이지마다 티켓으로 저장한다")
+    void parsePagesOfOneDocument() throws Exception {
+        // given: 샘플 3건의 페이지 + 텍스트가 빈 페이지 1건을 한 문서로 묶는다
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode document = objectMapper.createObjectNode();
+        ArrayNode pages = document.putArray("pages");
+        for (String fileName : new String[]{"sample_01.json", "sample_02.json", "sample_04.json"}) {
+            pages.add(objectMapper.readTree(Paths.get(SAMPLE_PATH, fileName).toFile()).path("pages").get(0));
+        }
+        pages.insertObject(2).put("text", " ").put("confidence", 0.5);
+
+        // when
+        String response = mockMvc.perform(post("/api/v1/weight-tickets/pages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(document)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.total").value(4))
+            .andExpect(jsonPath("$.result.succeeded").value(3))
+            .andExpect(jsonPath("$.result.items[2].source").value("page-3"))
+            .andExpect(jsonPath("$.result.items[2].code").value("OCR_PARSING_FAILED"))
+            .andReturn().getResponse().getContentAsString();
+
+        // then: 페이지 순서대로 각 페이지의 텍스트로 파싱된다
+        List<Integer> ticketIds = com.jayway.jsonpath.JsonPath.read(response, "$.result.items[?(@.success)].ticketId");
+        assertThat(ticketIds).hasSize(3);
+        assertThat(ticketIds.stream().map(id -> weightTicketRepository.findById(id.longValue()).orElseThrow()))
+            .extracting(WeightTicket::getCarNumber)
+            .containsExactly("8713", "80구8713", "0580");
+    }
+
+    @Test
+    @DisplayName("통합 시나리오 5: 같은 OCR JSON을 다시 올리면 파싱/저장 없이 기존 티켓을 반환한다")
+    void duplicateUploadReturnsExistingTicket() throws Exception {
+        // given
+        String first = mockMvc.perform(post("/api/v1/weight-tickets/samples/sample_03.json"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        Integer firstId = com.jayway.jsonpath.JsonPath.read(first, "$.result.id");
+
+        // when & then: 단건 재업로드
+        mockMvc.perform(post("/api/v1/weight-tickets/samples/sample_03.json"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.id").value(firstId));
+
+        // when & then: 일괄 업로드 - 이미 저장된 문서 1건 + 요청 안에서 반복된 새 문서 2건
+        // (일괄 처리는 작업 스레드의 별도 트랜잭션에서 조회하므로 먼저 커밋한다)
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        byte[] sample03 = Files.readAllBytes(Paths.get(SAMPLE_PATH, "sample_03.json"));
+        byte[] sample04 = Files.readAllBytes(Paths.get(SAMPLE_PATH, "sample_04.json"));
+        String batch = mockMvc.perform(multipart("/api/v1/weight-tickets/batch")
+                .file(new MockMultipartFile("files", "a.json", MediaType.APPLICATION_JSON_VALUE, sample03))
+                .file(new MockMultipartFile("files", "b.json", MediaType.APPLICATION_JSON_VALUE, sample04))
+                .file(new MockMultipartFile("files", "c.json", MediaType.APPLICATION_JSON_VALUE, sample04)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.succeeded").value(3))
+            .andExpect(jsonPath("$.result.items[0].ticketId").value(firstId))
+            .andExpect(jsonPath("$.result.items[0].duplicate").value(true))
+            .andExpect(jsonPath("$.result.items[1].duplicate").doesNotExist())
+            .andExpect(jsonPath("$.result.items[2].duplicate").value(true))
+            .andExpect(jsonPath("$.result.items[2].ticketId").isNumber())
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/weight-tickets/dedup/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.cacheHits", greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$.result.storeHits", greaterThanOrEqualTo(1)));
+
+        Integer batchId = com.jayway.jsonpath.JsonPath.read(batch, "$.result.items[1].ticketId");
+        weightTicketRepository.deleteAllById(List.of(firstId.longValue(), batchId.longValue()));
     }
 }
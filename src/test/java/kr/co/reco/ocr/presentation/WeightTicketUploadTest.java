@@ -0,0 +1,160 @@
+package kr.co.reco.ocr.presentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import kr.co.reco.ocr.application.BatchIngestionService;
+import kr.co.reco.ocr.application.OcrContentHash;
+import kr.co.reco.ocr.application.ParsingService;
+import kr.co.reco.ocr.application.dto.BatchIngestionResult;
+import kr.co.reco.ocr.application.dto.BatchPayload;
+import kr.co.reco.ocr.application.dto.OcrResult;
+import kr.co.reco.ocr.domain.WeightTicket;
+import kr.co.reco.ocr.domain.WeightTicketRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Servlet 비동기 읽기는 MockMvc가 지원하지 않으므로 실제 서버를 띄워 확인한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:uploaddb;DB_CLOSE_DELAY=-1")
+class WeightTicketUploadTest {
+
+    private static final Path SAMPLE_PATH = Path.of("src/main/resources/sample/");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ParsingService parsingService;
+
+    @Autowired
+    private BatchIngestionService batchIngestionService;
+
+    @Autowired
+    private WeightTicketRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("요청 본문이 조각으로 나뉘어 천천히 도착해도 도착하는 대로 파싱해 저장한다")
+    void parsesBodyWhileStreaming() throws Exception {
+        // given: 1KB씩 쉬어 가며 보내는 본문 (chunked 전송)
+        byte[] body = Files.readAllBytes(SAMPLE_PATH.resolve("sample_02.json"));
+
+        // when
+        HttpResponse<String> response = upload(BodyPublishers.ofInputStream(() -> new SlowInputStream(body)));
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode result = objectMapper.readTree(response.body()).path("result");
+        assertThat(result.path("carNumber").asText()).isEqualTo("80구8713");
+        assertThat(result.path("grossWeight").asDouble()).isEqualTo(13460.0);
+        assertThat(result.path("id").isNumber()).isTrue();
+    }
+
+    @Test
+    @DisplayName("형식이 깨진 JSON 본문이면 OCR_PARSING_FAILED로 응답한다")
+    void rejectsMalformedBody() throws Exception {
+        // when
+        HttpResponse<String> response = upload(BodyPublishers.ofString("{\"confidence\": 0.9, \"text\": ]",
+            StandardCharsets.UTF_8));
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(422);
+        assertThat(objectMapper.readTree(response.body()).path("code").asText()).isEqualTo("OCR_PARSING_FAILED");
+    }
+
+    @Test
+    @DisplayName("같은 문서를 다른 요청이 먼저 커밋하면, 단건/일괄 업로드 모두 제약 위반 대신 먼저 저장된 티켓을 반환한다")
+    void returnsTicketSavedByConcurrentUpload() throws Exception {
+        // given: 다른 테스트와 중복 판정되지 않도록 신뢰도를 바꾼 문서
+        ObjectNode json = (ObjectNode) objectMapper.readTree(SAMPLE_PATH.resolve("sample_02.json").toFile());
+        json.put("confidence", 0.955);
+        byte[] body = objectMapper.writeValueAsBytes(json);
+        OcrResult ocrResult = OcrResult.builder()
+            .fullText(json.path("text").asText()).confidence(0.955).build();
+
+        // 같은 문서를 저장한 다른 요청의 트랜잭션이 커밋 전이라 두 업로드의 중복 확인에는 보이지 않는다.
+        TransactionStatus other = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        WeightTicket first = repository.saveAndFlush(
+            parsingService.createTicket(ocrResult, OcrContentHash.of(ocrResult)));
+
+        // when: 두 업로드의 INSERT가 unique 인덱스 잠금을 기다리는 동안 다른 요청이 커밋한다
+        CompletableFuture<HttpResponse<String>> single = httpClient.sendAsync(uploadRequest(
+            BodyPublishers.ofByteArray(body)), BodyHandlers.ofString(StandardCharsets.UTF_8));
+        CompletableFuture<BatchIngestionResult> batch = CompletableFuture.supplyAsync(() -> batchIngestionService
+            .ingest(List.of(new BatchPayload("same.json", () -> new ByteArrayInputStream(body)))));
+        Thread.sleep(1000);
+        transactionManager.commit(other);
+
+        // then
+        HttpResponse<String> response = single.get();
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(response.body()).path("result").path("id").asLong())
+            .isEqualTo(first.getId());
+        assertThat(batch.get().getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getTicketId()).isEqualTo(first.getId());
+            assertThat(item.getDuplicate()).isTrue();
+        });
+    }
+
+    private HttpResponse<String> upload(HttpRequest.BodyPublisher body) throws IOException, InterruptedException {
+        return httpClient.send(uploadRequest(body), BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest uploadRequest(HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/weight-tickets/upload"))
+            .header("Content-Type", "application/json")
+            .POST(body)
+            .build();
+    }
+
+    private static final class SlowInputStream extends FilterInputStream {
+
+        private static final int CHUNK = 1024;
+
+        SlowInputStream(byte[] body) {
+            super(new ByteArrayInputStream(body));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return super.read(b, off, Math.min(len, CHUNK));
+        }
+    }
+}